@@ -0,0 +1,44 @@
+package io.sealos.enterprise.auth.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.sealos.enterprise.auth.model.response.BankSearchItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用仓库中的 conf/bank/bank.json 检索，需在项目根目录运行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BankSearchIndexBenchmark {
+    @Param({ "建设", "jsyh", "银", "农村商业" })
+    private String query;
+
+    private BankSearchIndex index;
+
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, String> bankMap = new ObjectMapper().readValue(Paths.get("conf", "bank", "bank.json").toFile(),
+                new TypeReference<LinkedHashMap<String, String>>() {});
+        index = new BankSearchIndex(bankMap);
+    }
+
+    @Benchmark
+    public List<BankSearchItem> search() {
+        return index.search(query, 10);
+    }
+}
@@ -0,0 +1,129 @@
+package io.sealos.enterprise.auth.service;
+
+import com.chinapay.secss.SecssUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import io.sealos.enterprise.auth.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uninonpay3060.TestSecssKeys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnterpriseAuthService 加密签名流水线各阶段耗时，使用本地生成的 SM2 测试证书，不访问网络
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnterpriseAuthPipelineBenchmark {
+    private EnterpriseAuthService service;
+    private SecssUtil secssUtil;
+    private EnterpriseAuthRequest request;
+    private UserDTO userDTO;
+    private Map<String, String> requestData;
+    private Map<String, Object> finalRequest;
+    private String responseBody;
+    private Map<String, String> responseMap;
+
+    @Setup
+    public void setup() throws Exception {
+        secssUtil = TestSecssKeys.generateTemp().newSecssUtil();
+        service = new EnterpriseAuthService();
+        userDTO = new UserDTO("benchmark-user", "ns-benchmark", "region-benchmark");
+
+        request = new EnterpriseAuthRequest();
+        request.setKey("91310000734572833M");
+        request.setAccountBank("中国工商银行");
+        request.setKeyName("银联商务股份有限公司");
+        request.setUsrName("田林");
+        request.setAccountNo("6221501111111113900");
+
+        requestData = service.createRequestData(request, userDTO);
+        requestData.put("sensData", service.encryptSensitiveData(request, secssUtil));
+        finalRequest = service.prepareFinalRequest(requestData, secssUtil);
+        responseBody = successResponse(secssUtil);
+        responseMap = StringUtils.parseUrlParamsToMap(responseBody);
+    }
+
+    // 按 3060 协议构造成功响应：respData 为 base64 JSON，signature 为 SHA-512 摘要的签名
+    private static String successResponse(SecssUtil secssUtil) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, String> sensData = new LinkedHashMap<>();
+        sensData.put("accountNo", "6221501111111113900");
+        sensData.put("keyName", "银联商务股份有限公司");
+        sensData.put("usrName", "田林");
+        secssUtil.encryptData(objectMapper.writeValueAsString(sensData));
+
+        Map<String, String> respData = new LinkedHashMap<>();
+        respData.put("accountCity", "北京");
+        respData.put("subBank", "测试支行|123456789123");
+        respData.put("orderId", "20241223041156");
+        respData.put("sensData", secssUtil.getEncValue());
+        respData.put("accountProv", "北京");
+        respData.put("orderStatus", "0000");
+        respData.put("randomNum", "414381");
+        respData.put("accountBank", "中国工商银行");
+        respData.put("merNo", "000000000000001");
+        respData.put("transAmt", "1");
+        respData.put("respMsg", "认证/查询成功");
+        respData.put("busiType", "3060");
+        respData.put("keyType", "1");
+        respData.put("orderDate", "20241223");
+        respData.put("key", "91310000734572833M");
+        respData.put("respCode", "00000000");
+        String respDataBase64 = Base64.getEncoder()
+                .encodeToString(objectMapper.writeValueAsBytes(respData));
+
+        byte[] hash = MessageDigest.getInstance("SHA-512").digest(respDataBase64.getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> signMap = new HashMap<>();
+        signMap.put("respData", StringUtils.bytesToHex(hash));
+        secssUtil.sign(signMap);
+        return "respData=" + respDataBase64 + "&signature=" + secssUtil.getSign();
+    }
+
+    @Benchmark
+    public Map<String, String> createRequestData() {
+        return service.createRequestData(request, userDTO);
+    }
+
+    @Benchmark
+    public String encryptSensitiveData() throws Exception {
+        return service.encryptSensitiveData(request, secssUtil);
+    }
+
+    @Benchmark
+    public Map<String, Object> prepareFinalRequest() throws Exception {
+        return service.prepareFinalRequest(requestData, secssUtil);
+    }
+
+    @Benchmark
+    public String mapToUrlParams() throws Exception {
+        return StringUtils.mapToUrlParams(finalRequest);
+    }
+
+    @Benchmark
+    public Unionpay3060ApiEnterpriseAuthResponse processResponse() throws Exception {
+        return service.processResponse(responseBody, secssUtil);
+    }
+
+    @Benchmark
+    public Map<String, String> verifySignature() throws Exception {
+        service.verifySignature(responseMap, secssUtil);
+        return responseMap;
+    }
+}
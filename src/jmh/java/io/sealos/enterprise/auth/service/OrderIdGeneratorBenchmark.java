@@ -0,0 +1,43 @@
+package io.sealos.enterprise.auth.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单号生成耗时，legacy 为原 createRequestData 中的拼接方式，用于对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderIdGeneratorBenchmark {
+    private final OrderIdGenerator generator = new OrderIdGenerator(1);
+
+    @Benchmark
+    public String next() {
+        return generator.next();
+    }
+
+    // 多线程争用同一个 AtomicLong
+    @Benchmark
+    @Threads(4)
+    public String nextContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String legacy() {
+        String currentDate = new SimpleDateFormat("yyyyMMdd").format(new Date());
+        String timestamp = String.format("%014d", System.nanoTime() % 100000000000000L);
+        String random = String.format("%04d", (int) (Math.random() * 10000));
+        return currentDate + timestamp + random;
+    }
+}
@@ -0,0 +1,69 @@
+package io.sealos.enterprise.auth.utils;
+
+import io.sealos.enterprise.auth.model.AppTokenPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StringUtils 编解码和 JWT 验签耗时
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UtilsBenchmark {
+    private Map<String, Object> params;
+    private String urlParams;
+    private byte[] sha512;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        // 与 3060 请求大小相当：base64 的 reqData 和 SM2 签名
+        byte[] reqData = new byte[600];
+        new Random(42).nextBytes(reqData);
+        params = new HashMap<>();
+        params.put("reqData", java.util.Base64.getEncoder().encodeToString(reqData));
+        params.put("merNo", "000000000000001");
+        params.put("signature", java.util.Base64.getEncoder().encodeToString(new byte[72]));
+        urlParams = StringUtils.mapToUrlParams(params);
+        sha512 = MessageDigest.getInstance("SHA-512").digest(reqData);
+
+        AppTokenPayload payload = new AppTokenPayload();
+        payload.setUserId("benchmark-user");
+        payload.setWorkspaceId("ns-benchmark");
+        payload.setRegionUid("region-benchmark");
+        token = "Bearer " + JwtUtilsHmacSHA256.createToken(payload, 3600);
+    }
+
+    @Benchmark
+    public String mapToUrlParams() throws Exception {
+        return StringUtils.mapToUrlParams(params);
+    }
+
+    @Benchmark
+    public Map<String, String> parseUrlParamsToMap() {
+        return StringUtils.parseUrlParamsToMap(urlParams);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return StringUtils.bytesToHex(sha512);
+    }
+
+    @Benchmark
+    public Optional<AppTokenPayload> parseToken() {
+        return JwtUtilsHmacSHA256.parseToken(token, AppTokenPayload.class);
+    }
+}
@@ -1,10 +1,17 @@
 package io.sealos.enterprise.auth;
 
 import io.javalin.Javalin;
+import io.sealos.enterprise.auth.audit.AuditJournal;
 import io.sealos.enterprise.auth.config.AppConfig;
 import io.sealos.enterprise.auth.config.ErrorHandler;
 import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.job.AuthJobService;
 import io.sealos.enterprise.auth.routes.Routes;
+import io.sealos.enterprise.auth.secss.SecssKeyWatcher;
+import io.sealos.enterprise.auth.secss.SecssUtilPool;
+import io.sealos.enterprise.auth.service.BankJsonWatcher;
+import io.sealos.enterprise.auth.service.BankService;
+import io.sealos.enterprise.auth.service.OrderIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,6 +20,45 @@ public class Main {
 
     public static void main(String[] args) {
         logger.info("Starting UnionPay 3060 Service in {} environment...", EnvConfig.getEnvironment());
+        logger.info("Execution mode: {}", EnvConfig.isVirtualThreadsEnabled() ? "virtual threads" : "async");
+        logger.info("Order id node: {}", OrderIdGenerator.getInstance().getNodeId());
+
+        // Warm up SecssUtil pool, so that the first requests do not pay for cert loading
+        try {
+            SecssUtilPool.getInstance().warmUp();
+        } catch (Exception e) {
+            logger.error("Failed to warm up SecssUtil pool: {}", e.getMessage());
+        }
+
+        // Hot reload SecssUtil instances when certs rotate
+        if (EnvConfig.isSecssWatchEnabled()) {
+            try {
+                new SecssKeyWatcher(SecssUtilPool.getInstance(), EnvConfig.getSecssReloadIntervalMillis()).start();
+            } catch (Exception e) {
+                logger.error("Failed to start secss key watcher: {}", e.getMessage());
+            }
+        }
+
+        // Requeue async jobs left pending by the last run
+        try {
+            AuthJobService.getInstance().recover();
+        } catch (Exception e) {
+            logger.error("Failed to recover async jobs: {}", e.getMessage());
+        }
+
+        // Load bank.json up front and reload it in the background when it changes
+        BankService bankService = BankService.getInstance();
+        if (EnvConfig.isBankWatchEnabled()) {
+            try {
+                new BankJsonWatcher(bankService, EnvConfig.getBankReloadIntervalMillis()).start();
+            } catch (Exception e) {
+                logger.error("Failed to start bank json watcher: {}", e.getMessage());
+            }
+        }
+
+        // Open the audit journal up front, and flush what is still buffered on shutdown
+        AuditJournal auditJournal = AuditJournal.getInstance();
+        Runtime.getRuntime().addShutdownHook(new Thread(auditJournal::close, "audit-journal-close"));
 
         Javalin app = Javalin.create(AppConfig::configure);
 
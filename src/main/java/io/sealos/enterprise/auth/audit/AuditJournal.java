@@ -0,0 +1,306 @@
+package io.sealos.enterprise.auth.audit;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
+import io.sealos.enterprise.auth.model.response.AuditJournalStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * 3060 交易审计日志，只追加的二进制分段文件
+ *
+ * 每个分段文件创建时按固定大小映射到内存，写入只是一次内存拷贝，不在请求线程上做系统调用；
+ * 后台线程按 AUDIT_FSYNC_INTERVAL_MS 批量刷盘，为 0 时每条记录写入后立即刷盘。
+ * 分段写满后换新文件，每次启动也从新分段开始，已有分段不再修改。
+ *
+ * 分段格式：16 字节头（magic "AUD1"、版本、创建时间），之后每条记录为 长度 + CRC32 + 编码内容（见 AuditRecordCodec），
+ * 长度最后写入，长度为 0 表示分段结束。分段未写满部分为文件空洞，不占磁盘空间。
+ */
+public class AuditJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    static final int MAGIC = 0x41554431; // "AUD1"
+    // 版本 2 起每条记录带 attemptNo 和 kind，读取时兼容版本 1
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    private static final long MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long fsyncIntervalMillis;
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder recordCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder syncCount = new LongAdder();
+    private final LongAdder syncNanos = new LongAdder();
+    private volatile long lastSyncAt;
+
+    // 以下状态由 this 保护
+    private long segmentIndex;
+    private Path segmentPath;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean dirty;
+    private boolean closed;
+    private final CRC32 crc = new CRC32();
+
+    private static class Holder {
+        private static final AuditJournal INSTANCE = open();
+
+        private static AuditJournal open() {
+            if (!EnvConfig.isAuditJournalEnabled()) {
+                return new AuditJournal();
+            }
+            try {
+                AuditJournal journal = new AuditJournal(Paths.get(EnvConfig.getAuditJournalDir()),
+                        EnvConfig.getAuditSegmentSizeMb() * 1024 * 1024, EnvConfig.getAuditFsyncIntervalMillis());
+                logger.info("Audit journal writing to {}", journal.segmentPath);
+                return journal;
+            } catch (IOException e) {
+                logger.error("Failed to open audit journal, auditing disabled: {}", e.getMessage());
+                return new AuditJournal();
+            }
+        }
+    }
+
+    public static AuditJournal getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // 未开启时的空实现
+    private AuditJournal() {
+        this.directory = null;
+        this.segmentSize = 0;
+        this.fsyncIntervalMillis = 0;
+        this.flusher = null;
+        this.closed = true;
+    }
+
+    public AuditJournal(Path directory, long segmentSize, long fsyncIntervalMillis) throws IOException {
+        this.directory = directory.toAbsolutePath();
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, segmentSize);
+        this.fsyncIntervalMillis = Math.max(0, fsyncIntervalMillis);
+        Files.createDirectories(this.directory);
+        this.segmentIndex = lastSegmentIndex(this.directory);
+        openNextSegment();
+
+        if (this.fsyncIntervalMillis > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-journal-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::sync, this.fsyncIntervalMillis, this.fsyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * 追加一条记录，只拷贝到映射内存；写入失败只记录日志，不影响请求
+     */
+    public void append(AuditRecord record) {
+        if (!isEnabled()) {
+            return;
+        }
+        byte[][] strings = AuditRecordCodec.strings(record);
+        int size = AuditRecordCodec.encodedSize(strings);
+        if (HEADER_SIZE + RECORD_HEADER_SIZE + size > segmentSize) {
+            droppedCount.increment();
+            logger.warn("Audit record of {} bytes does not fit in a segment, orderId: {}", size,
+                    record.getOrderId());
+            return;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                droppedCount.increment();
+                return;
+            }
+            try {
+                if (buffer.remaining() < RECORD_HEADER_SIZE + size) {
+                    rollSegment();
+                }
+                int start = buffer.position();
+                ByteBuffer payload = buffer.duplicate();
+                payload.position(start + RECORD_HEADER_SIZE);
+                AuditRecordCodec.write(payload, record, strings);
+                payload.flip().position(start + RECORD_HEADER_SIZE);
+                crc.reset();
+                crc.update(payload);
+                buffer.putInt(start + 4, (int) crc.getValue());
+                // 长度最后写入，读取方看到非 0 长度时内容已完整
+                buffer.putInt(start, size);
+                buffer.position(start + RECORD_HEADER_SIZE + size);
+                dirty = true;
+            } catch (IOException | RuntimeException e) {
+                droppedCount.increment();
+                logger.error("Failed to append audit record, orderId: {}: {}", record.getOrderId(),
+                        e.getMessage());
+                return;
+            }
+        }
+        recordCount.increment();
+        if (fsyncIntervalMillis == 0) {
+            sync();
+        }
+    }
+
+    /**
+     * 将当前分段已写入的内容刷到磁盘
+     */
+    public void sync() {
+        MappedByteBuffer toSync;
+        synchronized (this) {
+            if (!dirty || closed) {
+                return;
+            }
+            dirty = false;
+            toSync = buffer;
+        }
+        force(toSync);
+    }
+
+    private void force(MappedByteBuffer mapped) {
+        long start = System.nanoTime();
+        try {
+            mapped.force();
+            syncCount.increment();
+            syncNanos.add(System.nanoTime() - start);
+            lastSyncAt = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            logger.error("Failed to sync audit journal: {}", e.getMessage());
+        }
+    }
+
+    // 调用方持有 this
+    private void rollSegment() throws IOException {
+        MappedByteBuffer previous = buffer;
+        FileChannel previousChannel = channel;
+        openNextSegment();
+        // 写满的分段在后台刷盘后关闭，不阻塞当前请求
+        Runnable finish = () -> {
+            force(previous);
+            closeQuietly(previousChannel);
+        };
+        if (flusher != null) {
+            flusher.execute(finish);
+        } else {
+            finish.run();
+        }
+    }
+
+    // 调用方持有 this，或在构造函数中
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        segmentPath = directory.resolve(segmentName(segmentIndex));
+        channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(System.currentTimeMillis());
+        dirty = true;
+    }
+
+    static String segmentName(long index) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long lastSegmentIndex(Path directory) throws IOException {
+        try (var paths = Files.list(directory)) {
+            return paths.filter(AuditJournal::isSegment).mapToLong(AuditJournal::segmentIndex).max().orElse(0);
+        }
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit segment: {}", e.getMessage());
+        }
+    }
+
+    public AuditJournalStats getStats() {
+        long syncs = syncCount.sum();
+        synchronized (this) {
+            return new AuditJournalStats(
+                    isEnabled(),
+                    directory == null ? null : directory.toString(),
+                    segmentPath == null ? null : segmentPath.getFileName().toString(),
+                    segmentSize,
+                    buffer == null ? 0 : buffer.position(),
+                    recordCount.sum(),
+                    droppedCount.sum(),
+                    syncs,
+                    syncs == 0 ? 0 : syncNanos.sum() / 1_000_000.0 / syncs,
+                    lastSyncAt);
+        }
+    }
+
+    /**
+     * 停止后台刷盘并将剩余内容刷到磁盘，之后的追加会被丢弃
+     */
+    @Override
+    public void close() {
+        MappedByteBuffer last;
+        FileChannel lastChannel;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            last = buffer;
+            lastChannel = channel;
+        }
+        // 等待已写满分段的刷盘任务完成
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        force(last);
+        closeQuietly(lastChannel);
+    }
+}
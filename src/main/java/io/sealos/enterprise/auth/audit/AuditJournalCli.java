@@ -0,0 +1,173 @@
+package io.sealos.enterprise.auth.audit;
+
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
+import io.sealos.enterprise.auth.service.OrderIdGenerator;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 审计日志对账工具
+ *
+ * 用法：java -cp unionpay3060-*-jar-with-dependencies.jar io.sealos.enterprise.auth.audit.AuditJournalCli 目录
+ * [dump|summary] [--from yyyy-MM-dd] [--to yyyy-MM-dd]
+ *
+ * dump 输出 CSV，每行一次上游 HTTP 请求（同一订单号的重试和对冲各一行），按订单号与银联账单逐笔核对；
+ * summary 按天汇总订单数、请求数、已计费订单数（任一次请求 orderStatus 为 0000）、计费金额合计和所有请求都失败的订单数，
+ * 与银联日账单核对。日期取订单号中的订单日期（即请求的 orderDate，与银联账单一致，跨零点的重试和对冲仍归入下单当天），
+ * 订单号格式异常时取完成时间的本机日期；--from、--to 按同一日期过滤，--to 包含当天。
+ */
+public class AuditJournalCli {
+    private static final String CHARGED_STATUS = "0000";
+
+    private static class DaySummary {
+        private long attempts;
+        private final Map<String, OrderSummary> orders = new HashMap<>();
+    }
+
+    // 同一订单号由上游去重，重试和对冲只计费一次
+    private static class OrderSummary {
+        private boolean responded;
+        private String chargedAmount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: AuditJournalCli <dir> [dump|summary] [--from yyyy-MM-dd] [--to yyyy-MM-dd]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        String command = "dump";
+        LocalDate from = null;
+        LocalDate to = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--from".equals(args[i]) && i + 1 < args.length) {
+                from = LocalDate.parse(args[++i]);
+            } else if ("--to".equals(args[i]) && i + 1 < args.length) {
+                to = LocalDate.parse(args[++i]);
+            } else {
+                command = args[i];
+            }
+        }
+
+        AuditJournalReader reader = new AuditJournalReader(directory);
+        PrintStream out = System.out;
+        LocalDate fromDate = from;
+        LocalDate toDate = to;
+        Map<LocalDate, DaySummary> days = new TreeMap<>();
+        boolean dump = "dump".equals(command);
+        if (!dump && !"summary".equals(command)) {
+            System.err.println("Unknown command: " + command);
+            System.exit(2);
+        }
+
+        if (dump) {
+            out.println("time,orderId,userId,regionUid,respCode,orderStatus,transAmt,errorCode,latencyMs,requestHash,"
+                    + "attemptNo,kind");
+        }
+        reader.read(record -> {
+            LocalDate day = orderDate(record);
+            if ((fromDate != null && day.isBefore(fromDate)) || (toDate != null && day.isAfter(toDate))) {
+                return;
+            }
+            if (dump) {
+                out.println(toCsv(record));
+            } else {
+                summarize(days.computeIfAbsent(day, d -> new DaySummary()), record);
+            }
+        });
+
+        if (!dump) {
+            out.println("date,orders,attempts,charged,chargedAmount,failed");
+            for (Map.Entry<LocalDate, DaySummary> entry : days.entrySet()) {
+                out.println(entry.getKey() + "," + toCsv(entry.getValue()));
+            }
+        }
+        if (reader.getCorruptSegments() > 0) {
+            System.err.println("Warning: " + reader.getCorruptSegments() + " segment(s) ended with a corrupt record");
+        }
+    }
+
+    private static LocalDate orderDate(AuditRecord record) {
+        String orderId = record.getOrderId();
+        if (orderId != null && orderId.length() == OrderIdGenerator.ORDER_ID_LENGTH) {
+            try {
+                return LocalDate.parse(OrderIdGenerator.orderDate(orderId), DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (DateTimeParseException e) {
+                // 按完成时间归类
+            }
+        }
+        return Instant.ofEpochMilli(record.getTimestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static void summarize(DaySummary summary, AuditRecord record) {
+        summary.attempts++;
+        OrderSummary order = summary.orders.computeIfAbsent(record.getOrderId(), id -> new OrderSummary());
+        if (record.getErrorCode() == null) {
+            order.responded = true;
+        }
+        if (CHARGED_STATUS.equals(record.getOrderStatus()) && order.chargedAmount == null) {
+            order.chargedAmount = record.getTransAmt() == null ? "" : record.getTransAmt();
+        }
+    }
+
+    private static String toCsv(DaySummary summary) {
+        long charged = 0;
+        long failed = 0;
+        BigDecimal chargedAmount = BigDecimal.ZERO;
+        for (OrderSummary order : summary.orders.values()) {
+            if (!order.responded) {
+                failed++;
+            }
+            if (order.chargedAmount == null) {
+                continue;
+            }
+            charged++;
+            if (!order.chargedAmount.isEmpty()) {
+                try {
+                    chargedAmount = chargedAmount.add(new BigDecimal(order.chargedAmount));
+                } catch (NumberFormatException e) {
+                    // 金额格式异常的记录只计数，逐笔核对时用 dump 查看
+                }
+            }
+        }
+        return summary.orders.size() + "," + summary.attempts + "," + charged + "," + chargedAmount.toPlainString()
+                + "," + failed;
+    }
+
+    static String toCsv(AuditRecord record) {
+        return String.join(",",
+                Instant.ofEpochMilli(record.getTimestamp()).toString(),
+                csv(record.getOrderId()),
+                csv(record.getUserId()),
+                csv(record.getRegionUid()),
+                csv(record.getRespCode()),
+                csv(record.getOrderStatus()),
+                csv(record.getTransAmt()),
+                csv(record.getErrorCode()),
+                String.format("%.3f", record.getLatencyMicros() / 1000.0),
+                csv(record.getRequestHash()),
+                String.valueOf(record.getAttemptNo()),
+                csv(record.getKind()));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
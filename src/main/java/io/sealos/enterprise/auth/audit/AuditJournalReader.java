@@ -0,0 +1,107 @@
+package io.sealos.enterprise.auth.audit;
+
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * 按写入顺序读取审计日志目录下的所有分段
+ *
+ * 每个分段读到长度为 0 处结束；遇到越界长度或 CRC 不匹配（断电等原因写了一半的记录）时跳过该分段剩余部分，
+ * 计入 getCorruptSegments。可以在服务运行时读取，正在写入的分段读到当前已写入的位置。
+ */
+public class AuditJournalReader {
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournalReader.class);
+
+    private final Path directory;
+    private int corruptSegments;
+
+    public AuditJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public List<Path> segments() throws IOException {
+        try (var paths = Files.list(directory)) {
+            return paths.filter(AuditJournal::isSegment)
+                    .sorted(Comparator.comparingLong(AuditJournal::segmentIndex))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 依次读取所有记录，返回读取的记录数
+     */
+    public long read(Consumer<AuditRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path segment : segments()) {
+            count += readSegment(segment, consumer);
+        }
+        return count;
+    }
+
+    public int getCorruptSegments() {
+        return corruptSegments;
+    }
+
+    private long readSegment(Path segment, Consumer<AuditRecord> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            if (channel.size() < AuditJournal.HEADER_SIZE) {
+                return 0;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != AuditJournal.MAGIC || version < 1 || version > AuditJournal.VERSION) {
+            logger.warn("Skipping {}: not an audit segment", segment.getFileName());
+            corruptSegments++;
+            return 0;
+        }
+        buffer.getLong(); // 创建时间
+
+        CRC32 crc = new CRC32();
+        long count = 0;
+        while (buffer.remaining() >= AuditJournal.RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            if (length == 0) {
+                return count;
+            }
+            int expectedCrc = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return corrupt(segment, buffer.position() - AuditJournal.RECORD_HEADER_SIZE, count);
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                return corrupt(segment, buffer.position() - AuditJournal.RECORD_HEADER_SIZE, count);
+            }
+            consumer.accept(AuditRecordCodec.read(payload, version));
+            buffer.position(buffer.position() + length);
+            count++;
+        }
+        return count;
+    }
+
+    private long corrupt(Path segment, int offset, long count) {
+        logger.warn("Stopping at corrupt record in {} at offset {} after {} records", segment.getFileName(),
+                offset, count);
+        corruptSegments++;
+        return count;
+    }
+}
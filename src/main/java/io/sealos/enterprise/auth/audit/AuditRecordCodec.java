@@ -0,0 +1,106 @@
+package io.sealos.enterprise.auth.audit;
+
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 审计记录的二进制编码
+ *
+ * 两个 long（timestamp、latencyMicros）和一个 int（attemptNo）后接 9 个字符串，每个字符串为 short 长度 + UTF-8 字节，
+ * null 的长度为 -1。版本 1 的分段没有 attemptNo 和最后一个字符串 kind。
+ */
+final class AuditRecordCodec {
+    private static final int STRING_FIELDS = 9;
+    private static final int V1_STRING_FIELDS = 8;
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * 按字段顺序取出字符串的 UTF-8 编码，编码结果同时用于计算长度和写入
+     */
+    static byte[][] strings(AuditRecord record) {
+        return new byte[][] {
+                bytes(record.getOrderId()),
+                bytes(record.getUserId()),
+                bytes(record.getRegionUid()),
+                bytes(record.getRespCode()),
+                bytes(record.getOrderStatus()),
+                bytes(record.getTransAmt()),
+                bytes(record.getErrorCode()),
+                bytes(record.getRequestHash()),
+                bytes(record.getKind())
+        };
+    }
+
+    static int encodedSize(byte[][] strings) {
+        int size = Long.BYTES * 2 + Integer.BYTES;
+        for (byte[] value : strings) {
+            size += Short.BYTES + (value == null ? 0 : value.length);
+        }
+        return size;
+    }
+
+    static void write(ByteBuffer buffer, AuditRecord record, byte[][] strings) {
+        buffer.putLong(record.getTimestamp());
+        buffer.putLong(record.getLatencyMicros());
+        buffer.putInt(record.getAttemptNo());
+        for (byte[] value : strings) {
+            if (value == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) value.length);
+                buffer.put(value);
+            }
+        }
+    }
+
+    /**
+     * 按分段版本解码一条记录
+     */
+    static AuditRecord read(ByteBuffer buffer, int version) {
+        AuditRecord record = new AuditRecord();
+        record.setTimestamp(buffer.getLong());
+        record.setLatencyMicros(buffer.getLong());
+        int fields = V1_STRING_FIELDS;
+        if (version >= 2) {
+            record.setAttemptNo(buffer.getInt());
+            fields = STRING_FIELDS;
+        }
+        String[] values = new String[STRING_FIELDS];
+        for (int i = 0; i < fields; i++) {
+            short length = buffer.getShort();
+            if (length >= 0) {
+                byte[] value = new byte[length];
+                buffer.get(value);
+                values[i] = new String(value, StandardCharsets.UTF_8);
+            }
+        }
+        record.setOrderId(values[0]);
+        record.setUserId(values[1]);
+        record.setRegionUid(values[2]);
+        record.setRespCode(values[3]);
+        record.setOrderStatus(values[4]);
+        record.setTransAmt(values[5]);
+        record.setErrorCode(values[6]);
+        record.setRequestHash(values[7]);
+        record.setKind(values[8]);
+        return record;
+    }
+
+    // 超长字段截断到 short 可表示的长度，正常字段远小于该值
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            byte[] truncated = new byte[Short.MAX_VALUE];
+            System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+            return truncated;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,161 @@
+package io.sealos.enterprise.auth.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.model.response.ResultCacheStats;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 3060 认证结果缓存
+ *
+ * 3060 按次计费，同一组企业信息重复提交时直接返回缓存结果，不再调用上游。
+ * 成功结果和配置为终态的失败结果（RESULT_CACHE_FAILURE_CODES）分别按 TTL 过期，超过容量时按 LRU 淘汰。
+ */
+public class EnterpriseAuthResultCache {
+    public static final String SUCCESS_CODE = "00000000";
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long successTtlMillis;
+    private final long failureTtlMillis;
+    private final Set<String> cacheableFailureCodes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 访问顺序的 LinkedHashMap 实现 LRU，由 this 保护
+    private final LinkedHashMap<String, Entry> entries;
+
+    // metrics
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private static class Entry {
+        private final Unionpay3060ApiEnterpriseAuthResponse response;
+        private final long expiresAt;
+
+        private Entry(Unionpay3060ApiEnterpriseAuthResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Holder {
+        private static final EnterpriseAuthResultCache INSTANCE = new EnterpriseAuthResultCache(
+                EnvConfig.isResultCacheEnabled(),
+                EnvConfig.getResultCacheMaxSize(),
+                TimeUnit.SECONDS.toMillis(EnvConfig.getResultCacheTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(EnvConfig.getResultCacheFailureTtlSeconds()),
+                EnvConfig.getResultCacheFailureCodes());
+    }
+
+    public static EnterpriseAuthResultCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public EnterpriseAuthResultCache(boolean enabled, int maxSize, long successTtlMillis, long failureTtlMillis,
+            Set<String> cacheableFailureCodes) {
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+        this.successTtlMillis = successTtlMillis;
+        this.failureTtlMillis = failureTtlMillis;
+        this.cacheableFailureCodes = Set.copyOf(cacheableFailureCodes);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > EnterpriseAuthResultCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 查询缓存，命中时返回标记了 fromCache 的副本，调用方可以自由修改
+     */
+    public Unionpay3060ApiEnterpriseAuthResponse get(String fingerprint) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(fingerprint);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(fingerprint);
+                expirationCount.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        Unionpay3060ApiEnterpriseAuthResponse copy = objectMapper.convertValue(entry.response,
+                Unionpay3060ApiEnterpriseAuthResponse.class);
+        copy.setFromCache(true);
+        return copy;
+    }
+
+    /**
+     * 写入成功结果或终态失败结果，其他结果忽略
+     */
+    public void put(String fingerprint, Unionpay3060ApiEnterpriseAuthResponse response) {
+        if (!enabled || response == null || response.getRespCode() == null) {
+            return;
+        }
+
+        long ttl;
+        if (SUCCESS_CODE.equals(response.getRespCode())) {
+            ttl = successTtlMillis;
+        } else if (cacheableFailureCodes.contains(response.getRespCode())) {
+            ttl = failureTtlMillis;
+        } else {
+            return;
+        }
+        if (ttl <= 0) {
+            return;
+        }
+
+        Entry entry = new Entry(response, System.currentTimeMillis() + ttl);
+        synchronized (this) {
+            entries.put(fingerprint, entry);
+        }
+        putCount.increment();
+    }
+
+    public ResultCacheStats getStats() {
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new ResultCacheStats(
+                enabled,
+                size,
+                maxSize,
+                hits,
+                misses,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                putCount.sum(),
+                evictionCount.sum(),
+                expirationCount.sum());
+    }
+}
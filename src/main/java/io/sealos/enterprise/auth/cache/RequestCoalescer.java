@@ -0,0 +1,89 @@
+package io.sealos.enterprise.auth.cache;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.model.response.RequestCoalescerStats;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 相同请求合并（single-flight）
+ *
+ * 双击、客户端重试会在极短时间内提交多个相同的认证请求。同一指纹只有第一个请求调用上游，
+ * 其余并发请求挂到进行中的 future 上共享结果；调用结束后立即移除，之后的请求交给结果缓存处理。
+ */
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // metrics
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private static class Holder {
+        private static final RequestCoalescer INSTANCE = new RequestCoalescer(EnvConfig.isRequestCoalescingEnabled());
+    }
+
+    public static RequestCoalescer getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public RequestCoalescer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 执行或合并请求
+     *
+     * @param fingerprint 请求指纹
+     * @param call        实际调用上游，只有第一个请求会执行
+     * @param share       合并请求拿到结果前的转换，例如复制并标记未调用上游
+     */
+    public CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> execute(String fingerprint,
+            Supplier<CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse>> call,
+            Function<Unionpay3060ApiEnterpriseAuthResponse, Unionpay3060ApiEnterpriseAuthResponse> share) {
+        if (!enabled) {
+            return call.get();
+        }
+        callCount.increment();
+
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> promise = new CompletableFuture<>();
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> existing = inFlight.putIfAbsent(fingerprint, promise);
+        if (existing != null) {
+            coalescedCount.increment();
+            return existing.thenApply(share);
+        }
+
+        try {
+            call.get().whenComplete((response, throwable) -> {
+                // 先移除再完成，保证完成后到达的请求不会再拿到旧 future
+                inFlight.remove(fingerprint, promise);
+                if (throwable != null) {
+                    promise.completeExceptionally(throwable);
+                } else {
+                    promise.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(fingerprint, promise);
+            promise.completeExceptionally(e);
+        }
+        // 返回副本，调用方的超时、取消不影响其他合并的请求
+        return promise.copy();
+    }
+
+    public RequestCoalescerStats getStats() {
+        long calls = callCount.sum();
+        long coalesced = coalescedCount.sum();
+        return new RequestCoalescerStats(
+                enabled,
+                inFlight.size(),
+                calls,
+                coalesced,
+                calls == 0 ? 0 : (double) coalesced / calls);
+    }
+}
@@ -0,0 +1,66 @@
+package io.sealos.enterprise.auth.cache;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 企业认证请求指纹
+ *
+ * 对 key/accountNo/keyName/usrName/accountBank 做加盐 SHA-256，缓存和去重只保存指纹，不在内存中留存明文。
+ * 未配置 RESULT_CACHE_SALT 时每个进程随机生成盐。
+ */
+public final class RequestFingerprint {
+    private static final byte[] SALT = loadSalt();
+    private static final char SEPARATOR = '\u0000';
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private RequestFingerprint() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    private static byte[] loadSalt() {
+        String salt = EnvConfig.getResultCacheSalt();
+        if (salt != null && !salt.isEmpty()) {
+            return salt.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    public static String of(EnterpriseAuthRequest request) {
+        StringBuilder builder = new StringBuilder(128);
+        append(builder, request.getKey());
+        append(builder, request.getAccountNo());
+        append(builder, request.getKeyName());
+        append(builder, request.getUsrName());
+        append(builder, request.getAccountBank());
+
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        digest.update(SALT);
+        byte[] hash = digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    // 去掉首尾空白，null 与空串等价
+    private static void append(StringBuilder builder, String value) {
+        if (value != null) {
+            builder.append(value.trim());
+        }
+        builder.append(SEPARATOR);
+    }
+}
@@ -0,0 +1,127 @@
+package io.sealos.enterprise.auth.cache;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.response.TokenCacheStats;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已验证 token 缓存
+ *
+ * 客户端会在数小时内复用同一个 bearer token，命中时跳过 HMAC 验签和 JSON 解析。
+ * 以 token 的 SHA-256 为 key，不在内存中保存 token 原文；条目在 token 的 exp 到期后失效。
+ * 超过容量时先清理过期条目，仍然超出则随机淘汰一部分，未命中只是重新验签。
+ */
+public class VerifiedTokenCache {
+    private final boolean enabled;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // metrics
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private static class Entry {
+        private final UserDTO user;
+        private final long expiresAt;
+
+        private Entry(UserDTO user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Holder {
+        private static final VerifiedTokenCache INSTANCE = new VerifiedTokenCache(
+                EnvConfig.isTokenCacheEnabled(),
+                EnvConfig.getTokenCacheMaxSize());
+    }
+
+    public static VerifiedTokenCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public VerifiedTokenCache(boolean enabled, int maxSize) {
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public static String hash(String token) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 返回未过期的缓存用户，未命中返回 null
+     */
+    public UserDTO get(String tokenHash) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(tokenHash);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(tokenHash, entry);
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.user;
+    }
+
+    public void put(String tokenHash, UserDTO user, long expiresAtMillis) {
+        if (!enabled || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(tokenHash, new Entry(user, expiresAtMillis));
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+    }
+
+    private void shrink() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        // 仍然超出时淘汰约 10%，避免每次写入都触发清理
+        int excess = entries.size() - maxSize * 9 / 10;
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    public TokenCacheStats getStats() {
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        return new TokenCacheStats(
+                enabled,
+                entries.size(),
+                maxSize,
+                hits,
+                misses,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                evictionCount.sum());
+    }
+}
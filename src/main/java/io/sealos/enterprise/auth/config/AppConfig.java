@@ -1,6 +1,8 @@
 package io.sealos.enterprise.auth.config;
 
 import io.javalin.config.JavalinConfig;
+import io.javalin.http.Context;
+import io.sealos.enterprise.auth.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,16 +19,22 @@ public class AppConfig {
         if (EnvConfig.isDevelopment()) {
             // Configure debug logging
             config.bundledPlugins.enableDevLogging();
-
-            // Configure request logging
-            config.requestLogger.http((ctx, ms) -> {
-                String path = ctx.path();
-                String method = ctx.method().toString();
-                int status = ctx.status().getCode();
-                logger.info("{} {} - Status: {} - Time: {}ms", method, path, status, ms);
-            });
         }
 
+        // Configure request logging and metrics, async requests are logged after the future completes
+        boolean logRequests = EnvConfig.isDevelopment();
+        config.requestLogger.http((ctx, ms) -> {
+            String method = ctx.method().toString();
+            int status = ctx.status().getCode();
+            recordRequest(ctx, method, status, ms);
+            if (logRequests) {
+                logger.info("{} {} - Status: {} - Time: {}ms", method, ctx.path(), status, ms);
+            }
+        });
+
+        // Run handlers on virtual threads, the enterprise auth path then blocks instead of chaining futures
+        config.useVirtualThreads = EnvConfig.isVirtualThreadsEnabled();
+
         // Configure other settings
         config.http.defaultContentType = "application/json";
 
@@ -34,4 +42,17 @@ public class AppConfig {
             config.showJavalinBanner = false;
         }
     }
+
+    private static void recordRequest(Context ctx, String method, int status, float ms) {
+        // 使用路由模板作为标签，避免路径参数导致标签数量膨胀
+        String route;
+        try {
+            route = status == 404 ? "unmatched" : ctx.endpointHandlerPath();
+        } catch (IllegalStateException e) {
+            route = "unmatched";
+        }
+        Metrics.getInstance().timer("http_server_requests_seconds", "HTTP server request latency",
+                "method", method, "route", route, "status", String.valueOf(status))
+                .record((long) (ms * 1_000_000));
+    }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package io.sealos.enterprise.auth.config;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class EnvConfig {
     private static final Dotenv dotenv = Dotenv.configure()
@@ -18,6 +22,30 @@ public class EnvConfig {
         return value != null ? value : System.getenv(key);
     }
 
+    private static int getIntEnv(String key, int defaultValue) {
+        String value = getEnv(key);
+        if (value != null && !value.isEmpty()) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private static long getLongEnv(String key, long defaultValue) {
+        String value = getEnv(key);
+        if (value != null && !value.isEmpty()) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     private static final String APP_ENV = getEnv("APP_ENV", "prod");
     private static final int DEFAULT_PORT = 2342;
 
@@ -50,6 +78,13 @@ public class EnvConfig {
         return getEnv("JWT_SECRET");
     }
 
+    /**
+     * /v1/admin/* 运行状态接口的访问令牌（Authorization: Bearer <ADMIN_TOKEN>），为空时关闭这些接口
+     */
+    public static String getAdminToken() {
+        return getEnv("ADMIN_TOKEN");
+    }
+
     public static String getUnionpay3060Api() {
         return getEnv("UNIONPAY_3060_API");
     }
@@ -62,6 +97,314 @@ public class EnvConfig {
         return getEnv("SECSS_CONFIG_PATH");
     }
 
+    public static int getSecssPoolSize() {
+        return Math.max(1, getIntEnv("SECSS_POOL_SIZE", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static long getSecssPoolBorrowTimeoutMillis() {
+        return Math.max(0, getLongEnv("SECSS_POOL_BORROW_TIMEOUT_MS", 1000));
+    }
+
+    public static boolean isSecssWatchEnabled() {
+        String configPath = getConfigPath();
+        return configPath != null && !configPath.isEmpty()
+                && !"false".equalsIgnoreCase(getEnv("SECSS_WATCH_ENABLED", "true"));
+    }
+
+    /**
+     * 后台定时检查证书文件的间隔，作为文件监听漏掉事件时的兜底；加载失败时按更短的间隔退避重试
+     */
+    public static long getSecssReloadIntervalMillis() {
+        return Math.max(1000, getLongEnv("SECSS_RELOAD_INTERVAL_MS", 60000));
+    }
+
+    public static long getUpstreamConnectTimeoutMillis() {
+        return Math.max(1, getLongEnv("UPSTREAM_CONNECT_TIMEOUT_MS", 3000));
+    }
+
+    public static long getUpstreamRequestTimeoutMillis() {
+        return Math.max(1, getLongEnv("UPSTREAM_REQUEST_TIMEOUT_MS", 30000));
+    }
+
+    public static String getUpstreamHttpVersion() {
+        return getEnv("UPSTREAM_HTTP_VERSION", "HTTP_2");
+    }
+
+    public static int getUpstreamExecutorThreads() {
+        return Math.max(1, getIntEnv("UPSTREAM_EXECUTOR_THREADS", Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    public static long getUpstreamKeepAliveSeconds() {
+        return Math.max(1, getLongEnv("UPSTREAM_KEEPALIVE_TIMEOUT_S", 300));
+    }
+
+    public static int getUpstreamMaxConnections() {
+        return Math.max(0, getIntEnv("UPSTREAM_MAX_CONNECTIONS", 64));
+    }
+
+    public static int getUpstreamMaxStreams() {
+        return Math.max(1, getIntEnv("UPSTREAM_MAX_STREAMS", 100));
+    }
+
+    public static int getUpstreamLimitInitial() {
+        return getIntEnv("UPSTREAM_LIMIT_INITIAL", 20);
+    }
+
+    public static int getUpstreamLimitMin() {
+        return getIntEnv("UPSTREAM_LIMIT_MIN", 4);
+    }
+
+    public static int getUpstreamLimitMax() {
+        return getIntEnv("UPSTREAM_LIMIT_MAX", 200);
+    }
+
+    public static int getUpstreamQueueSize() {
+        return getIntEnv("UPSTREAM_QUEUE_SIZE", 100);
+    }
+
+    /**
+     * 请求截止时间，也是客户端 X-Request-Timeout-Ms 可设置的上限
+     */
+    public static long getRequestTimeoutMillis() {
+        return Math.max(1, getLongEnv("REQUEST_TIMEOUT_MS", 60000));
+    }
+
+    public static long getUpstreamQueueTimeoutMillis() {
+        return Math.max(0, getLongEnv("UPSTREAM_QUEUE_TIMEOUT_MS", 1000));
+    }
+
+    public static long getUpstreamSlowCallMillis() {
+        return Math.max(1, getLongEnv("UPSTREAM_SLOW_CALL_MS", 5000));
+    }
+
+    public static int getCircuitBreakerWindowSize() {
+        return getIntEnv("CB_WINDOW_SIZE", 20);
+    }
+
+    public static int getCircuitBreakerMinimumCalls() {
+        return getIntEnv("CB_MINIMUM_CALLS", 10);
+    }
+
+    public static int getCircuitBreakerFailureRateThreshold() {
+        return getIntEnv("CB_FAILURE_RATE_THRESHOLD", 50);
+    }
+
+    public static int getCircuitBreakerSlowCallRateThreshold() {
+        return getIntEnv("CB_SLOW_CALL_RATE_THRESHOLD", 80);
+    }
+
+    public static long getCircuitBreakerOpenDurationMillis() {
+        return Math.max(0, getLongEnv("CB_OPEN_DURATION_MS", 30000));
+    }
+
+    public static int getCircuitBreakerHalfOpenProbes() {
+        return getIntEnv("CB_HALF_OPEN_PROBES", 3);
+    }
+
+    public static boolean isResultCacheEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("RESULT_CACHE_ENABLED", "true"));
+    }
+
+    public static int getResultCacheMaxSize() {
+        return getIntEnv("RESULT_CACHE_MAX_SIZE", 10000);
+    }
+
+    public static long getResultCacheTtlSeconds() {
+        return getLongEnv("RESULT_CACHE_TTL_S", 86400);
+    }
+
+    public static long getResultCacheFailureTtlSeconds() {
+        return getLongEnv("RESULT_CACHE_FAILURE_TTL_S", 600);
+    }
+
+    public static Set<String> getResultCacheFailureCodes() {
+        Set<String> codes = new HashSet<>();
+        String value = getEnv("RESULT_CACHE_FAILURE_CODES");
+        if (value != null) {
+            for (String code : value.split(",")) {
+                if (!code.trim().isEmpty()) {
+                    codes.add(code.trim());
+                }
+            }
+        }
+        return codes;
+    }
+
+    public static String getResultCacheSalt() {
+        return getEnv("RESULT_CACHE_SALT");
+    }
+
+    public static boolean isRequestCoalescingEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("REQUEST_COALESCING_ENABLED", "true"));
+    }
+
+    public static int getBatchMaxSize() {
+        return getIntEnv("BATCH_MAX_SIZE", 5000);
+    }
+
+    public static int getBatchConcurrency() {
+        return getIntEnv("BATCH_CONCURRENCY", 8);
+    }
+
+    public static int getBatchRatePerSecond() {
+        return getIntEnv("BATCH_RATE_PER_SECOND", 20);
+    }
+
+    public static String getJobStorePath() {
+        return getEnv("JOB_STORE_PATH", "data/jobs.ndjson");
+    }
+
+    public static int getJobWorkerThreads() {
+        return getIntEnv("JOB_WORKER_THREADS", 4);
+    }
+
+    public static int getJobQueueSize() {
+        return getIntEnv("JOB_QUEUE_SIZE", 1000);
+    }
+
+    public static long getJobRetentionHours() {
+        return getLongEnv("JOB_RETENTION_HOURS", 24);
+    }
+
+    public static String getJobCallbackSecret() {
+        return getEnv("JOB_CALLBACK_SECRET");
+    }
+
+    public static Set<String> getJobCallbackAllowedHosts() {
+        Set<String> hosts = new HashSet<>();
+        String value = getEnv("JOB_CALLBACK_ALLOWED_HOSTS");
+        if (value != null) {
+            for (String host : value.split(",")) {
+                if (!host.trim().isEmpty()) {
+                    hosts.add(host.trim().toLowerCase());
+                }
+            }
+        }
+        return hosts;
+    }
+
+    public static boolean isTokenCacheEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("TOKEN_CACHE_ENABLED", "true"));
+    }
+
+    public static int getTokenCacheMaxSize() {
+        return getIntEnv("TOKEN_CACHE_MAX_SIZE", 10000);
+    }
+
+    /**
+     * 虚拟线程模式需要 Java 21，低版本运行时即使开启也回退到异步模式
+     */
+    public static boolean isVirtualThreadsEnabled() {
+        return "true".equalsIgnoreCase(getEnv("VIRTUAL_THREADS_ENABLED", "false"))
+                && Runtime.version().feature() >= 21;
+    }
+
+    public static int getUpstreamRetryMaxAttempts() {
+        return Math.max(1, getIntEnv("UPSTREAM_RETRY_MAX_ATTEMPTS", 3));
+    }
+
+    public static long getUpstreamRetryBackoffMillis() {
+        return Math.max(0, getLongEnv("UPSTREAM_RETRY_BACKOFF_MS", 100));
+    }
+
+    public static long getUpstreamRetryMaxBackoffMillis() {
+        return Math.max(0, getLongEnv("UPSTREAM_RETRY_MAX_BACKOFF_MS", 1000));
+    }
+
+    /**
+     * 银联明确表示未受理、不计费的 respCode，逗号分隔，返回这些 respCode 时按同一订单号重试
+     */
+    public static Set<String> getUpstreamRetryRespCodes() {
+        Set<String> codes = new HashSet<>();
+        String value = getEnv("UPSTREAM_RETRY_RESP_CODES");
+        if (value != null) {
+            for (String code : value.split(",")) {
+                if (!code.trim().isEmpty()) {
+                    codes.add(code.trim());
+                }
+            }
+        }
+        return codes;
+    }
+
+    public static boolean isUpstreamHedgeEnabled() {
+        return "true".equalsIgnoreCase(getEnv("UPSTREAM_HEDGE_ENABLED", "false"));
+    }
+
+    public static long getUpstreamHedgeMinDelayMillis() {
+        return Math.max(0, getLongEnv("UPSTREAM_HEDGE_MIN_DELAY_MS", 200));
+    }
+
+    public static boolean isAuditJournalEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("AUDIT_JOURNAL_ENABLED", "true"));
+    }
+
+    public static String getAuditJournalDir() {
+        return getEnv("AUDIT_JOURNAL_DIR", "data/audit");
+    }
+
+    public static long getAuditSegmentSizeMb() {
+        return Math.max(1, getLongEnv("AUDIT_SEGMENT_SIZE_MB", 64));
+    }
+
+    /**
+     * 审计日志刷盘间隔，为 0 时每条记录写入后立即刷盘
+     */
+    public static long getAuditFsyncIntervalMillis() {
+        return Math.max(0, getLongEnv("AUDIT_FSYNC_INTERVAL_MS", 1000));
+    }
+
+    /**
+     * 订单号中的节点号（0-9999），多副本部署时每个副本必须不同。
+     * 主机名哈希无法保证不同副本不冲突，因此非 dev 环境必须显式配置，未配置时启动失败；dev 环境默认为 0
+     */
+    public static int getOrderNodeId() {
+        String value = getEnv("ORDER_NODE_ID");
+        if (value != null && !value.trim().isEmpty()) {
+            return Integer.parseInt(value.trim());
+        }
+        if (isDevelopment()) {
+            return 0;
+        }
+        throw new IllegalStateException("ORDER_NODE_ID is not set, each replica needs a unique node id (0-9999), "
+                + "e.g. the StatefulSet pod index");
+    }
+
+    // 以下日志配置在 slf4j 初始化时读取，EnvConfig 自身不能记录日志
+
+    public static String getLogLevel() {
+        return getEnv("LOG_LEVEL", "info");
+    }
+
+    /**
+     * 按 logger 名称前缀设置的级别，如 io.javalin=warn,org.eclipse.jetty=warn
+     */
+    public static Map<String, String> getLogLevels() {
+        Map<String, String> levels = new HashMap<>();
+        String value = getEnv("LOG_LEVELS");
+        if (value != null) {
+            for (String entry : value.split(",")) {
+                int index = entry.indexOf('=');
+                if (index > 0) {
+                    levels.put(entry.substring(0, index).trim(), entry.substring(index + 1).trim());
+                }
+            }
+        }
+        return levels;
+    }
+
+    public static String getLogFormat() {
+        return getEnv("LOG_FORMAT", "json");
+    }
+
+    public static int getLogQueueSize() {
+        return Math.max(2, getIntEnv("LOG_QUEUE_SIZE", 8192));
+    }
+
+    public static String getLogQueueFullPolicy() {
+        return getEnv("LOG_QUEUE_FULL_POLICY", "drop");
+    }
+
     public static String getEnvironment() {
         return APP_ENV;
     }
@@ -85,4 +428,46 @@ public class EnvConfig {
         }
         return Paths.get(System.getProperty("user.dir"), "conf", "bank", "bank.json").toString();
     }
+
+    /**
+     * 开户行别名文件（别名 -> bank.json 中的简称），默认与 bank.json 同目录，不存在时只使用内置规则
+     */
+    public static String getBankAliasJsonPath() {
+        String path = getEnv("BANK_ALIAS_JSON_PATH");
+        if (path != null && !path.isEmpty()) {
+            return path;
+        }
+        return Paths.get(getBankJsonPath()).resolveSibling("bank-alias.json").toString();
+    }
+
+    /**
+     * 需要 Luhn 校验的银行账号前缀（银行卡 BIN），逗号分隔；对公账户一般没有 Luhn 校验位，默认不校验
+     */
+    public static Set<String> getAccountNoLuhnPrefixes() {
+        Set<String> prefixes = new HashSet<>();
+        String value = getEnv("ACCOUNT_NO_LUHN_PREFIXES");
+        if (value != null) {
+            for (String prefix : value.split(",")) {
+                if (!prefix.trim().isEmpty()) {
+                    prefixes.add(prefix.trim());
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    public static boolean isAccountBankCheckEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("ACCOUNT_BANK_CHECK_ENABLED", "true"));
+    }
+
+    public static boolean isBankWatchEnabled() {
+        return !"false".equalsIgnoreCase(getEnv("BANK_WATCH_ENABLED", "true"));
+    }
+
+    /**
+     * 后台定时检查 bank.json 的间隔，作为文件监听不可用（如部分网络文件系统）时的兜底
+     */
+    public static long getBankReloadIntervalMillis() {
+        return Math.max(1000, getLongEnv("BANK_RELOAD_INTERVAL_MS", 60000));
+    }
 }
\ No newline at end of file
@@ -9,11 +9,20 @@ import io.sealos.enterprise.auth.model.dto.UserDTO;
 import io.sealos.enterprise.auth.model.response.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.List;
 import java.util.UUID;
 
 public class ErrorHandler {
     private static final Logger logger = LoggerFactory.getLogger(ErrorHandler.class);
 
+    // 错误日志只记录排查需要的请求头，不输出 Authorization 等凭据
+    private static final List<String> LOGGED_HEADERS = List.of(
+            "Content-Type", "Content-Length", "User-Agent", "X-Request-Timeout-Ms", "X-Forwarded-For");
+    private static final int REQUEST_INFO_CAPACITY = 512;
+    // 每个线程复用一个预分配的 StringBuilder，日志消息在 logger 调用返回前已拷贝
+    private static final ThreadLocal<StringBuilder> REQUEST_INFO = ThreadLocal.withInitial(
+            () -> new StringBuilder(REQUEST_INFO_CAPACITY));
+
     public static void configure(Javalin app) {
         // 404 处理
         app.error(404, ctx -> {
@@ -37,7 +46,7 @@ public class ErrorHandler {
                 String errorId = generateErrorId();
                 logError(errorId, e, ctx);
                 ctx.status(e.getStatusCode() != null ? e.getStatusCode() : 400);
-                ctx.json(ApiResponse.error(e.getErrorCode(), e.getMessage(), errorId));
+                ctx.json(ApiResponse.error(e.getErrorCode(), e.getMessage(), errorId, e.getDetail()));
             } catch (Exception error) {
                 logger.error("Odd error occurred while handling request: {}", error.getMessage());
                 throw new InternalServerErrorResponse("Error occurred ");
@@ -76,7 +85,7 @@ public class ErrorHandler {
 
     private static void logError(String errorId, Exception e, Context ctx) {
         try {
-            String requestInfo = buildRequestInfo(ctx);
+            CharSequence requestInfo = buildRequestInfo(ctx);
             UserDTO user = ctx.attribute("user");
             String userId = user != null ? user.getUserId() : "unknown";
             String regionUid = user != null ? user.getRegionUid() : "unknown";
@@ -98,7 +107,7 @@ public class ErrorHandler {
 
     private static void logRequestInfo(String errorId, Context ctx) {
         try {
-            String requestInfo = buildRequestInfo(ctx);
+            CharSequence requestInfo = buildRequestInfo(ctx);
             UserDTO user = ctx.attribute("user");
             String userId = user != null ? user.getUserId() : "unknown";
             String regionUid = user != null ? user.getRegionUid() : "unknown";
@@ -115,25 +124,36 @@ public class ErrorHandler {
         }
     }
 
-    private static String buildRequestInfo(Context ctx) {
-        StringBuilder requestInfo = new StringBuilder();
+    private static CharSequence buildRequestInfo(Context ctx) {
+        StringBuilder requestInfo = REQUEST_INFO.get();
+        requestInfo.setLength(0);
+        if (requestInfo.capacity() > REQUEST_INFO_CAPACITY * 8) {
+            requestInfo.trimToSize();
+        }
 
         try {
             requestInfo.append("Method: ").append(ctx.method()).append(", ");
             requestInfo.append("Path: ").append(ctx.path()).append(", ");
             requestInfo.append("IP: ").append(ctx.ip()).append(", ");
-            requestInfo.append("Headers: ").append(ctx.headerMap()).append(", ");
-            requestInfo.append(getRequestBody(ctx));
+            requestInfo.append("Headers: {");
+            boolean first = true;
+            for (String name : LOGGED_HEADERS) {
+                String value = ctx.header(name);
+                if (value != null) {
+                    requestInfo.append(first ? "" : ", ").append(name).append('=').append(value);
+                    first = false;
+                }
+            }
+            requestInfo.append("}, ");
+            appendRequestBody(requestInfo, ctx);
         } catch (Exception e) {
             return "Unable to build complete request info: " + e.getMessage();
         }
 
-        return requestInfo.toString();
+        return requestInfo;
     }
 
-    private static String getRequestBody(Context ctx) {
-        StringBuilder requestInfo = new StringBuilder();
-
+    private static void appendRequestBody(StringBuilder requestInfo, Context ctx) {
         if (EnvConfig.isDevelopment()) {
             try {
                 // Add query parameters if present
@@ -153,8 +173,6 @@ public class ErrorHandler {
             requestInfo.append("Query: [REDACTED IN PRODUCTION], ");
             requestInfo.append("Body: [REDACTED IN PRODUCTION]");
         }
-
-        return requestInfo.toString();
     }
 
     private static ApiResponse<?> buildErrorResponse(Exception e, String errorId) {
@@ -55,6 +55,7 @@ public class OpenApiConfig {
 
                         .withSecurity(security -> security
                                 .withBearerAuth("Bearer") // Give it a specific name
+                                .withBearerAuth("Admin") // ADMIN_TOKEN for /admin endpoints
                                 .withGlobalSecurity("Bearer", globalSecurity -> {
                                 }) // Make it global
                         )
@@ -3,17 +3,25 @@ package io.sealos.enterprise.auth.exception;
 public class BusinessException extends RuntimeException {
     private final String errorCode;
     private final Integer statusCode;
+    // 随错误响应返回的详情，如字段级校验错误
+    private final Object detail;
 
     public BusinessException(ErrorCode errorCode, String message) {
         super(message);
         this.errorCode = errorCode.getCode();
         this.statusCode = null;
+        this.detail = null;
     }
 
     public BusinessException(ErrorCode errorCode, String message, Integer statusCode) {
+        this(errorCode, message, statusCode, null);
+    }
+
+    public BusinessException(ErrorCode errorCode, String message, Integer statusCode, Object detail) {
         super(message);
         this.errorCode = errorCode.getCode();
         this.statusCode = statusCode;
+        this.detail = detail;
     }
 
     public String getErrorCode() {
@@ -23,4 +31,8 @@ public class BusinessException extends RuntimeException {
     public Integer getStatusCode() {
         return statusCode;
     }
+
+    public Object getDetail() {
+        return detail;
+    }
 }
\ No newline at end of file
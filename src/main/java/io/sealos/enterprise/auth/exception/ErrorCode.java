@@ -4,7 +4,14 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND("404", "Resource not found"),
     BUSINESS_ERROR("BIZ-400", "Business error"),
     VALIDATION_ERROR("VAL-400", "Validation error"),
-    SYSTEM_ERROR("SYS-500", "System error");
+    SYSTEM_ERROR("SYS-500", "System error"),
+    SECSS_POOL_EXHAUSTED("SYS-503", "Secss pool exhausted"),
+    DEADLINE_EXCEEDED("SYS-504", "Request deadline exceeded"),
+    UPSTREAM_OVERLOADED("UPS-429", "Upstream concurrency limit exceeded"),
+    UPSTREAM_ERROR("UPS-502", "Upstream error"),
+    CIRCUIT_OPEN("UPS-503", "Upstream circuit breaker is open"),
+    UPSTREAM_TIMEOUT("UPS-504", "Upstream timeout"),
+    JOB_QUEUE_FULL("JOB-429", "Job queue is full");
 
     private final String code;
     private final String defaultMessage;
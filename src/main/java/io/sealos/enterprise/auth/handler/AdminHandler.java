@@ -0,0 +1,147 @@
+package io.sealos.enterprise.auth.handler;
+
+import io.javalin.http.Context;
+import io.sealos.enterprise.auth.audit.AuditJournal;
+import io.sealos.enterprise.auth.cache.EnterpriseAuthResultCache;
+import io.sealos.enterprise.auth.cache.RequestCoalescer;
+import io.sealos.enterprise.auth.cache.VerifiedTokenCache;
+import io.sealos.enterprise.auth.logging.AsyncLogWriter;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.model.response.ApiResponse;
+import io.sealos.enterprise.auth.model.response.AuditJournalStats;
+import io.sealos.enterprise.auth.model.response.BankStats;
+import io.sealos.enterprise.auth.model.response.CircuitBreakerStats;
+import io.sealos.enterprise.auth.model.response.ConcurrencyLimiterStats;
+import io.sealos.enterprise.auth.model.response.LoggingStats;
+import io.sealos.enterprise.auth.model.response.RequestCoalescerStats;
+import io.sealos.enterprise.auth.model.response.ResultCacheStats;
+import io.sealos.enterprise.auth.model.response.SecssPoolStats;
+import io.sealos.enterprise.auth.model.response.TokenCacheStats;
+import io.sealos.enterprise.auth.model.response.UpstreamClientStats;
+import io.sealos.enterprise.auth.secss.SecssUtilPool;
+import io.sealos.enterprise.auth.service.BankService;
+import io.sealos.enterprise.auth.upstream.AdaptiveConcurrencyLimiter;
+import io.sealos.enterprise.auth.upstream.CircuitBreaker;
+import io.sealos.enterprise.auth.upstream.UpstreamHttpClient;
+import io.javalin.openapi.*;
+
+public class AdminHandler {
+
+    @OpenApi(path = "/admin/secss-pool", methods = {
+            HttpMethod.GET }, summary = "Get SecssUtil pool stats", operationId = "getSecssPoolStats", description = "Returns size, wait time and exhaustion metrics of the SecssUtil pool", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = SecssPoolStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getSecssPoolStats(Context ctx) {
+        ctx.json(ApiResponse.success(SecssUtilPool.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/upstream", methods = {
+            HttpMethod.GET }, summary = "Get upstream client stats", operationId = "getUpstreamStats", description = "Returns request, timeout and connection reuse metrics of the UnionPay 3060 http client", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = UpstreamClientStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getUpstreamStats(Context ctx) {
+        ctx.json(ApiResponse.success(UpstreamHttpClient.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/concurrency-limiter", methods = {
+            HttpMethod.GET }, summary = "Get upstream concurrency limiter stats", operationId = "getConcurrencyLimiterStats", description = "Returns the current adaptive limit, in-flight calls and queue depth in front of the UnionPay 3060 call", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = ConcurrencyLimiterStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getConcurrencyLimiterStats(Context ctx) {
+        ctx.json(ApiResponse.success(AdaptiveConcurrencyLimiter.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/circuit-breaker", methods = {
+            HttpMethod.GET }, summary = "Get upstream circuit breaker state", operationId = "getCircuitBreakerStats", description = "Returns state, failure rate and slow call rate of the UnionPay 3060 circuit breaker", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = CircuitBreakerStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getCircuitBreakerStats(Context ctx) {
+        ctx.json(ApiResponse.success(CircuitBreaker.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/result-cache", methods = {
+            HttpMethod.GET }, summary = "Get result cache stats", operationId = "getResultCacheStats", description = "Returns size and hit rate of the enterprise auth result cache", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = ResultCacheStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getResultCacheStats(Context ctx) {
+        ctx.json(ApiResponse.success(EnterpriseAuthResultCache.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/request-coalescer", methods = {
+            HttpMethod.GET }, summary = "Get request coalescing stats", operationId = "getRequestCoalescerStats", description = "Returns how many concurrent identical enterprise auth requests were merged into one upstream call", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = RequestCoalescerStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getRequestCoalescerStats(Context ctx) {
+        ctx.json(ApiResponse.success(RequestCoalescer.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/token-cache", methods = {
+            HttpMethod.GET }, summary = "Get verified token cache stats", operationId = "getTokenCacheStats", description = "Returns size and hit rate of the verified JWT cache used by the auth middleware", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = TokenCacheStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getTokenCacheStats(Context ctx) {
+        ctx.json(ApiResponse.success(VerifiedTokenCache.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/audit-journal", methods = {
+            HttpMethod.GET }, summary = "Get audit journal stats", operationId = "getAuditJournalStats", description = "Returns the current segment, record count and fsync metrics of the UnionPay 3060 transaction audit journal", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = AuditJournalStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getAuditJournalStats(Context ctx) {
+        ctx.json(ApiResponse.success(AuditJournal.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/logging", methods = {
+            HttpMethod.GET }, summary = "Get async logging stats", operationId = "getLoggingStats", description = "Returns queue depth, batch size and dropped event counts of the async log writer", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = LoggingStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getLoggingStats(Context ctx) {
+        ctx.json(ApiResponse.success(AsyncLogWriter.getInstance().getStats()));
+    }
+
+    @OpenApi(path = "/admin/banks", methods = {
+            HttpMethod.GET }, summary = "Get bank json reload stats", operationId = "getBankStats", description = "Returns entry count, ETag and reload success/failure counts of bank.json", tags = {
+                    "Admin" }, security = @OpenApiSecurity(name = "Admin"), responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = BankStats.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "403", description = "Admin API is disabled", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void getBankStats(Context ctx) {
+        ctx.json(ApiResponse.success(BankService.getInstance().getStats()));
+    }
+
+    /**
+     * Prometheus 抓取接口，文本格式，不需要认证
+     */
+    public static void getMetrics(Context ctx) {
+        ctx.contentType("text/plain; version=0.0.4; charset=utf-8");
+        ctx.result(Metrics.getInstance().scrape());
+    }
+}
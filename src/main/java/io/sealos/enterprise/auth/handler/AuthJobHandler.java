@@ -0,0 +1,100 @@
+package io.sealos.enterprise.auth.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.javalin.http.Context;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.job.AuthJobService;
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.entity.AuthJob;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthJobRequest;
+import io.sealos.enterprise.auth.model.response.ApiResponse;
+import io.sealos.enterprise.auth.model.response.AuthJobResponse;
+import io.sealos.enterprise.auth.model.response.FieldError;
+import io.sealos.enterprise.auth.service.BankService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.javalin.openapi.*;
+
+public class AuthJobHandler {
+    private static final Logger logger = LoggerFactory.getLogger(AuthJobHandler.class);
+
+    private static final Validator validator;
+
+    static {
+        try {
+            ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+            validator = factory.getValidator();
+        } catch (Exception e) {
+            logger.error("Failed to initialize validator", e);
+            throw new RuntimeException("Could not initialize validator", e);
+        }
+    }
+
+    @OpenApi(path = "/enterprise-auth/jobs", methods = {
+            HttpMethod.POST }, summary = "Submit Enterprise Authentication Job", operationId = "submitEnterpriseAuthJob", description = "Queues an enterprise authentication and returns a job id immediately. Poll GET /enterprise-auth/jobs/{id} or pass callbackUrl to receive the result.", tags = {
+                    "Enterprise Authentication" }, security = @OpenApiSecurity(name = "Bearer"), requestBody = @OpenApiRequestBody(content = @OpenApiContent(from = EnterpriseAuthJobRequest.class), required = true, description = "Enterprise authentication credentials and optional callback url"), responses = {
+                            @OpenApiResponse(status = "202", description = "Job accepted", content = @OpenApiContent(from = AuthJobResponse.class)),
+                            @OpenApiResponse(status = "400", description = "Invalid request parameters", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "429", description = "Job queue is full", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void submitJob(Context ctx) {
+        EnterpriseAuthJobRequest request = validateRequest(ctx);
+        UserDTO userDTO = ctx.attribute("user");
+
+        AuthJob job = AuthJobService.getInstance().submit(request, request.getCallbackUrl(), userDTO);
+        logger.info("User: {}, RegionUid: {}, enterprise auth job submitted: {}",
+                userDTO.getUserId(), userDTO.getRegionUid(), job.getId());
+        ctx.status(202);
+        ctx.json(ApiResponse.success(AuthJobResponse.from(job)));
+    }
+
+    @OpenApi(path = "/enterprise-auth/jobs/{id}", methods = {
+            HttpMethod.GET }, summary = "Get Enterprise Authentication Job", operationId = "getEnterpriseAuthJob", description = "Returns the status and, once finished, the result of an enterprise authentication job", tags = {
+                    "Enterprise Authentication" }, security = @OpenApiSecurity(name = "Bearer"), pathParams = {
+                            @OpenApiParam(name = "id", description = "Job id", required = true) }, responses = {
+                                    @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = AuthJobResponse.class)),
+                                    @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
+                                    @OpenApiResponse(status = "404", description = "Job not found", content = @OpenApiContent(from = ApiResponse.class))
+                            })
+    public static void getJob(Context ctx) {
+        UserDTO userDTO = ctx.attribute("user");
+        AuthJob job = AuthJobService.getInstance().get(ctx.pathParam("id"), userDTO);
+        ctx.json(ApiResponse.success(AuthJobResponse.from(job)));
+    }
+
+    private static EnterpriseAuthJobRequest validateRequest(Context ctx) {
+        EnterpriseAuthJobRequest request;
+        try {
+            request = ctx.bodyAsClass(EnterpriseAuthJobRequest.class);
+            if (request == null) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Request body cannot be null", 400);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to parse request body: {}", e.getMessage());
+            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + e.getMessage(),
+                    400);
+        }
+
+        // 执行验证，统一社会信用代码校验位、账号格式等在本地拒绝，detail 中返回字段级错误
+        Set<ConstraintViolation<EnterpriseAuthJobRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String errorMessages = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; "));
+            logger.error("Failed to parse request body: {}", errorMessages);
+            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + errorMessages,
+                    400, FieldError.from(violations));
+        }
+        BankService.getInstance().normalizeAccountBank(request);
+        return request;
+    }
+}
@@ -1,24 +1,158 @@
 package io.sealos.enterprise.auth.handler;
 
+import io.javalin.http.ContentType;
 import io.javalin.http.Context;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
 import io.sealos.enterprise.auth.model.response.ApiResponse;
+import io.sealos.enterprise.auth.model.response.BankSearchItem;
 import io.sealos.enterprise.auth.service.BankService;
 import io.javalin.openapi.*;
 
 import java.util.Map;
 
 public class BankHandler {
-    private static final BankService bankService = new BankService();
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
 
     @OpenApi(path = "/banks", methods = {
-            HttpMethod.GET }, summary = "Get bank map", operationId = "getBanks", description = "Returns bank name mapping loaded from configured JSON file", tags = {
-                    "Bank" }, security = @OpenApiSecurity(name = "Bearer"), responses = {
+            HttpMethod.GET }, summary = "Get bank map", operationId = "getBanks", description = "Returns bank name mapping loaded from configured JSON file. Supports ETag / If-None-Match", tags = {
+                    "Bank" }, security = @OpenApiSecurity(name = "Bearer"), headers = {
+                            @OpenApiParam(name = "If-None-Match", description = "ETag of a previous response")
+                    }, responses = {
                             @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = Map.class)),
+                            @OpenApiResponse(status = "304", description = "Not modified"),
                             @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
                             @OpenApiResponse(status = "500", description = "Internal server error", content = @OpenApiContent(from = ApiResponse.class))
                     })
     public static void getBanks(Context ctx) {
-        Map<String, String> bankMap = bankService.getBankMap();
-        ctx.json(ApiResponse.success(bankMap));
+        // 直接输出加载时序列化好的响应体，不再每次请求序列化整张表
+        BankService.Snapshot snapshot = BankService.getInstance().getSnapshot();
+        boolean gzip = acceptsGzip(ctx.header(Header.ACCEPT_ENCODING));
+        String etag = gzip ? snapshot.getGzipEtag() : snapshot.getEtag();
+        ctx.header(Header.ETAG, etag);
+        ctx.header(Header.CACHE_CONTROL, "no-cache");
+        ctx.header(Header.VARY, Header.ACCEPT_ENCODING);
+
+        if (matchesEtag(ctx.header(Header.IF_NONE_MATCH), etag)) {
+            ctx.status(HttpStatus.NOT_MODIFIED);
+            return;
+        }
+
+        ctx.contentType(ContentType.APPLICATION_JSON);
+        if (gzip) {
+            // 已设置 Content-Encoding 时 Javalin 不会再压缩一次
+            ctx.header(Header.CONTENT_ENCODING, "gzip");
+            ctx.result(snapshot.getGzip());
+        } else {
+            // Javalin 自带的压缩不看 q 值，gzip;q=0 时也会压缩，这里关闭，保证内容与 ETag 一致
+            ctx.minSizeForCompression(Integer.MAX_VALUE);
+            ctx.result(snapshot.getJson());
+        }
+    }
+
+    @OpenApi(path = "/banks/search", methods = {
+            HttpMethod.GET }, summary = "Search banks", operationId = "searchBanks", description = "Returns the top matches by short name, full name or pinyin initials, for accountBank autocomplete", tags = {
+                    "Bank" }, security = @OpenApiSecurity(name = "Bearer"), queryParams = {
+                            @OpenApiParam(name = "q", description = "Keyword, e.g. 建设 or jsyh", required = true),
+                            @OpenApiParam(name = "limit", type = Integer.class, description = "Max results, default " + DEFAULT_SEARCH_LIMIT + ", at most " + MAX_SEARCH_LIMIT)
+                    }, responses = {
+                            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = BankSearchItem[].class)),
+                            @OpenApiResponse(status = "400", description = "Invalid query", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void searchBanks(Context ctx) {
+        String query = ctx.queryParam("q");
+        if (query == null || query.trim().isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "q cannot be empty", 400);
+        }
+        int limit = DEFAULT_SEARCH_LIMIT;
+        String limitParam = ctx.queryParam("limit");
+        if (limitParam != null && !limitParam.isEmpty()) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                limit = 0;
+            }
+            if (limit <= 0) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "limit must be a positive integer", 400);
+            }
+        }
+        ctx.json(ApiResponse.success(BankService.getInstance().search(query, Math.min(limit, MAX_SEARCH_LIMIT))));
+    }
+
+    /**
+     * 按 Accept-Encoding 中的 q 值判断：gzip（或 x-gzip）的 q 大于 0 时接受，gzip;q=0 表示拒绝；
+     * 没有列出 gzip 时看 * 的 q 值
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            int semicolon = entry.indexOf(';');
+            String coding = (semicolon < 0 ? entry : entry.substring(0, semicolon)).trim();
+            double quality = semicolon < 0 ? 1 : quality(entry.substring(semicolon + 1));
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    // 取参数中的 q 值，没有时为 1，无法解析时按 0 处理
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.length() > 1 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q')
+                    && trimmed.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(trimmed.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * If-None-Match 可以是 *，也可以是逗号分隔的多个 ETag，按弱比较忽略 W/ 前缀
+     */
+    public static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int length = ifNoneMatch.length();
+        int start = 0;
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int from = start;
+            int to = end;
+            while (from < to && ifNoneMatch.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && ifNoneMatch.charAt(to - 1) == ' ') {
+                to--;
+            }
+            if (ifNoneMatch.startsWith("W/", from)) {
+                from += 2;
+            }
+            if ((to - from == 1 && ifNoneMatch.charAt(from) == '*')
+                    || (to - from == etag.length() && ifNoneMatch.regionMatches(from, etag, 0, etag.length()))) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
     }
 }
@@ -4,18 +4,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.javalin.http.Context;
+import io.sealos.enterprise.auth.config.EnvConfig;
 import io.sealos.enterprise.auth.exception.BusinessException;
 import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.metrics.Metrics;
 import io.sealos.enterprise.auth.model.dto.UserDTO;
 import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
 import io.sealos.enterprise.auth.model.response.ApiResponse;
+import io.sealos.enterprise.auth.model.response.BatchEnterpriseAuthItem;
 import io.sealos.enterprise.auth.model.response.EnterpriseAuthResponse;
+import io.sealos.enterprise.auth.model.response.FieldError;
 import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import io.sealos.enterprise.auth.service.BankService;
+import io.sealos.enterprise.auth.service.BatchExecutor;
+import io.sealos.enterprise.auth.service.Deadline;
 import io.sealos.enterprise.auth.service.EnterpriseAuthService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -28,6 +40,12 @@ import io.javalin.openapi.*;
 public class EnterpriseAuthHandler {
     private static final Logger logger = LoggerFactory.getLogger(EnterpriseAuthHandler.class);
     private static final EnterpriseAuthService service = new EnterpriseAuthService();
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    // 与 AppConfig 的 useVirtualThreads 一致
+    private static final boolean VIRTUAL_THREADS = EnvConfig.isVirtualThreadsEnabled();
+    private static final Metrics.Timer VALIDATION_TIMER = Metrics.getInstance().stage("validation");
+    private static final Metrics.Timer RESPONSE_MAPPING_TIMER = Metrics.getInstance().stage("response_mapping");
 
     // 使用静态初始化块来创建验证器，这样可以更好地处理可能的异常
     private static final Validator validator;
@@ -44,30 +62,47 @@ public class EnterpriseAuthHandler {
 
     @OpenApi(path = "/enterprise-auth", methods = {
             HttpMethod.POST }, summary = "Authenticate Enterprise", operationId = "authenticateEnterprise", description = "Authenticates an enterprise using provided credentials", tags = {
-                    "Enterprise Authentication" }, security = @OpenApiSecurity(name = "Bearer"), requestBody = @OpenApiRequestBody(content = @OpenApiContent(from = EnterpriseAuthRequest.class), required = true, description = "Enterprise authentication credentials"), responses = {
+                    "Enterprise Authentication" }, security = @OpenApiSecurity(name = "Bearer"), headers = {
+                            @OpenApiParam(name = "X-Request-Timeout-Ms", type = Long.class, description = "Optional request deadline in milliseconds, capped by the server's REQUEST_TIMEOUT_MS") }, requestBody = @OpenApiRequestBody(content = @OpenApiContent(from = EnterpriseAuthRequest.class), required = true, description = "Enterprise authentication credentials"), responses = {
                             @OpenApiResponse(status = "200", description = "Authentication successful", content = @OpenApiContent(from = EnterpriseAuthResponse.class)),
                             @OpenApiResponse(status = "400", description = "Invalid request parameters", content = @OpenApiContent(from = ApiResponse.class)),
                             @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class)),
-                            @OpenApiResponse(status = "500", description = "Internal server error", content = @OpenApiContent(from = ApiResponse.class))
+                            @OpenApiResponse(status = "500", description = "Internal server error", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "504", description = "Request deadline exceeded", content = @OpenApiContent(from = ApiResponse.class))
                     })
     public static void handleEnterpriseAuth(Context ctx) {
+        // 截止时间从请求进入时开始计算
+        Deadline deadline = requestDeadline(ctx);
+        if (VIRTUAL_THREADS) {
+            // 已在虚拟线程上，阻塞等待上游不占用平台线程
+            EnterpriseAuthRequest request = validateRequest(ctx);
+            UserDTO userDTO = ctx.attribute("user");
+            handleResponse(ctx, service.processEnterpriseAuthBlocking(request, userDTO, deadline), request,
+                    userDTO);
+            return;
+        }
         ctx.future(() -> {
             try {
                 // 验证请求体
                 EnterpriseAuthRequest request = validateRequest(ctx);
                 UserDTO userDTO = ctx.attribute("user");
 
-                return service.processEnterpriseAuth(request, userDTO).orTimeout(5, TimeUnit.MINUTES)
+                // 各阶段已按截止时间放弃，这里兜住合并请求等待领头请求等其余情况
+                return service.processEnterpriseAuth(request, userDTO, deadline)
+                        .orTimeout(deadline.backstopMillis(), TimeUnit.MILLISECONDS)
                         .thenAccept(response -> handleResponse(ctx, response, request, userDTO))
                         .exceptionally(throwable -> {
-                            if (throwable instanceof TimeoutException) {
-                                // 处理超时异常
-                                throw new RuntimeException("Request timeout after 5 minutes");
-                            }
                             // 如果是 CompletionException，则获取原始异常
                             Throwable cause = throwable instanceof CompletionException
                                     ? throwable.getCause()
                                     : throwable;
+                            if (cause instanceof TimeoutException) {
+                                throw deadline.exceeded("coalesced_wait");
+                            }
+                            // 业务异常保留错误码，交给统一异常处理
+                            if (cause instanceof BusinessException) {
+                                throw (BusinessException) cause;
+                            }
                             // 包装成 RuntimeException
                             throw new RuntimeException(cause);
                         });
@@ -77,27 +112,177 @@ public class EnterpriseAuthHandler {
         });
     }
 
+    @OpenApi(path = "/enterprise-auth/batch", methods = {
+            HttpMethod.POST }, summary = "Batch Authenticate Enterprises", operationId = "batchAuthenticateEnterprise", description = "Accepts a JSON array or NDJSON (Content-Type: application/x-ndjson) of enterprise auth requests, validates all of them up front, then streams one NDJSON result line per item as it completes. Results are not ordered, use index to match requests.", tags = {
+                    "Enterprise Authentication" }, security = @OpenApiSecurity(name = "Bearer"), requestBody = @OpenApiRequestBody(content = @OpenApiContent(from = EnterpriseAuthRequest[].class), required = true, description = "Enterprise authentication credentials"), responses = {
+                            @OpenApiResponse(status = "200", description = "NDJSON stream of per-item results", content = @OpenApiContent(from = BatchEnterpriseAuthItem.class, type = "application/x-ndjson")),
+                            @OpenApiResponse(status = "400", description = "Invalid request parameters", content = @OpenApiContent(from = ApiResponse.class)),
+                            @OpenApiResponse(status = "401", description = "Unauthorized", content = @OpenApiContent(from = ApiResponse.class))
+                    })
+    public static void handleBatchEnterpriseAuth(Context ctx) {
+        // 先完整校验，任一条不合法直接返回 400，不发起任何上游调用
+        List<EnterpriseAuthRequest> requests = validateBatchRequest(ctx);
+        UserDTO userDTO = ctx.attribute("user");
+        logger.info("User: {}, RegionUid: {}, batch enterprise auth started, size: {}",
+                userDTO.getUserId(), userDTO.getRegionUid(), requests.size());
+
+        ctx.status(200);
+        ctx.contentType(NDJSON);
+        HttpServletResponse servletResponse = ctx.res();
+
+        ctx.future(() -> BatchExecutor.getInstance().execute(requests,
+                request -> service.processEnterpriseAuth(request, userDTO),
+                (index, response, throwable) -> {
+                    BatchEnterpriseAuthItem item = createBatchItem(index, requests.get(index), response, throwable,
+                            userDTO);
+                    byte[] line = (ctx.jsonMapper().toJsonString(item, BatchEnterpriseAuthItem.class) + "\n")
+                            .getBytes(StandardCharsets.UTF_8);
+                    // 多个上游回调线程并发写出，逐行加锁并立即 flush
+                    synchronized (servletResponse) {
+                        servletResponse.getOutputStream().write(line);
+                        servletResponse.flushBuffer();
+                    }
+                })
+                .exceptionally(throwable -> {
+                    // 已经开始输出，无法再返回错误响应，通常是客户端断开
+                    logger.warn("User: {}, batch enterprise auth aborted: {}", userDTO.getUserId(),
+                            throwable.getMessage());
+                    return null;
+                }));
+    }
+
+    private static List<EnterpriseAuthRequest> validateBatchRequest(Context ctx) {
+        List<EnterpriseAuthRequest> requests = new ArrayList<>();
+        try {
+            String contentType = ctx.contentType();
+            if (contentType != null && contentType.startsWith(NDJSON)) {
+                for (String line : ctx.body().split("\n")) {
+                    if (!line.isBlank()) {
+                        requests.add(ctx.jsonMapper().fromJsonString(line, EnterpriseAuthRequest.class));
+                    }
+                }
+            } else {
+                EnterpriseAuthRequest[] array = ctx.bodyAsClass(EnterpriseAuthRequest[].class);
+                if (array != null) {
+                    requests.addAll(Arrays.asList(array));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to parse batch request body: {}", e.getMessage());
+            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + e.getMessage(),
+                    400);
+        }
+
+        if (requests.isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Batch request cannot be empty", 400);
+        }
+        if (requests.size() > EnvConfig.getBatchMaxSize()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "Batch size " + requests.size() + " exceeds limit " + EnvConfig.getBatchMaxSize(), 400);
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EnterpriseAuthRequest request = requests.get(i);
+            if (request == null) {
+                errors.add("[" + i + "] Request cannot be null");
+                continue;
+            }
+            Set<ConstraintViolation<EnterpriseAuthRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                errors.add("[" + i + "] " + violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            try {
+                BankService.getInstance().normalizeAccountBank(request);
+            } catch (BusinessException e) {
+                errors.add("[" + i + "] " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            String message = errors.stream().limit(20).collect(Collectors.joining(", "));
+            if (errors.size() > 20) {
+                message += ", ... " + (errors.size() - 20) + " more";
+            }
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid batch items: " + message, 400);
+        }
+        return requests;
+    }
+
+    private static BatchEnterpriseAuthItem createBatchItem(int index, EnterpriseAuthRequest request,
+            Unionpay3060ApiEnterpriseAuthResponse response, Throwable throwable, UserDTO userDTO) {
+        if (throwable == null && response != null) {
+            logResponse(userDTO, response);
+            return new BatchEnterpriseAuthItem(index, true, EnterpriseAuthResponse.from(response, request), null,
+                    null);
+        }
+
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (cause instanceof BusinessException) {
+            BusinessException e = (BusinessException) cause;
+            return new BatchEnterpriseAuthItem(index, false, null, e.getErrorCode(), e.getMessage());
+        }
+        logger.error("User: {}, batch item {} failed", userDTO.getUserId(), index, cause);
+        return new BatchEnterpriseAuthItem(index, false, null, ErrorCode.SYSTEM_ERROR.getCode(),
+                EnvConfig.isDevelopment() && cause != null ? cause.getMessage() : "Internal error");
+    }
+
+    /**
+     * 客户端可通过 X-Request-Timeout-Ms 缩短截止时间，不超过服务端的 REQUEST_TIMEOUT_MS
+     */
+    private static Deadline requestDeadline(Context ctx) {
+        long maxMillis = EnvConfig.getRequestTimeoutMillis();
+        String header = ctx.header(REQUEST_TIMEOUT_HEADER);
+        if (header == null || header.trim().isEmpty()) {
+            return Deadline.after(maxMillis);
+        }
+        long timeoutMillis;
+        try {
+            timeoutMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            timeoutMillis = 0;
+        }
+        if (timeoutMillis <= 0) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds", 400);
+        }
+        return Deadline.after(Math.min(timeoutMillis, maxMillis));
+    }
+
     private static EnterpriseAuthRequest validateRequest(Context ctx) {
+        long start = System.nanoTime();
         EnterpriseAuthRequest request;
         try {
-            request = ctx.bodyAsClass(EnterpriseAuthRequest.class);
-            if (request == null) {
-                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Request body cannot be null", 400);
+            try {
+                request = ctx.bodyAsClass(EnterpriseAuthRequest.class);
+                if (request == null) {
+                    throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Request body cannot be null", 400);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to parse request body: {}", e.getMessage());
+                throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + e.getMessage(),
+                        400);
             }
 
-            // 执行验证
+            // 执行验证，统一社会信用代码校验位、账号格式等在本地拒绝，detail 中返回字段级错误
             Set<ConstraintViolation<EnterpriseAuthRequest>> violations = validator.validate(request);
             if (!violations.isEmpty()) {
                 String errorMessages = violations.stream()
                         .map(ConstraintViolation::getMessage)
                         .collect(Collectors.joining("; "));
-                throw new IllegalArgumentException(errorMessages);
+                logger.error("Failed to parse request body: {}", errorMessages);
+                throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + errorMessages,
+                        400, FieldError.from(violations));
             }
-        } catch (Exception e) {
-            logger.error("Failed to parse request body: {}", e.getMessage());
-            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "Invalid request body format: " + e.getMessage(),
-                    400);
+        } finally {
+            VALIDATION_TIMER.recordSince(start);
         }
+        // 开户行无法识别时直接拒绝，不再调用上游
+        BankService.getInstance().normalizeAccountBank(request);
         return request;
     }
 
@@ -107,58 +292,23 @@ public class EnterpriseAuthHandler {
             throw new BusinessException(ErrorCode.BUSINESS_ERROR, "3060 api response is null", 500);
         }
 
-        EnterpriseAuthResponse enterpriseAuthResponse = createEnterpriseAuthResponse(response, request);
+        long start = System.nanoTime();
+        EnterpriseAuthResponse enterpriseAuthResponse = EnterpriseAuthResponse.from(response, request);
         logResponse(userDTO, response);
         ctx.json(ApiResponse.success(enterpriseAuthResponse));
+        RESPONSE_MAPPING_TIMER.recordSince(start);
     }
 
-    // 辅助方法，创建响应对象
-    private static EnterpriseAuthResponse createEnterpriseAuthResponse(
-            Unionpay3060ApiEnterpriseAuthResponse response,
-            EnterpriseAuthRequest request) {
-        EnterpriseAuthResponse enterpriseAuthResponse = new EnterpriseAuthResponse();
-        boolean isSuccess = "00000000".equals(response.getRespCode());
-
-        enterpriseAuthResponse.setRespCode(response.getRespCode());
-        enterpriseAuthResponse.setRespMsg(response.getRespMsg());
-        enterpriseAuthResponse.setIsTransactionSuccess(isSuccess);
-        enterpriseAuthResponse.setOrderId(response.getOrderId());
-        enterpriseAuthResponse.setIsCharged("0000".equals(response.getOrderStatus()));
-        enterpriseAuthResponse.setTransAmt(response.getTransAmt());
-
-        if (isSuccess) {
-            enterpriseAuthResponse.setKey(response.getKey());
-            enterpriseAuthResponse.setAccountBank(response.getAccountBank());
-            enterpriseAuthResponse.setAccountProv(response.getAccountProv());
-            enterpriseAuthResponse.setAccountCity(response.getAccountCity());
-            enterpriseAuthResponse.setSubBank(response.getSubBank());
-            enterpriseAuthResponse.setEnterpriseName(response.getSensData().getKeyName());
-            enterpriseAuthResponse.setLegalPersonName(response.getSensData().getUsrName());
-            enterpriseAuthResponse.setAccountNo(response.getSensData().getAccountNo());
-        } else {
-            enterpriseAuthResponse.setKey(request.getKey());
-            enterpriseAuthResponse.setAccountBank(request.getAccountBank());
-            enterpriseAuthResponse.setAccountProv(request.getAccountProv());
-            enterpriseAuthResponse.setAccountCity(request.getAccountCity());
-            enterpriseAuthResponse.setSubBank(request.getSubBank());
-            enterpriseAuthResponse.setEnterpriseName(request.getKeyName());
-            enterpriseAuthResponse.setLegalPersonName(request.getUsrName());
-            enterpriseAuthResponse.setAccountNo(request.getAccountNo());
-        }
-
-        return enterpriseAuthResponse;
-    }
-
+    // 参数化日志，INFO 关闭时不做格式化；计费记录以审计日志为准
     private static void logResponse(UserDTO userDTO, Unionpay3060ApiEnterpriseAuthResponse response) {
-        String logMessage = String.format(
-                "User: %s, RegionUid: %s, orderId: %s\nAuth %s, respMsg: %s, respCode: %s, isCharged: %s",
+        logger.info("User: {}, RegionUid: {}, orderId: {}\nAuth {}, respMsg: {}, respCode: {}, isCharged: {}{}",
                 userDTO.getUserId(),
                 userDTO.getRegionUid(),
                 response.getOrderId(),
                 "00000000".equals(response.getRespCode()) ? "Success" : "Failed",
                 response.getRespMsg(),
                 response.getRespCode(),
-                "0000".equals(response.getOrderStatus()) ? "charged" : "not charged");
-        logger.info(logMessage);
+                !response.isFromCache() && "0000".equals(response.getOrderStatus()) ? "charged" : "not charged",
+                response.isFromCache() ? ", cached" : "");
     }
 }
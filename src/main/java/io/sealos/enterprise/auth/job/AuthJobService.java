@@ -0,0 +1,233 @@
+package io.sealos.enterprise.auth.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.entity.AuthJob;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.AuthJobResponse;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import io.sealos.enterprise.auth.service.Deadline;
+import io.sealos.enterprise.auth.service.EnterpriseAuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 异步认证任务
+ *
+ * 提交后立即返回任务 id，由固定大小的 worker 线程池调用 3060，排队已满时拒绝提交。
+ * 重启后 PENDING 任务重新排队；RUNNING 任务可能已经调用上游并计费，不自动重试，标记为失败由用户决定是否重新提交。
+ * 任务状态按快照发布：每次状态变化复制当前快照、修改副本后保存，已保存的快照不再修改，查询时返回副本。
+ */
+public class AuthJobService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthJobService.class);
+
+    private final AuthJobStore store;
+    private final JobCallbackSender callbackSender;
+    private final Authenticator authenticator;
+    private final long requestTimeoutMillis;
+    private final ThreadPoolExecutor workers;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @FunctionalInterface
+    public interface Authenticator {
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> authenticate(EnterpriseAuthRequest request,
+                UserDTO userDTO, Deadline deadline);
+    }
+
+    private static class Holder {
+        private static final AuthJobService INSTANCE = create();
+
+        private static AuthJobService create() {
+            try {
+                EnterpriseAuthService service = new EnterpriseAuthService();
+                return new AuthJobService(
+                        new AuthJobStore(Paths.get(EnvConfig.getJobStorePath()),
+                                TimeUnit.HOURS.toMillis(EnvConfig.getJobRetentionHours())),
+                        new JobCallbackSender(EnvConfig.getJobCallbackSecret(),
+                                EnvConfig.getJobCallbackAllowedHosts(), EnvConfig.isDevelopment()),
+                        service::processEnterpriseAuth,
+                        EnvConfig.getRequestTimeoutMillis(),
+                        EnvConfig.getJobWorkerThreads(),
+                        EnvConfig.getJobQueueSize());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to open job store: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    public static AuthJobService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public AuthJobService(AuthJobStore store, JobCallbackSender callbackSender, Authenticator authenticator,
+            long requestTimeoutMillis, int workerThreads, int queueSize) {
+        this.store = store;
+        this.callbackSender = callbackSender;
+        this.authenticator = authenticator;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        int threads = Math.max(1, workerThreads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-job-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 启动时恢复上次未完成的任务
+     */
+    public void recover() {
+        int requeued = 0;
+        int interrupted = 0;
+        for (AuthJob job : store.getAll()) {
+            if (job.getStatus() == AuthJob.Status.PENDING) {
+                try {
+                    workers.execute(() -> run(job));
+                    requeued++;
+                } catch (RejectedExecutionException e) {
+                    fail(job, ErrorCode.JOB_QUEUE_FULL.getCode(), "Job queue is full after restart");
+                }
+            } else if (job.getStatus() == AuthJob.Status.RUNNING) {
+                fail(job, ErrorCode.SYSTEM_ERROR.getCode(),
+                        "Job was interrupted by a restart, the upstream result is unknown");
+                interrupted++;
+            }
+        }
+        logger.info("Recovered jobs, requeued: {}, interrupted: {}", requeued, interrupted);
+    }
+
+    public AuthJob submit(EnterpriseAuthRequest request, String callbackUrl, UserDTO userDTO) {
+        if (callbackUrl != null && !callbackUrl.isBlank()) {
+            callbackSender.validate(callbackUrl);
+        } else {
+            callbackUrl = null;
+        }
+
+        AuthJob job = new AuthJob();
+        job.setId(UUID.randomUUID().toString().replace("-", ""));
+        job.setUserId(userDTO.getUserId());
+        job.setNamespace(userDTO.getNamespace());
+        job.setRegionUid(userDTO.getRegionUid());
+        job.setStatus(AuthJob.Status.PENDING);
+        job.setRequest(request);
+        job.setCallbackUrl(callbackUrl);
+        job.setCreatedAt(System.currentTimeMillis());
+        store.save(job);
+
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            fail(job, ErrorCode.JOB_QUEUE_FULL.getCode(), "Job queue is full");
+            throw new BusinessException(ErrorCode.JOB_QUEUE_FULL, "Job queue is full, please retry later", 429);
+        }
+        return job;
+    }
+
+    /**
+     * 查询任务，只能查询自己提交的任务
+     */
+    public AuthJob get(String jobId, UserDTO userDTO) {
+        AuthJob job = store.get(jobId);
+        if (job == null || !job.getUserId().equals(userDTO.getUserId())) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Job not found: " + jobId, 404);
+        }
+        return job.copy();
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    private void run(AuthJob pending) {
+        AuthJob job = update(pending, running -> running.setStatus(AuthJob.Status.RUNNING));
+
+        UserDTO userDTO = new UserDTO(job.getUserId(), job.getNamespace(), job.getRegionUid());
+        // 与同步请求一样使用 REQUEST_TIMEOUT_MS 作为截止时间，从开始执行时计算，排队时间不计入
+        Deadline deadline = Deadline.after(requestTimeoutMillis);
+        AuthJob finished;
+        try {
+            Unionpay3060ApiEnterpriseAuthResponse response = authenticator.authenticate(job.getRequest(), userDTO,
+                    deadline).get(deadline.backstopMillis(), TimeUnit.MILLISECONDS);
+            finished = update(job, succeeded -> {
+                succeeded.setResult(response);
+                succeeded.setStatus(AuthJob.Status.SUCCEEDED);
+            });
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BusinessException) {
+                finished = fail(job, ((BusinessException) cause).getErrorCode(), cause.getMessage());
+            } else {
+                logger.error("Job {} failed", job.getId(), cause);
+                finished = fail(job, ErrorCode.SYSTEM_ERROR.getCode(), "Internal error");
+            }
+        } catch (TimeoutException e) {
+            // 各阶段已按截止时间放弃，这里兜住合并请求等待领头请求等其余情况
+            BusinessException exceeded = deadline.exceeded("coalesced_wait");
+            finished = fail(job, exceeded.getErrorCode(), exceeded.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = fail(job, ErrorCode.SYSTEM_ERROR.getCode(), "Job was interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed", job.getId(), e);
+            finished = fail(job, ErrorCode.SYSTEM_ERROR.getCode(), "Internal error");
+        }
+        sendCallback(finished);
+    }
+
+    private AuthJob fail(AuthJob job, String errorCode, String errorMessage) {
+        return update(job, failed -> {
+            failed.setStatus(AuthJob.Status.FAILED);
+            failed.setErrorCode(errorCode);
+            failed.setErrorMessage(errorMessage);
+        });
+    }
+
+    /**
+     * 复制 job 快照、修改副本后保存并返回副本；同一任务的状态变化依次发生，不会并发修改
+     */
+    private AuthJob update(AuthJob job, Consumer<AuthJob> change) {
+        AuthJob next = job.copy();
+        change.accept(next);
+        store.save(next);
+        return next;
+    }
+
+    private void sendCallback(AuthJob job) {
+        if (job.getCallbackUrl() == null) {
+            return;
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(AuthJobResponse.from(job));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize callback for job {}: {}", job.getId(), e.getMessage());
+            return;
+        }
+        AuthJob pending = update(job, sending -> sending.setCallbackStatus(AuthJob.CallbackStatus.PENDING));
+        callbackSender.send(pending.getId(), pending.getCallbackUrl(), body).thenAccept(delivered -> {
+            AuthJob.CallbackStatus status = delivered ? AuthJob.CallbackStatus.DELIVERED
+                    : AuthJob.CallbackStatus.FAILED;
+            update(pending, sent -> sent.setCallbackStatus(status));
+        });
+    }
+}
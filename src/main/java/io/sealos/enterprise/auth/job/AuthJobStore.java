@@ -0,0 +1,151 @@
+package io.sealos.enterprise.auth.job;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.model.entity.AuthJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地任务存储
+ *
+ * 内存中保存任务最新状态，每次 save 追加一行 JSON 快照到文件，启动时按行重放（同 id 取最后一条）。
+ * 追加记录远多于存活任务时重写文件，同时清理超过保留时间的已结束任务。
+ * 文件包含企业账户信息，创建时限制为仅属主可读写。
+ */
+public class AuthJobStore {
+    private static final Logger logger = LoggerFactory.getLogger(AuthJobStore.class);
+    private static final int MIN_COMPACT_RECORDS = 1000;
+
+    private final Path path;
+    private final long retentionMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, AuthJob> jobs = new ConcurrentHashMap<>();
+
+    // 以下状态由 this 保护
+    private BufferedWriter writer;
+    private int records;
+
+    public AuthJobStore(Path path, long retentionMillis) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.retentionMillis = retentionMillis;
+        if (this.path.getParent() != null) {
+            Files.createDirectories(this.path.getParent());
+        }
+        load();
+        compact();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    AuthJob job = objectMapper.readValue(line, AuthJob.class);
+                    jobs.put(job.getId(), job);
+                } catch (IOException e) {
+                    // 进程崩溃时最后一行可能只写了一半
+                    skipped++;
+                }
+            }
+        }
+        logger.info("Loaded {} jobs from {}, skipped {} broken records", jobs.size(), path, skipped);
+    }
+
+    public synchronized void save(AuthJob job) {
+        job.setUpdatedAt(System.currentTimeMillis());
+        jobs.put(job.getId(), job);
+        try {
+            writer.write(objectMapper.writeValueAsString(job));
+            writer.newLine();
+            writer.flush();
+            records++;
+            if (records > Math.max(MIN_COMPACT_RECORDS, jobs.size() * 4)) {
+                compact();
+            }
+        } catch (IOException e) {
+            // 内存中状态仍然有效，只是重启后会丢失这次变化
+            logger.error("Failed to persist job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    public AuthJob get(String id) {
+        AuthJob job = jobs.get(id);
+        return job != null && !isExpired(job, System.currentTimeMillis()) ? job : null;
+    }
+
+    public Collection<AuthJob> getAll() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private boolean isExpired(AuthJob job, long now) {
+        return job.getStatus().isTerminal() && job.getUpdatedAt() + retentionMillis < now;
+    }
+
+    /**
+     * 只写入存活任务到临时文件，再原子替换原文件
+     */
+    public synchronized void compact() throws IOException {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> isExpired(job, now));
+
+        List<AuthJob> snapshot = new ArrayList<>(jobs.values());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter tempWriter = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            restrictPermissions(temp);
+            for (AuthJob job : snapshot) {
+                tempWriter.write(objectMapper.writeValueAsString(job));
+                tempWriter.newLine();
+            }
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        records = snapshot.size();
+    }
+
+    private static void restrictPermissions(Path file) {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            // 非 POSIX 文件系统忽略
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
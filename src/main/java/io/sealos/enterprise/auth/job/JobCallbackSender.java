@@ -0,0 +1,209 @@
+package io.sealos.enterprise.auth.job;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务完成回调
+ *
+ * 以 JSON POST 任务结果，X-Signature 为 HMAC-SHA256(secret, timestamp + "." + body) 的十六进制，
+ * 接收方需校验签名和 X-Timestamp 防止重放。非 2xx 或网络错误按指数退避重试。
+ *
+ * 回调地址由租户提供，为防止借回调访问内网（SSRF）：非 dev 环境只允许 https；
+ * 不在 JOB_CALLBACK_ALLOWED_HOSTS 中的域名必须只解析到公网地址，提交时和每次发送前都会重新解析检查。
+ */
+public class JobCallbackSender {
+    private static final Logger logger = LoggerFactory.getLogger(JobCallbackSender.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    private final byte[] secret;
+    private final Set<String> allowedHosts;
+    private final boolean allowHttp;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    public JobCallbackSender(String secret, Set<String> allowedHosts) {
+        this(secret, allowedHosts, false);
+    }
+
+    public JobCallbackSender(String secret, Set<String> allowedHosts, boolean allowHttp) {
+        this.secret = secret != null && !secret.isEmpty() ? secret.getBytes(StandardCharsets.UTF_8) : null;
+        this.allowedHosts = Set.copyOf(allowedHosts);
+        this.allowHttp = allowHttp;
+    }
+
+    public boolean isEnabled() {
+        return secret != null;
+    }
+
+    /**
+     * 提交任务时校验回调地址，未配置签名密钥时不允许回调
+     */
+    public void validate(String callbackUrl) {
+        if (!isEnabled()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Job callback is not enabled", 400);
+        }
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid callbackUrl: " + e.getMessage(), 400);
+        }
+        boolean secure = "https".equals(uri.getScheme());
+        if (!secure && !(allowHttp && "http".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    allowHttp ? "callbackUrl must be an http(s) url" : "callbackUrl must be an https url", 400);
+        }
+        String host = uri.getHost().toLowerCase();
+        if (!allowedHosts.isEmpty() && !allowedHosts.contains(host)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "callbackUrl host is not allowed: " + uri.getHost(), 400);
+        }
+        String reason = checkAddress(uri);
+        if (reason != null) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "callbackUrl is not allowed: " + reason, 400);
+        }
+    }
+
+    /**
+     * 白名单中的域名不检查；其余域名解析出的所有地址都必须是公网地址，返回不允许的原因，允许时返回 null
+     */
+    private String checkAddress(URI uri) {
+        String host = uri.getHost().toLowerCase();
+        if (allowedHosts.contains(host)) {
+            return null;
+        }
+        InetAddress[] addresses;
+        try {
+            // IPv6 字面量带方括号
+            addresses = InetAddress.getAllByName(host.startsWith("[") ? host.substring(1, host.length() - 1) : host);
+        } catch (UnknownHostException e) {
+            return "cannot resolve " + uri.getHost();
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublicAddress(address)) {
+                return uri.getHost() + " resolves to non-public address " + address.getHostAddress();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 排除回环、链路本地（含 169.254.169.254 元数据服务）、RFC 1918 私有地址、运营商 NAT、
+     * 组播、保留地址和 IPv6 唯一本地地址；NAT64 和 IPv4 兼容地址按内嵌的 IPv4 判断
+     */
+    public static boolean isPublicAddress(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            return first != 0 // 0.0.0.0/8
+                    && !(first == 100 && (second & 0xc0) == 64) // 100.64.0.0/10
+                    && !(first == 192 && second == 0 && (bytes[2] & 0xff) == 0) // 192.0.0.0/24
+                    && !(first == 198 && (second & 0xfe) == 18) // 198.18.0.0/15
+                    && first < 240; // 240.0.0.0/4 及广播地址
+        }
+        if ((bytes[0] & 0xfe) == 0xfc) { // fc00::/7
+            return false;
+        }
+        boolean nat64 = bytes[0] == 0 && bytes[1] == 0x64 && bytes[2] == (byte) 0xff && bytes[3] == (byte) 0x9b;
+        boolean compatible = bytes[0] == 0 && bytes[1] == 0 && bytes[2] == 0 && bytes[3] == 0;
+        if (nat64 || compatible) {
+            for (int i = 4; i < 12; i++) {
+                if (bytes[i] != 0) {
+                    return true;
+                }
+            }
+            try {
+                return isPublicAddress(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+            } catch (UnknownHostException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 发送回调，返回的 future 在成功或重试耗尽后完成，结果表示是否送达
+     */
+    public CompletableFuture<Boolean> send(String jobId, String callbackUrl, String body) {
+        return attempt(jobId, callbackUrl, body, 1);
+    }
+
+    private CompletableFuture<Boolean> attempt(String jobId, String callbackUrl, String body, int attempt) {
+        // 提交后域名可能被改为解析到内网，每次发送前重新检查
+        String refused = checkAddress(URI.create(callbackUrl));
+        if (refused != null) {
+            logger.warn("Callback for job {} refused: {}", jobId, refused);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .header("X-Job-Id", jobId)
+                    .header("X-Timestamp", timestamp)
+                    .header("X-Signature", "sha256=" + sign(timestamp + "." + body))
+                    .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            logger.error("Failed to sign callback for job {}: {}", jobId, e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, throwable) -> {
+                    if (throwable == null && response.statusCode() / 100 == 2) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    String reason = throwable != null ? String.valueOf(throwable.getCause())
+                            : "status " + response.statusCode();
+                    if (attempt >= MAX_ATTEMPTS) {
+                        logger.warn("Callback for job {} failed after {} attempts: {}", jobId, attempt, reason);
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    logger.info("Callback for job {} failed ({}), retrying", jobId, reason);
+                    long backoff = INITIAL_BACKOFF_MILLIS << (attempt - 1);
+                    return CompletableFuture.supplyAsync(() -> null,
+                            CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(jobId, callbackUrl, body, attempt + 1));
+                })
+                .thenCompose(result -> result);
+    }
+
+    String sign(String payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,50 @@
+package io.sealos.enterprise.auth.logging;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+/**
+ * slf4j 2 的日志实现，通过 META-INF/services 注册，取代 slf4j-simple
+ *
+ * 级别由 LOG_LEVEL 和 LOG_LEVELS 配置，格式和队列见 AsyncLogWriter。
+ */
+public class AsyncLogServiceProvider implements SLF4JServiceProvider {
+    public static final String REQUESTED_API_VERSION = "2.0.99";
+
+    private ILoggerFactory loggerFactory;
+    private IMarkerFactory markerFactory;
+    private MDCAdapter mdcAdapter;
+
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return loggerFactory;
+    }
+
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return markerFactory;
+    }
+
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return mdcAdapter;
+    }
+
+    @Override
+    public String getRequestedApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+
+    @Override
+    public void initialize() {
+        markerFactory = new BasicMarkerFactory();
+        mdcAdapter = new BasicMDCAdapter();
+        loggerFactory = new AsyncLoggerFactory(AsyncLogWriter.getInstance(), EnvConfig.getLogLevel(),
+                EnvConfig.getLogLevels());
+    }
+}
@@ -0,0 +1,363 @@
+package io.sealos.enterprise.auth.logging;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.model.response.LoggingStats;
+import org.slf4j.event.Level;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志写出
+ *
+ * 请求线程只把事件放入 LogRingBuffer，后台线程批量取出，拼成 JSON Lines（或文本）后一次写入 stderr，
+ * 日志 I/O 变慢时不会阻塞请求线程。队列满时默认丢弃新事件并按级别计数（enterprise_auth_log_dropped_total），
+ * 写出线程随后补一条 WARN 说明丢弃了多少；LOG_QUEUE_FULL_POLICY=block 时改为等待队列空出位置。
+ * 进程退出时写出队列中剩余的事件。
+ */
+public class AsyncLogWriter {
+    public enum Format {
+        JSON, TEXT
+    }
+
+    public enum QueueFullPolicy {
+        DROP, BLOCK
+    }
+
+    private static final int MAX_BATCH_EVENTS = 1024;
+    private static final int BATCH_CAPACITY = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final DateTimeFormatter JSON_SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter TEXT_SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("xxx");
+
+    private final LogRingBuffer ring;
+    private final Format format;
+    private final QueueFullPolicy queueFullPolicy;
+    private final OutputStream out;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder writeErrorCount = new LongAdder();
+    private final LongAdder[] droppedByLevel = new LongAdder[Level.values().length];
+    private final Metrics.Counter[] droppedCounters = new Metrics.Counter[Level.values().length];
+
+    // 以下状态只由写出线程访问
+    private final StringBuilder batch = new StringBuilder(BATCH_CAPACITY);
+    private int batchEvents;
+    private long reportedDrops;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String[] cachedTimeParts;
+
+    private static class Holder {
+        private static final AsyncLogWriter INSTANCE = new AsyncLogWriter(
+                EnvConfig.getLogQueueSize(),
+                parse(Format.class, EnvConfig.getLogFormat(), Format.JSON),
+                parse(QueueFullPolicy.class, EnvConfig.getLogQueueFullPolicy(), QueueFullPolicy.DROP),
+                new FileOutputStream(FileDescriptor.err));
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "log-writer-close"));
+        }
+    }
+
+    public static AsyncLogWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public AsyncLogWriter(int queueSize, Format format, QueueFullPolicy queueFullPolicy, OutputStream out) {
+        this.ring = new LogRingBuffer(queueSize);
+        this.format = format;
+        this.queueFullPolicy = queueFullPolicy;
+        this.out = out;
+        for (Level level : Level.values()) {
+            droppedByLevel[level.ordinal()] = new LongAdder();
+            droppedCounters[level.ordinal()] = Metrics.getInstance().counter("enterprise_auth_log_dropped_total",
+                    "Log events dropped because the async log queue was full, by level",
+                    "level", level.name().toLowerCase());
+        }
+        this.thread = new Thread(this::run, "log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E defaultValue) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    public void log(Level level, String loggerName, String pattern, Object[] args, Throwable throwable) {
+        if (!running) {
+            writeDirect(level, loggerName, pattern, args, throwable);
+            return;
+        }
+        if (ring.offer(level, loggerName, pattern, args, throwable)) {
+            enqueuedCount.increment();
+            signal();
+            return;
+        }
+        if (queueFullPolicy == QueueFullPolicy.BLOCK && Thread.currentThread() != thread) {
+            do {
+                signal();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (!running) {
+                    writeDirect(level, loggerName, pattern, args, throwable);
+                    return;
+                }
+            } while (!ring.offer(level, loggerName, pattern, args, throwable));
+            enqueuedCount.increment();
+            signal();
+            return;
+        }
+        droppedByLevel[level.ordinal()].increment();
+        droppedCounters[level.ordinal()].increment();
+    }
+
+    private void signal() {
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int drained = drain();
+            appendDropNotice();
+            if (batch.length() > 0) {
+                flushBatch();
+            }
+            if (drained == 0) {
+                if (!running) {
+                    return;
+                }
+                // 先声明等待再检查一次队列，避免错过 park 前发布的事件
+                waiting = true;
+                if (ring.peek() == null && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+            }
+        }
+    }
+
+    private int drain() {
+        int drained = 0;
+        LogEvent event;
+        while (drained < MAX_BATCH_EVENTS && batch.length() < BATCH_CAPACITY && (event = ring.peek()) != null) {
+            try {
+                appendEvent(batch, event.level, event.timestamp, event.threadName, event.loggerName,
+                        event.message, event.throwable);
+            } catch (RuntimeException e) {
+                batch.append("Failed to format log event: ").append(e).append('\n');
+            } finally {
+                ring.release();
+            }
+            batchEvents++;
+            drained++;
+        }
+        return drained;
+    }
+
+    private void appendDropNotice() {
+        long dropped = getDroppedCount();
+        if (dropped > reportedDrops) {
+            String message = "Dropped " + (dropped - reportedDrops) + " log events because the log queue was full";
+            appendEvent(batch, Level.WARN, System.currentTimeMillis(), thread.getName(),
+                    AsyncLogWriter.class.getName(), message, null);
+            reportedDrops = dropped;
+            batchEvents++;
+        }
+    }
+
+    private void flushBatch() {
+        try {
+            out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            writtenCount.add(batchEvents);
+            batchCount.increment();
+        } catch (IOException e) {
+            writeErrorCount.increment();
+        }
+        batch.setLength(0);
+        batchEvents = 0;
+        if (batch.capacity() > BATCH_CAPACITY * 4) {
+            batch.trimToSize();
+            batch.ensureCapacity(BATCH_CAPACITY);
+        }
+    }
+
+    // 写出线程已停止后（关闭过程中）的日志同步写出
+    private synchronized void writeDirect(Level level, String loggerName, String pattern, Object[] args,
+            Throwable throwable) {
+        StringBuilder message = new StringBuilder(LogEvent.MESSAGE_CAPACITY);
+        LogEvent.format(message, pattern, args);
+        StringBuilder line = new StringBuilder(LogEvent.MESSAGE_CAPACITY * 2);
+        appendEvent(line, level, System.currentTimeMillis(), Thread.currentThread().getName(), loggerName,
+                message, throwable);
+        try {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            writtenCount.increment();
+        } catch (IOException e) {
+            writeErrorCount.increment();
+        }
+    }
+
+    private void appendEvent(StringBuilder line, Level level, long timestamp, String threadName, String loggerName,
+            CharSequence message, Throwable throwable) {
+        if (format == Format.JSON) {
+            line.append("{\"time\":\"");
+            appendTime(line, timestamp);
+            line.append("\",\"level\":\"").append(level.name());
+            line.append("\",\"thread\":\"");
+            appendJson(line, threadName);
+            line.append("\",\"logger\":\"");
+            appendJson(line, loggerName);
+            line.append("\",\"message\":\"");
+            appendJson(line, message);
+            if (throwable != null) {
+                line.append("\",\"exception\":\"");
+                appendJson(line, stackTrace(throwable));
+            }
+            line.append("\"}\n");
+        } else {
+            appendTime(line, timestamp);
+            line.append(" [").append(threadName).append("] ").append(level.name()).append(' ')
+                    .append(loggerName).append(" - ").append(message).append('\n');
+            if (throwable != null) {
+                line.append(stackTrace(throwable));
+            }
+        }
+    }
+
+    // JSON 为 ISO-8601 带时区偏移，文本格式与原 simplelogger 配置相同（yyyy-MM-dd HH:mm:ss:SSS）；
+    // 写出线程在同一秒内复用已格式化的部分
+    private void appendTime(StringBuilder line, long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        String[] parts;
+        if (Thread.currentThread() == thread) {
+            if (second != cachedSecond) {
+                cachedSecond = second;
+                cachedTimeParts = formatSecond(second);
+            }
+            parts = cachedTimeParts;
+        } else {
+            parts = formatSecond(second);
+        }
+        int millis = (int) Math.floorMod(timestamp, 1000L);
+        line.append(parts[0]);
+        if (millis < 100) {
+            line.append('0');
+        }
+        if (millis < 10) {
+            line.append('0');
+        }
+        line.append(millis).append(parts[1]);
+    }
+
+    private String[] formatSecond(long second) {
+        ZonedDateTime time = Instant.ofEpochSecond(second).atZone(ZoneId.systemDefault());
+        return format == Format.JSON
+                ? new String[] { JSON_SECOND_FORMAT.format(time) + ".", OFFSET_FORMAT.format(time) }
+                : new String[] { TEXT_SECOND_FORMAT.format(time) + ":", "" };
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        StringWriter writer = new StringWriter(1024);
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static void appendJson(StringBuilder line, CharSequence value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (LongAdder adder : droppedByLevel) {
+            dropped += adder.sum();
+        }
+        return dropped;
+    }
+
+    public LoggingStats getStats() {
+        long batches = batchCount.sum();
+        long written = writtenCount.sum();
+        return new LoggingStats(
+                format.name().toLowerCase(),
+                queueFullPolicy.name().toLowerCase(),
+                ring.capacity(),
+                ring.size(),
+                enqueuedCount.sum(),
+                written,
+                getDroppedCount(),
+                batches,
+                batches == 0 ? 0 : (double) written / batches,
+                writeErrorCount.sum());
+    }
+
+    /**
+     * 写出队列中剩余的事件后停止写出线程，之后的日志同步写出
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.sealos.enterprise.auth.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+/**
+ * 写入 AsyncLogWriter 的 slf4j Logger，级别在创建时确定
+ */
+final class AsyncLogger extends LegacyAbstractLogger {
+    private static final long serialVersionUID = 1L;
+
+    private final int threshold;
+    private final transient AsyncLogWriter writer;
+
+    AsyncLogger(String name, int threshold, AsyncLogWriter writer) {
+        this.name = name;
+        this.threshold = threshold;
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return threshold <= Level.TRACE.toInt();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return threshold <= Level.DEBUG.toInt();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return threshold <= Level.INFO.toInt();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return threshold <= Level.WARN.toInt();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return threshold <= Level.ERROR.toInt();
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern, Object[] arguments,
+            Throwable throwable) {
+        writer.log(level, name, messagePattern, arguments, throwable);
+    }
+}
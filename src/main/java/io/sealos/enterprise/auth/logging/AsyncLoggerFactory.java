@@ -0,0 +1,61 @@
+package io.sealos.enterprise.auth.logging;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按名称缓存 AsyncLogger，级别取 LOG_LEVELS 中最长匹配的名称前缀，没有匹配时取 LOG_LEVEL
+ */
+final class AsyncLoggerFactory implements ILoggerFactory {
+    private static final int OFF = Integer.MAX_VALUE;
+
+    private final AsyncLogWriter writer;
+    private final int defaultThreshold;
+    private final Map<String, Integer> thresholds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+
+    AsyncLoggerFactory(AsyncLogWriter writer, String defaultLevel, Map<String, String> levels) {
+        this.writer = writer;
+        this.defaultThreshold = threshold(defaultLevel, Level.INFO.toInt());
+        levels.forEach((prefix, level) -> thresholds.put(prefix, threshold(level, defaultThreshold)));
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        return loggers.computeIfAbsent(name, key -> new AsyncLogger(key, resolve(key), writer));
+    }
+
+    private int resolve(String name) {
+        String prefix = name;
+        while (true) {
+            Integer threshold = thresholds.get(prefix);
+            if (threshold != null) {
+                return threshold;
+            }
+            int dot = prefix.lastIndexOf('.');
+            if (dot < 0) {
+                return defaultThreshold;
+            }
+            prefix = prefix.substring(0, dot);
+        }
+    }
+
+    private static int threshold(String level, int defaultValue) {
+        if (level == null) {
+            return defaultValue;
+        }
+        if ("off".equalsIgnoreCase(level.trim())) {
+            return OFF;
+        }
+        try {
+            return Level.valueOf(level.trim().toUpperCase()).toInt();
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+}
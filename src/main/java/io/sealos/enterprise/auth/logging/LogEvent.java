@@ -0,0 +1,87 @@
+package io.sealos.enterprise.auth.logging;
+
+import org.slf4j.event.Level;
+
+import java.util.Arrays;
+
+/**
+ * 环形队列中的日志事件槽位，创建后反复使用
+ *
+ * 消息直接格式化到槽位自带的 StringBuilder 中，请求线程记录日志时不再为消息分配新的字符串；
+ * 偶尔出现的超长消息写出后把 StringBuilder 换回初始大小，避免长期占用内存。
+ */
+final class LogEvent {
+    static final int MESSAGE_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    Level level;
+    long timestamp;
+    String threadName;
+    String loggerName;
+    StringBuilder message = new StringBuilder(MESSAGE_CAPACITY);
+    Throwable throwable;
+
+    void set(Level level, String loggerName, String pattern, Object[] args, Throwable throwable) {
+        this.level = level;
+        this.timestamp = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+        this.loggerName = loggerName;
+        this.throwable = throwable;
+        message.setLength(0);
+        format(message, pattern, args);
+    }
+
+    void clear() {
+        threadName = null;
+        loggerName = null;
+        throwable = null;
+        if (message.capacity() > MAX_RETAINED_CAPACITY) {
+            message = new StringBuilder(MESSAGE_CAPACITY);
+        }
+    }
+
+    /**
+     * 与 slf4j MessageFormatter 相同的 {} 占位符替换，\{} 输出字面量 {}
+     */
+    static void format(StringBuilder out, String pattern, Object[] args) {
+        if (pattern == null) {
+            out.append("null");
+            return;
+        }
+        int argCount = args == null ? 0 : args.length;
+        int argIndex = 0;
+        int start = 0;
+        while (argIndex < argCount) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == '\\'
+                    && !(placeholder > 1 && pattern.charAt(placeholder - 2) == '\\')) {
+                out.append(pattern, start, placeholder - 1).append("{}");
+                start = placeholder + 2;
+                continue;
+            }
+            int end = placeholder > 1 && pattern.charAt(placeholder - 1) == '\\' ? placeholder - 1 : placeholder;
+            out.append(pattern, start, end);
+            appendArg(out, args[argIndex++]);
+            start = placeholder + 2;
+        }
+        out.append(pattern, start, pattern.length());
+    }
+
+    private static void appendArg(StringBuilder out, Object arg) {
+        try {
+            if (arg instanceof CharSequence) {
+                // 直接拷贝字符，调用方可以传入复用的 StringBuilder
+                out.append((CharSequence) arg);
+            } else if (arg instanceof Object[]) {
+                out.append(Arrays.deepToString((Object[]) arg));
+            } else {
+                out.append(arg);
+            }
+        } catch (RuntimeException e) {
+            out.append("[FAILED toString(): ").append(e.getClass().getSimpleName()).append(']');
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.sealos.enterprise.auth.logging;
+
+import org.slf4j.event.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 多生产者、单消费者的有界无锁环形队列
+ *
+ * 每个槽位带一个序号：等于写入位置时可写，等于写入位置 + 1 时可读，读完后加上容量留给下一轮写入。
+ * 生产者 CAS 抢占写入位置后在槽位内格式化消息，再发布序号；队列满时 offer 立即返回 false，不等待。
+ */
+final class LogRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final LogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // 只由消费者线程修改
+
+    LogRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.events = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    boolean offer(Level level, String loggerName, String pattern, Object[] args, Throwable throwable) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        try {
+            events[index].set(level, loggerName, pattern, args, throwable);
+        } finally {
+            sequences.set(index, position + 1);
+        }
+        return true;
+    }
+
+    /**
+     * 下一个已发布的事件，没有时返回 null；处理完后必须调用 release
+     */
+    LogEvent peek() {
+        int index = (int) (head & mask);
+        return sequences.get(index) == head + 1 ? events[index] : null;
+    }
+
+    void release() {
+        int index = (int) (head & mask);
+        events[index].clear();
+        sequences.lazySet(index, head + capacity);
+        head++;
+    }
+}
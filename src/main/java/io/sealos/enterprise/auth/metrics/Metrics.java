@@ -0,0 +1,197 @@
+package io.sealos.enterprise.auth.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prometheus 文本格式的指标注册表
+ *
+ * 计数器和直方图的每个桶都是 LongAdder，记录时无锁；指标按名称和标签在首次使用时创建，
+ * 热路径上的固定标签指标应保存为静态字段，避免每次查表。导出时按 /metrics 的文本格式拼接。
+ */
+public class Metrics {
+    // 覆盖加解密（微秒级）到上游调用（秒级）的延迟桶，单位秒
+    private static final double[] LATENCY_BUCKETS = {
+            0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+    private static final long[] LATENCY_BUCKET_NANOS = Arrays.stream(LATENCY_BUCKETS)
+            .mapToLong(seconds -> (long) (seconds * TimeUnit.SECONDS.toNanos(1)))
+            .toArray();
+
+    public static final String STAGE_SECONDS = "enterprise_auth_stage_seconds";
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private static class Holder {
+        private static final Metrics INSTANCE = new Metrics();
+    }
+
+    public static Metrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 同名指标共享 HELP 和 TYPE，按标签区分
+     */
+    private static class Family {
+        private final String help;
+        private final String type;
+        private final Map<String, Object> children = new ConcurrentHashMap<>();
+
+        private Family(String help, String type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    public static class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * 固定桶的耗时直方图，记录纳秒，导出为秒
+     */
+    public static class Timer {
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKET_NANOS.length + 1];
+        private final LongAdder sumNanos = new LongAdder();
+
+        private Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void record(long nanos) {
+            int index = Arrays.binarySearch(LATENCY_BUCKET_NANOS, nanos);
+            buckets[index >= 0 ? index : -index - 1].increment();
+            sumNanos.add(nanos);
+        }
+
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+    }
+
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, "counter").children.computeIfAbsent(labels(labels),
+                key -> new Counter());
+    }
+
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) family(name, help, "histogram").children.computeIfAbsent(labels(labels),
+                key -> new Timer());
+    }
+
+    /**
+     * 请求链路各阶段耗时，用于按阶段拆分延迟
+     */
+    public Timer stage(String stage) {
+        return timer(STAGE_SECONDS, "Time spent in each enterprise auth stage", "stage", stage);
+    }
+
+    private Family family(String name, String help, String type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(help, type));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type);
+        }
+        return family;
+    }
+
+    // 标签预先拼接为 key="value",key="value"，导出时直接使用
+    private static String labels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be key/value pairs");
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return builder.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * 导出 Prometheus 文本格式（version 0.0.4）
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            for (Map.Entry<String, Object> child : new ConcurrentSkipListMap<>(family.children).entrySet()) {
+                if (child.getValue() instanceof Counter) {
+                    appendSample(out, name, child.getKey(), null, ((Counter) child.getValue()).get());
+                } else {
+                    appendTimer(out, name, child.getKey(), (Timer) child.getValue());
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendTimer(StringBuilder out, String name, String labels, Timer timer) {
+        // 桶按区间计数，导出时累加为 Prometheus 的 le 累计值
+        long cumulative = 0;
+        for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+            cumulative += timer.buckets[i].sum();
+            appendSample(out, name + "_bucket", labels, "le=\"" + LATENCY_BUCKETS[i] + "\"", cumulative);
+        }
+        cumulative += timer.buckets[LATENCY_BUCKETS.length].sum();
+        appendSample(out, name + "_bucket", labels, "le=\"+Inf\"", cumulative);
+        out.append(name).append("_sum");
+        appendLabels(out, labels, null);
+        out.append(' ').append(timer.sumNanos.sum() / 1e9).append('\n');
+        appendSample(out, name + "_count", labels, null, cumulative);
+    }
+
+    private static void appendSample(StringBuilder out, String name, String labels, String extraLabel, long value) {
+        out.append(name);
+        appendLabels(out, labels, extraLabel);
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void appendLabels(StringBuilder out, String labels, String extraLabel) {
+        if (labels.isEmpty() && extraLabel == null) {
+            return;
+        }
+        out.append('{').append(labels);
+        if (extraLabel != null) {
+            if (!labels.isEmpty()) {
+                out.append(',');
+            }
+            out.append(extraLabel);
+        }
+        out.append('}');
+    }
+}
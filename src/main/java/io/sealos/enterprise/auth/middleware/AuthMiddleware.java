@@ -1,20 +1,35 @@
 package io.sealos.enterprise.auth.middleware;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
 import java.util.Set;
 
 import io.javalin.http.Context;
+import io.javalin.http.ForbiddenResponse;
 import io.javalin.http.UnauthorizedResponse;
+import io.sealos.enterprise.auth.cache.VerifiedTokenCache;
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.constants.ApiVersion;
+import io.sealos.enterprise.auth.metrics.Metrics;
 import io.sealos.enterprise.auth.model.AppTokenPayload;
 import io.sealos.enterprise.auth.model.dto.UserDTO;
 import io.sealos.enterprise.auth.utils.JwtUtilsHmacSHA256;
 
 public class AuthMiddleware {
+    private static final Metrics.Timer JWT_VERIFY_TIMER = Metrics.getInstance().stage("jwt_verify");
 
     // API 文档路径 - 精确匹配
     private static final Set<String> EXCLUDED_PATHS = Set.of(
             "/redoc",
             "/openapi",
-            "/swagger");
+            "/swagger",
+            // Prometheus 抓取
+            "/metrics");
+
+    // 运行状态接口，只接受 ADMIN_TOKEN，租户 JWT 无权访问
+    private static final String ADMIN_PATH_PREFIX = ApiVersion.getDefaultVersion() + "/admin/";
+    private static final byte[] ADMIN_AUTHORIZATION = adminAuthorization(EnvConfig.getAdminToken());
 
     // 静态资源 - 严格版本前缀
     private static final String SWAGGER_VERSION = "5.17.14";
@@ -41,22 +56,64 @@ public class AuthMiddleware {
             return;
         }
 
+        // 按匹配到的路由判断，不受路径编码、大小写等写法影响
+        if (normalizePath(ctx.endpointHandlerPath()).startsWith(ADMIN_PATH_PREFIX)
+                || path.startsWith(ADMIN_PATH_PREFIX)) {
+            authenticateAdmin(ctx);
+            return;
+        }
+
         // 认证处理
         String token = ctx.header("Authorization");
         if (token == null || token.isEmpty()) {
             throw new UnauthorizedResponse("Missing authorization token");
         }
 
-        UserDTO userDTO = JwtUtilsHmacSHA256.parseToken(token, AppTokenPayload.class)
-                .map(payload -> new UserDTO(
-                        payload.getUserId(),
-                        payload.getWorkspaceId(),
-                        payload.getRegionUid()))
-                .orElseThrow(() -> new UnauthorizedResponse("Invalid or expired token"));
+        // 已验证过的 token 直接使用缓存的用户信息
+        VerifiedTokenCache tokenCache = VerifiedTokenCache.getInstance();
+        String tokenHash = VerifiedTokenCache.hash(token);
+        UserDTO userDTO = tokenCache.get(tokenHash);
+        if (userDTO == null) {
+            userDTO = verifyToken(token, tokenCache, tokenHash);
+        }
 
         ctx.attribute("user", userDTO);
     }
 
+    private static void authenticateAdmin(Context ctx) {
+        if (ADMIN_AUTHORIZATION == null) {
+            throw new ForbiddenResponse("Admin API is disabled");
+        }
+        String authorization = ctx.header("Authorization");
+        if (authorization == null
+                || !MessageDigest.isEqual(ADMIN_AUTHORIZATION, authorization.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedResponse("Invalid admin token");
+        }
+    }
+
+    private static byte[] adminAuthorization(String adminToken) {
+        if (adminToken == null || adminToken.isEmpty()) {
+            return null;
+        }
+        return ("Bearer " + adminToken).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static UserDTO verifyToken(String token, VerifiedTokenCache tokenCache, String tokenHash) {
+        long start = System.nanoTime();
+        Optional<JwtUtilsHmacSHA256.VerifiedToken<AppTokenPayload>> result = JwtUtilsHmacSHA256
+                .verifyToken(token, AppTokenPayload.class);
+        JWT_VERIFY_TIMER.recordSince(start);
+        JwtUtilsHmacSHA256.VerifiedToken<AppTokenPayload> verified = result
+                .orElseThrow(() -> new UnauthorizedResponse("Invalid or expired token"));
+        AppTokenPayload payload = verified.getPayload();
+        UserDTO userDTO = new UserDTO(
+                payload.getUserId(),
+                payload.getWorkspaceId(),
+                payload.getRegionUid());
+        tokenCache.put(tokenHash, userDTO, verified.getExpiresAtMillis());
+        return userDTO;
+    }
+
     private static String normalizePath(String path) {
         // 标准化处理，移除末尾斜杠
         return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
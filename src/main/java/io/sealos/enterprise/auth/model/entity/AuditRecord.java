@@ -0,0 +1,22 @@
+package io.sealos.enterprise.auth.model.entity;
+
+import lombok.Data;
+
+/**
+ * 审计日志中的一次 3060 交易，每次 HTTP 请求上游（含重试和对冲）一条，用于与银联账单对账
+ */
+@Data
+public class AuditRecord {
+    private long timestamp; // 完成时间戳
+    private String orderId; // 3060 订单号
+    private int attemptNo; // 同一订单号的第几次尝试，从 1 开始；版本 1 的分段中为 0
+    private String kind; // 尝试类型：first、retry、hedge
+    private String userId; // 提交用户
+    private String regionUid; // 提交用户 region
+    private String respCode; // 3060 响应码，上游调用失败时为空
+    private String orderStatus; // 订单状态，0000 为已计费
+    private String transAmt; // 交易金额
+    private String errorCode; // 上游调用失败时的错误码
+    private long latencyMicros; // 本次尝试的上游耗时
+    private String requestHash; // 已签名请求的 SHA-256
+}
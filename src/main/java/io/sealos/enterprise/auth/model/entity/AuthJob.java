@@ -0,0 +1,60 @@
+package io.sealos.enterprise.auth.model.entity;
+
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import lombok.Data;
+
+/**
+ * 异步认证任务，每次状态变化都会完整写入任务存储
+ *
+ * 保存后的对象作为快照共享给查询和回调，不再修改；状态变化时先 {@link #copy()} 再修改副本保存。
+ */
+@Data
+public class AuthJob {
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isTerminal() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    public enum CallbackStatus {
+        PENDING, DELIVERED, FAILED
+    }
+
+    private String id; // 任务 id
+    private String userId; // 提交用户
+    private String namespace; // 提交用户 namespace
+    private String regionUid; // 提交用户 region
+    private Status status; // 任务状态
+    private EnterpriseAuthRequest request; // 认证请求
+    private Unionpay3060ApiEnterpriseAuthResponse result; // 3060 响应
+    private String errorCode; // 失败错误码
+    private String errorMessage; // 失败信息
+    private String callbackUrl; // 完成后回调地址
+    private CallbackStatus callbackStatus; // 回调状态
+    private long createdAt; // 创建时间
+    private long updatedAt; // 最后更新时间
+
+    /**
+     * 浅拷贝，请求和结果对象创建后不再修改，可以共享
+     */
+    public AuthJob copy() {
+        AuthJob copy = new AuthJob();
+        copy.id = id;
+        copy.userId = userId;
+        copy.namespace = namespace;
+        copy.regionUid = regionUid;
+        copy.status = status;
+        copy.request = request;
+        copy.result = result;
+        copy.errorCode = errorCode;
+        copy.errorMessage = errorMessage;
+        copy.callbackUrl = callbackUrl;
+        copy.callbackStatus = callbackStatus;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+}
@@ -0,0 +1,13 @@
+package io.sealos.enterprise.auth.model.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnterpriseAuthJobRequest extends EnterpriseAuthRequest {
+    // 任务完成后 POST 结果到该地址，请求头 X-Signature 为 HMAC-SHA256 签名
+    private String callbackUrl;
+}
@@ -1,6 +1,8 @@
 package io.sealos.enterprise.auth.model.request;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sealos.enterprise.auth.validation.BankAccountNo;
+import io.sealos.enterprise.auth.validation.UnifiedSocialCreditCode;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -10,6 +12,7 @@ import lombok.Data;
 public class EnterpriseAuthRequest {
     @NotBlank(message = "统一信用代码不能为空")
     @Size(min = 5, max = 20, message = "统一信用代码长度必须在5-20位之间")
+    @UnifiedSocialCreditCode
     private String key;
 
     private String accountBank;
@@ -29,5 +32,6 @@ public class EnterpriseAuthRequest {
 
     @NotBlank(message = "银行账号不能为空")
     @Size(min = 1, max = 32, message = "银行账号长度必须在1-32位之间")
+    @BankAccountNo
     private String accountNo;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AuditJournalStats {
+    private boolean enabled; // 是否开启
+    private String directory; // 分段文件目录
+    private String currentSegment; // 当前写入的分段
+    private long segmentSize; // 分段大小
+    private long segmentPosition; // 当前分段已写入字节数
+    private long recordCount; // 本次启动写入的记录数
+    private long droppedCount; // 写入失败丢弃的记录数
+    private long syncCount; // 刷盘次数
+    private double avgSyncMillis; // 平均刷盘时间
+    private long lastSyncAt; // 最近一次刷盘时间戳
+}
@@ -0,0 +1,35 @@
+package io.sealos.enterprise.auth.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sealos.enterprise.auth.model.entity.AuthJob;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuthJobResponse {
+    private String jobId; // 任务 id
+    private String status; // PENDING / RUNNING / SUCCEEDED / FAILED
+    private EnterpriseAuthResponse result; // 认证结果，SUCCEEDED 时返回
+    private String errorCode; // 错误码，FAILED 时返回
+    private String errorMessage; // 错误信息，FAILED 时返回
+    private String callbackStatus; // 回调状态
+    private Long createdAt; // 创建时间
+    private Long updatedAt; // 最后更新时间
+
+    public static AuthJobResponse from(AuthJob job) {
+        AuthJobResponse response = new AuthJobResponse();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus().name());
+        if (job.getResult() != null) {
+            response.setResult(EnterpriseAuthResponse.from(job.getResult(), job.getRequest()));
+        }
+        response.setErrorCode(job.getErrorCode());
+        response.setErrorMessage(job.getErrorMessage());
+        if (job.getCallbackStatus() != null) {
+            response.setCallbackStatus(job.getCallbackStatus().name());
+        }
+        response.setCreatedAt(job.getCreatedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,12 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BankSearchItem {
+    private String name; // 银行简称，即 accountBank 的取值
+    private String fullName; // 银行全称
+    private String initials; // 简称拼音首字母
+}
@@ -0,0 +1,16 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BankStats {
+    private String path; // bank.json 路径
+    private int entries; // 当前银行条目数
+    private String etag; // 当前 /banks 响应的 ETag
+    private long lastReloadAt; // 最近一次加载成功时间戳
+    private long reloadCount; // 加载成功次数（内容变化时才计数）
+    private long reloadFailureCount; // 加载失败次数，失败时继续使用上一次的内容
+    private String lastError; // 最近一次失败原因
+}
@@ -0,0 +1,18 @@
+package io.sealos.enterprise.auth.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchEnterpriseAuthItem {
+    private int index; // 请求在批量列表中的下标，从 0 开始
+    private boolean success; // 是否调用成功（认证是否通过见 data.isTransactionSuccess）
+    private EnterpriseAuthResponse data; // 认证结果
+    private String errorCode; // 错误码
+    private String errorMessage; // 错误信息
+}
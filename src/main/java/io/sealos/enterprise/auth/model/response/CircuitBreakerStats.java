@@ -0,0 +1,21 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CircuitBreakerStats {
+    private String state; // CLOSED / OPEN / HALF_OPEN
+    private long stateSince; // 进入当前状态的时间戳
+    private int bufferedCalls; // 窗口内调用数
+    private int failedCalls; // 窗口内失败数
+    private int slowCalls; // 窗口内慢调用数
+    private double failureRate; // 错误率（百分比）
+    private double slowCallRate; // 慢调用率（百分比）
+    private int failureRateThreshold; // 错误率阈值
+    private int slowCallRateThreshold; // 慢调用率阈值
+    private int probesInFlight; // 半开状态进行中的探测数
+    private long notPermittedCount; // 被熔断拒绝的请求数
+    private long openedCount; // 熔断打开次数
+}
@@ -0,0 +1,21 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ConcurrencyLimiterStats {
+    private int limit; // 当前并发上限
+    private int minLimit; // 并发下限
+    private int maxLimit; // 并发上限
+    private int inFlight; // 进行中的请求数
+    private int queueDepth; // 排队请求数
+    private int maxQueueSize; // 最大排队长度
+    private long acquiredCount; // 获得许可次数
+    private long queuedCount; // 排队次数
+    private long rejectedCount; // 队列已满被拒绝次数
+    private long queueTimeoutCount; // 排队超时次数
+    private long dropCount; // 收缩上限的调用次数（超时、上游拒绝、慢调用）
+    private double avgQueueWaitMillis; // 平均排队时间
+}
@@ -1,6 +1,7 @@
 package io.sealos.enterprise.auth.model.response;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
 import lombok.Data;
 
 @Data
@@ -23,7 +24,45 @@ public class EnterpriseAuthResponse {
 
     private String orderId; // 订单号
     private Boolean isCharged; // 是否收费
+    private Boolean isCached; // 是否命中本地结果缓存（命中时本次未调用 3060，不收费）
 
     private String transAmt; // 交易金额
 
+    // 由 3060 响应创建，失败时企业信息回填请求中的值
+    public static EnterpriseAuthResponse from(Unionpay3060ApiEnterpriseAuthResponse response,
+            EnterpriseAuthRequest request) {
+        EnterpriseAuthResponse enterpriseAuthResponse = new EnterpriseAuthResponse();
+        boolean isSuccess = "00000000".equals(response.getRespCode());
+
+        enterpriseAuthResponse.setRespCode(response.getRespCode());
+        enterpriseAuthResponse.setRespMsg(response.getRespMsg());
+        enterpriseAuthResponse.setIsTransactionSuccess(isSuccess);
+        enterpriseAuthResponse.setOrderId(response.getOrderId());
+        // 缓存命中时本次未调用上游，不产生费用
+        enterpriseAuthResponse.setIsCharged(!response.isFromCache() && "0000".equals(response.getOrderStatus()));
+        enterpriseAuthResponse.setIsCached(response.isFromCache());
+        enterpriseAuthResponse.setTransAmt(response.getTransAmt());
+
+        if (isSuccess) {
+            enterpriseAuthResponse.setKey(response.getKey());
+            enterpriseAuthResponse.setAccountBank(response.getAccountBank());
+            enterpriseAuthResponse.setAccountProv(response.getAccountProv());
+            enterpriseAuthResponse.setAccountCity(response.getAccountCity());
+            enterpriseAuthResponse.setSubBank(response.getSubBank());
+            enterpriseAuthResponse.setEnterpriseName(response.getSensData().getKeyName());
+            enterpriseAuthResponse.setLegalPersonName(response.getSensData().getUsrName());
+            enterpriseAuthResponse.setAccountNo(response.getSensData().getAccountNo());
+        } else {
+            enterpriseAuthResponse.setKey(request.getKey());
+            enterpriseAuthResponse.setAccountBank(request.getAccountBank());
+            enterpriseAuthResponse.setAccountProv(request.getAccountProv());
+            enterpriseAuthResponse.setAccountCity(request.getAccountCity());
+            enterpriseAuthResponse.setSubBank(request.getSubBank());
+            enterpriseAuthResponse.setEnterpriseName(request.getKeyName());
+            enterpriseAuthResponse.setLegalPersonName(request.getUsrName());
+            enterpriseAuthResponse.setAccountNo(request.getAccountNo());
+        }
+
+        return enterpriseAuthResponse;
+    }
 }
\ No newline at end of file
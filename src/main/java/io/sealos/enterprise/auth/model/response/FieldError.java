@@ -0,0 +1,22 @@
+package io.sealos.enterprise.auth.model.response;
+
+import jakarta.validation.ConstraintViolation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+public class FieldError {
+    private String field; // 字段名，如 key、accountNo
+    private String message; // 校验失败原因
+
+    public static List<FieldError> from(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> new FieldError(violation.getPropertyPath().toString(), violation.getMessage()))
+                .collect(Collectors.toList());
+    }
+}
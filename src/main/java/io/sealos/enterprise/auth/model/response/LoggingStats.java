@@ -0,0 +1,19 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LoggingStats {
+    private String format; // 输出格式，json 或 text
+    private String queueFullPolicy; // 队列满时的策略，drop 或 block
+    private int queueCapacity; // 队列容量
+    private int queueSize; // 等待写出的事件数
+    private long enqueuedCount; // 进入队列的事件数
+    private long writtenCount; // 已写出的事件数
+    private long droppedCount; // 队列满丢弃的事件数
+    private long batchCount; // 批量写出次数
+    private double avgBatchSize; // 平均每批事件数
+    private long writeErrorCount; // 写出失败次数
+}
@@ -0,0 +1,14 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RequestCoalescerStats {
+    private boolean enabled; // 是否启用
+    private int inFlight; // 进行中的不同请求数
+    private long callCount; // 请求总数
+    private long coalescedCount; // 合并到进行中请求的次数
+    private double coalescingRatio; // 合并比例
+}
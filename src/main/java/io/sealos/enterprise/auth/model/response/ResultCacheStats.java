@@ -0,0 +1,18 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResultCacheStats {
+    private boolean enabled; // 是否启用
+    private int size; // 当前条目数
+    private int maxSize; // 最大条目数
+    private long hitCount; // 命中次数
+    private long missCount; // 未命中次数
+    private double hitRate; // 命中率
+    private long putCount; // 写入次数
+    private long evictionCount; // 容量淘汰次数
+    private long expirationCount; // 过期淘汰次数
+}
@@ -0,0 +1,23 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SecssPoolStats {
+    private int maxSize; // 池容量
+    private int created; // 已创建实例数
+    private int idle; // 空闲实例数
+    private int inUse; // 借出实例数
+    private long borrowCount; // 借出次数
+    private long waitCount; // 需要等待的借出次数
+    private long exhaustedCount; // 等待超时（池耗尽）次数
+    private long overflowCount; // 处理上游响应时池已满、临时创建池外实例的次数
+    private double avgWaitMillis; // 平均等待时间
+    private double maxWaitMillis; // 最大等待时间
+    private long generation; // 当前证书代数，每次热加载加一
+    private long reloadCount; // 热加载成功次数
+    private long reloadFailureCount; // 热加载失败次数
+    private long lastReloadAt; // 最近一次热加载时间戳
+}
@@ -23,4 +23,6 @@ public class Unionpay3060ApiEnterpriseAuthResponse {
     private String orderDate;
     private String key;
     private String respCode;
+
+    private boolean fromCache; // 本地结果缓存命中，未调用上游
 }
@@ -0,0 +1,20 @@
+package io.sealos.enterprise.auth.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UpstreamClientStats {
+    private long requestCount; // 请求总数
+    private int inFlight; // 进行中的请求数
+    private long non200Count; // 非 200 响应数
+    private long errorCount; // IO 等错误数
+    private long connectTimeoutCount; // 连接超时数
+    private long requestTimeoutCount; // 读取超时数
+    private long http2Count; // 使用 HTTP/2 的响应数
+    private long newConnectionCount; // 新建 TLS 连接（握手）数
+    private long reusedConnectionCount; // 复用连接数
+    private double connectionReuseRatio; // 连接复用率
+    private double avgLatencyMillis; // 平均耗时
+}
@@ -1,6 +1,8 @@
 package io.sealos.enterprise.auth.routes;
 
 import io.javalin.Javalin;
+import io.sealos.enterprise.auth.handler.AdminHandler;
+import io.sealos.enterprise.auth.handler.AuthJobHandler;
 import io.sealos.enterprise.auth.handler.EnterpriseAuthHandler;
 import io.sealos.enterprise.auth.handler.BankHandler;
 import io.sealos.enterprise.auth.middleware.AuthMiddleware;
@@ -26,9 +28,28 @@ public class Routes {
         // 注册 v1 版本的 API 端点
         app.post(ApiVersion.getDefaultVersion() + "/enterprise-auth",
                 EnterpriseAuthHandler::handleEnterpriseAuth);
+        app.post(ApiVersion.getDefaultVersion() + "/enterprise-auth/batch",
+                EnterpriseAuthHandler::handleBatchEnterpriseAuth);
+        app.post(ApiVersion.getDefaultVersion() + "/enterprise-auth/jobs", AuthJobHandler::submitJob);
+        app.get(ApiVersion.getDefaultVersion() + "/enterprise-auth/jobs/{id}", AuthJobHandler::getJob);
 
         // 银行列表
         app.get(ApiVersion.getDefaultVersion() + "/banks", BankHandler::getBanks);
+        app.get(ApiVersion.getDefaultVersion() + "/banks/search", BankHandler::searchBanks);
+
+        // 运行状态
+        app.get(ApiVersion.getDefaultVersion() + "/admin/secss-pool", AdminHandler::getSecssPoolStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/upstream", AdminHandler::getUpstreamStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/concurrency-limiter",
+                AdminHandler::getConcurrencyLimiterStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/circuit-breaker", AdminHandler::getCircuitBreakerStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/result-cache", AdminHandler::getResultCacheStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/request-coalescer", AdminHandler::getRequestCoalescerStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/token-cache", AdminHandler::getTokenCacheStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/audit-journal", AdminHandler::getAuditJournalStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/logging", AdminHandler::getLoggingStats);
+        app.get(ApiVersion.getDefaultVersion() + "/admin/banks", AdminHandler::getBankStats);
+        app.get("/metrics", AdminHandler::getMetrics);
 
         // 如果有更多端点，继续添加
         // app.get(API_VERSION + "/other-endpoint", OtherHandler::handle);
@@ -0,0 +1,216 @@
+package io.sealos.enterprise.auth.secss;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监听 security.properties 及其引用的证书文件，文件内容变化时热加载 SecssUtil 实例池；
+ * 每隔 reloadIntervalMillis 没有事件时也检查一次，加载失败时退避重试
+ */
+public class SecssKeyWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SecssKeyWatcher.class);
+    private static final String PRIVATE_PATH_KEY = "secss.privatePath";
+    private static final String PUBLIC_PATH_KEY = "secss.publicPath";
+    // 证书通常分多次写入，等待写入稳定后再加载
+    private static final long DEBOUNCE_MILLIS = 500;
+    // 加载失败后首次重试的间隔，之后翻倍，最长不超过 reloadIntervalMillis
+    private static final long RETRY_MIN_MILLIS = 1000;
+
+    private final SecssUtilPool pool;
+    private final long reloadIntervalMillis;
+    private final Path configPath;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    private volatile Set<Path> watchedFiles = new HashSet<>();
+    // 以下字段只在监听线程中访问（start 完成前除外）
+    // 当前实例池加载的文件内容摘要，null 表示未知
+    private String loadedFingerprint;
+    // 大于 0 时表示上次检查失败，等待该时长后重试
+    private long retryDelayMillis;
+    private Thread thread;
+
+    public SecssKeyWatcher(SecssUtilPool pool, long reloadIntervalMillis) throws IOException {
+        this.pool = pool;
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        this.configPath = Paths.get(pool.getConfigPath()).toAbsolutePath().normalize();
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    public void start() throws IOException {
+        registerFiles();
+        try {
+            loadedFingerprint = fingerprint(watchedFiles);
+        } catch (IOException e) {
+            // 首次定时检查时重新加载
+            logger.warn("Failed to read secss key material: {}", e.getMessage());
+        }
+        thread = new Thread(this::run, "secss-key-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching secss key material: {}", watchedFiles);
+    }
+
+    private void registerFiles() throws IOException {
+        Set<Path> files = resolveKeyFiles();
+        for (Path file : files) {
+            Path dir = file.getParent();
+            if (dir != null && Files.isDirectory(dir) && !watchedDirs.containsValue(dir)) {
+                WatchKey key = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirs.put(key, dir);
+            }
+        }
+        watchedFiles = files;
+    }
+
+    /**
+     * 读取配置文件中的证书路径，多个路径以逗号分隔
+     */
+    private Set<Path> resolveKeyFiles() throws IOException {
+        Set<Path> files = new HashSet<>();
+        files.add(configPath);
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(configPath)) {
+            properties.load(in);
+        }
+        for (String key : new String[] { PRIVATE_PATH_KEY, PUBLIC_PATH_KEY }) {
+            String value = properties.getProperty(key);
+            if (value == null || value.trim().isEmpty()) {
+                continue;
+            }
+            for (String path : value.split(",")) {
+                if (!path.trim().isEmpty()) {
+                    files.add(Paths.get(path.trim()).toAbsolutePath().normalize());
+                }
+            }
+        }
+        return files;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long timeout = retryDelayMillis > 0 ? retryDelayMillis : reloadIntervalMillis;
+                WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                // 超时未收到事件时也检查一次，内容未变时不重建实例池
+                boolean changed = key == null || drain(key);
+
+                // 合并短时间内的连续事件
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+
+                if (changed) {
+                    checkAndReload();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // 如配置文件正在重写时读取失败，退避后重试，不能让监听线程退出
+                scheduleRetry();
+                logger.error("Failed to check secss key material, retry in {}ms: {}", retryDelayMillis,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void checkAndReload() throws IOException {
+        // 配置中的证书路径可能已变更
+        registerFiles();
+        String fingerprint = fingerprint(watchedFiles);
+        if (fingerprint.equals(loadedFingerprint)) {
+            retryDelayMillis = 0;
+            return;
+        }
+
+        logger.info("Secss key material changed, reloading SecssUtil pool");
+        if (pool.reload()) {
+            loadedFingerprint = fingerprint;
+            retryDelayMillis = 0;
+        } else {
+            scheduleRetry();
+            logger.warn("Secss key reload failed, retry in {}ms", retryDelayMillis);
+        }
+    }
+
+    private void scheduleRetry() {
+        retryDelayMillis = retryDelayMillis > 0
+                ? Math.min(retryDelayMillis * 2, reloadIntervalMillis)
+                : Math.min(RETRY_MIN_MILLIS, reloadIntervalMillis);
+    }
+
+    /**
+     * 按路径顺序计算全部文件内容的摘要，软链接指向的内容变化同样会改变摘要
+     */
+    private static String fingerprint(Set<Path> files) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Path file : new TreeSet<>(files)) {
+            digest.update(file.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            digest.update((byte) 0);
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    /**
+     * Kubernetes Secret 通过替换 ..data 软链接轮换，目录下以 .. 开头的条目变化也视为文件变化
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path name = (Path) event.context();
+            if (watchedFiles.contains(dir.resolve(name).normalize()) || name.toString().startsWith("..")) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (thread != null) {
+            thread.interrupt();
+        }
+        watchService.close();
+    }
+}
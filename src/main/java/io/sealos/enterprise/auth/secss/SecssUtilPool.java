@@ -0,0 +1,299 @@
+package io.sealos.enterprise.auth.secss;
+
+import com.chinapay.secss.SecssUtil;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.model.response.SecssPoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已初始化的 SecssUtil 实例池
+ *
+ * SecssUtil 在 getErrCode/getEncValue/getSign 中保存单次调用的状态，不能被并发共享，
+ * 因此采用借出/归还的方式使用。实例在启动时预热，避免每个请求重新读取配置和解析证书。
+ *
+ * 证书轮换时通过 {@link #reload()} 整体替换为新一代实例，已借出的旧实例归还时直接丢弃，
+ * 进行中的请求不受影响。
+ */
+public class SecssUtilPool {
+    private static final Logger logger = LoggerFactory.getLogger(SecssUtilPool.class);
+    // 等待借出时检查是否已切换到新一代的间隔
+    private static final long GENERATION_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final String configPath;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final Object reloadLock = new Object();
+    private volatile Generation current;
+
+    // metrics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder exhaustedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadFailureCount = new LongAdder();
+    private volatile long lastReloadAt;
+
+    /**
+     * 同一份证书配置加载出的一组实例
+     */
+    private static class Generation {
+        private final long id;
+        private final BlockingQueue<SecssUtil> idle;
+        private final Set<SecssUtil> members = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger created = new AtomicInteger();
+
+        private Generation(long id, int maxSize) {
+            this.id = id;
+            this.idle = new ArrayBlockingQueue<>(maxSize);
+        }
+    }
+
+    private static class Holder {
+        private static final SecssUtilPool INSTANCE = new SecssUtilPool(
+                EnvConfig.getConfigPath(),
+                EnvConfig.getSecssPoolSize(),
+                EnvConfig.getSecssPoolBorrowTimeoutMillis());
+    }
+
+    public static SecssUtilPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public SecssUtilPool(String configPath, int maxSize, long borrowTimeoutMillis) {
+        this.configPath = configPath;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.current = new Generation(0, maxSize);
+    }
+
+    public String getConfigPath() {
+        return configPath;
+    }
+
+    /**
+     * 启动时预热，创建全部实例
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        Generation generation = current;
+        fill(generation);
+        logger.info("SecssUtil pool warmed up, instances: {}, took {}ms",
+                generation.created.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 重新加载证书并原子替换全部实例，新配置初始化失败时保留旧实例
+     */
+    public boolean reload() {
+        synchronized (reloadLock) {
+            long start = System.nanoTime();
+            Generation next = new Generation(current.id + 1, maxSize);
+            try {
+                fill(next);
+            } catch (RuntimeException e) {
+                reloadFailureCount.increment();
+                logger.error("Failed to reload SecssUtil pool, keep generation {}: {}", current.id, e.getMessage());
+                return false;
+            }
+
+            current = next;
+            reloadCount.increment();
+            lastReloadAt = System.currentTimeMillis();
+            logger.info("SecssUtil pool reloaded, generation: {}, instances: {}, took {}ms",
+                    next.id, next.created.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        }
+    }
+
+    private void fill(Generation generation) {
+        while (true) {
+            SecssUtil secssUtil = tryCreate(generation);
+            if (secssUtil == null) {
+                break;
+            }
+            generation.idle.offer(secssUtil);
+        }
+    }
+
+    public SecssUtil borrow() {
+        return borrow(borrowTimeoutMillis);
+    }
+
+    /**
+     * 等待时间取 maxWaitMillis 与配置的借出超时中较小的一个
+     */
+    public SecssUtil borrow(long maxWaitMillis) {
+        long waitMillis = Math.max(0, Math.min(borrowTimeoutMillis, maxWaitMillis));
+        long start = System.nanoTime();
+        Generation generation = current;
+        SecssUtil secssUtil = tryAcquire(generation);
+        if (secssUtil == null) {
+            waitCount.increment();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            // 分段等待：等待期间发生热加载时，旧一代不会再有实例归还，需要转到新一代上继续等待
+            while (secssUtil == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    secssUtil = generation.idle.poll(Math.min(remaining, GENERATION_CHECK_NANOS),
+                            TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (secssUtil == null && generation != current) {
+                    generation = current;
+                    secssUtil = tryAcquire(generation);
+                }
+            }
+            recordWait(System.nanoTime() - start);
+        }
+        if (secssUtil == null) {
+            exhaustedCount.increment();
+            logger.warn("SecssUtil pool exhausted, size: {}, waited {}ms", maxSize, waitMillis);
+            throw new BusinessException(ErrorCode.SECSS_POOL_EXHAUSTED,
+                    "SecssUtil pool exhausted, please retry later", 503);
+        }
+
+        borrowCount.increment();
+        inUse.incrementAndGet();
+        return secssUtil;
+    }
+
+    /**
+     * 不等待地借出实例：没有空闲实例且池已满时临时创建一个池外实例，归还时丢弃。
+     * 用于处理上游已受理（可能已计费）的响应，不能因池容量失败，也不能阻塞 HttpClient 的回调线程
+     */
+    public SecssUtil borrowOrCreate() {
+        Generation generation = current;
+        SecssUtil secssUtil = tryAcquire(generation);
+        if (secssUtil == null) {
+            overflowCount.increment();
+            logger.warn("SecssUtil pool exhausted, size: {}, creating a temporary instance", maxSize);
+            secssUtil = createInstance();
+        }
+        borrowCount.increment();
+        inUse.incrementAndGet();
+        return secssUtil;
+    }
+
+    private SecssUtil tryAcquire(Generation generation) {
+        SecssUtil secssUtil = generation.idle.poll();
+        return secssUtil != null ? secssUtil : tryCreate(generation);
+    }
+
+    public void release(SecssUtil secssUtil) {
+        if (secssUtil == null) {
+            return;
+        }
+        inUse.decrementAndGet();
+        Generation generation = current;
+        // 旧一代和池外临时创建的实例直接丢弃
+        if (generation.members.contains(secssUtil)) {
+            generation.idle.offer(secssUtil);
+        }
+    }
+
+    private SecssUtil tryCreate(Generation generation) {
+        while (true) {
+            int count = generation.created.get();
+            if (count >= maxSize) {
+                return null;
+            }
+            if (generation.created.compareAndSet(count, count + 1)) {
+                break;
+            }
+        }
+        try {
+            SecssUtil secssUtil = createInstance();
+            generation.members.add(secssUtil);
+            return secssUtil;
+        } catch (RuntimeException e) {
+            generation.created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private SecssUtil createInstance() {
+        if (configPath == null || configPath.isEmpty()) {
+            throw new RuntimeException("secss.configPath is not set");
+        }
+
+        // SecssUtil 默认按配置路径缓存已加载的证书（静态 certUtilMap），证书轮换后会拿到旧密钥，因此跳过缓存
+        SecssUtil secssUtil = new SecssUtil(true);
+        boolean initResult = secssUtil.init(configPath);
+        if (!initResult) {
+            logger.error("SecssUtil initialization failed");
+            throw new RuntimeException("SecssUtil initialization failed");
+        }
+        probe(secssUtil);
+        return secssUtil;
+    }
+
+    /**
+     * init 在证书无法解析时仍会返回 true，用一次签名和加密确认密钥可用
+     */
+    private void probe(SecssUtil secssUtil) {
+        Map<String, Object> signMap = new HashMap<>();
+        signMap.put("probe", "probe");
+        secssUtil.sign(signMap);
+        if (!"00".equals(secssUtil.getErrCode())) {
+            throw new RuntimeException("SecssUtil private key is not usable: " + secssUtil.getErrMsg());
+        }
+
+        try {
+            secssUtil.encryptData("probe");
+        } catch (RuntimeException e) {
+            throw new RuntimeException("SecssUtil public key is not usable: " + e.getMessage(), e);
+        }
+        if (!"00".equals(secssUtil.getErrCode())) {
+            throw new RuntimeException("SecssUtil public key is not usable: " + secssUtil.getErrMsg());
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public SecssPoolStats getStats() {
+        Generation generation = current;
+        long waits = waitCount.sum();
+        return new SecssPoolStats(
+                maxSize,
+                generation.created.get(),
+                generation.idle.size(),
+                inUse.get(),
+                borrowCount.sum(),
+                waits,
+                exhaustedCount.sum(),
+                overflowCount.sum(),
+                waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / waits) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()) / 1000.0,
+                generation.id,
+                reloadCount.sum(),
+                reloadFailureCount.sum(),
+                lastReloadAt);
+    }
+}
@@ -0,0 +1,105 @@
+package io.sealos.enterprise.auth.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监听 bank.json 所在目录，bank.json 或别名文件变化时调用 {@link BankService#reload()}；
+ * 每隔 reloadIntervalMillis 没有事件时也检查一次，兼容不支持监听的文件系统
+ */
+public class BankJsonWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BankJsonWatcher.class);
+    // 合并编辑器、ConfigMap 更新产生的连续事件
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    private final BankService bankService;
+    private final long reloadIntervalMillis;
+    private final WatchService watchService;
+    private final Path fileName;
+    private final Path aliasFileName;
+    private Thread thread;
+
+    public BankJsonWatcher(BankService bankService, long reloadIntervalMillis) throws IOException {
+        this.bankService = bankService;
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.fileName = bankService.getBankJsonPath().getFileName();
+        // 别名文件在其他目录时由定时检查兜底
+        Path aliasPath = bankService.getAliasJsonPath();
+        this.aliasFileName = aliasPath.getParent().equals(bankService.getBankJsonPath().getParent())
+                ? aliasPath.getFileName()
+                : fileName;
+    }
+
+    public void start() throws IOException {
+        Path dir = bankService.getBankJsonPath().getParent();
+        dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        thread = new Thread(this::run, "bank-json-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching bank json: {}", bankService.getBankJsonPath());
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.poll(reloadIntervalMillis, TimeUnit.MILLISECONDS);
+                // 超时未收到事件时也检查一次，内容未变时 reload 直接返回
+                boolean changed = key == null || drain(key);
+
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+
+                if (changed) {
+                    bankService.reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Bank json watcher stopped unexpectedly", e);
+        }
+    }
+
+    /**
+     * Kubernetes ConfigMap 通过替换 ..data 软链接更新，目录下以 .. 开头的条目变化也视为文件变化
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path name = (Path) event.context();
+            if (name.equals(fileName) || name.equals(aliasFileName) || name.toString().startsWith("..")) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (thread != null) {
+            thread.interrupt();
+        }
+        watchService.close();
+    }
+}
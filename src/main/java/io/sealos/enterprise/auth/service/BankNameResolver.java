@@ -0,0 +1,213 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.utils.PinyinUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把客户端传入的开户行名称解析为 bank.json 中的银行简称，随 {@link BankService} 的快照一起构建，之后只读
+ *
+ * 依次尝试：原样匹配简称；忽略空白、全角和大小写后匹配简称、全称或别名；最后在长度相近的简称中做有界编辑距离搜索。
+ * 编辑距离只用于纠正输入法的同音错字（如“银航”），因此只有拼音首字母与输入相同、且唯一最近的简称才会被采用；
+ * “泰隆银行”与“泰安银行”、“中国农业发展银行”与“中国农业银行”虽然相近，但是不同的银行，只作为提示返回。
+ */
+public class BankNameResolver {
+    // 简称不超过 4 个字时只容忍 1 处错误，避免“北京银行”“南京银行”这类互相纠正
+    private static final int SHORT_NAME_LENGTH = 4;
+    private static final int MAX_DISTANCE = 2;
+
+    public enum Type {
+        EXACT, ALIAS, FUZZY, UNKNOWN
+    }
+
+    public static final class Resolution {
+        private final Type type;
+        private final String name;
+        private final List<String> candidates;
+
+        private Resolution(Type type, String name, List<String> candidates) {
+            this.type = type;
+            this.name = name;
+            this.candidates = candidates;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        // 解析出的银行简称，无法解析时为 null
+        public String getName() {
+            return name;
+        }
+
+        // 无法解析时编辑距离最近的银行，作为提示
+        public List<String> getCandidates() {
+            return candidates;
+        }
+    }
+
+    private final Map<String, String> bankMap;
+    private final Map<String, String> normalized = new HashMap<>();
+    // 按长度分桶的规范化简称，编辑距离只比较长度相差不超过上限的桶
+    private final char[][][] namesByLength;
+    private final String[][] canonicalByLength;
+    private final String[][] initialsByLength;
+
+    public BankNameResolver(Map<String, String> bankMap, Map<String, String> aliases) {
+        this.bankMap = bankMap;
+        Map<Integer, List<String>> buckets = new HashMap<>();
+        int maxLength = 0;
+        for (Map.Entry<String, String> entry : bankMap.entrySet()) {
+            String name = entry.getKey();
+            String key = normalize(name);
+            normalized.put(key, name);
+            buckets.computeIfAbsent(key.length(), length -> new ArrayList<>()).add(name);
+            maxLength = Math.max(maxLength, key.length());
+        }
+        for (Map.Entry<String, String> entry : bankMap.entrySet()) {
+            normalized.putIfAbsent(normalize(entry.getValue()), entry.getKey());
+        }
+        // “工商银行”等省略“中国”的叫法，只在不与其他银行冲突时生效
+        for (String name : bankMap.keySet()) {
+            if (name.startsWith("中国") && name.length() > 4) {
+                normalized.putIfAbsent(normalize(name.substring(2)), name);
+            }
+        }
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            if (bankMap.containsKey(entry.getValue())) {
+                normalized.put(normalize(entry.getKey()), entry.getValue());
+            }
+        }
+
+        namesByLength = new char[maxLength + 1][][];
+        canonicalByLength = new String[maxLength + 1][];
+        initialsByLength = new String[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            List<String> names = buckets.getOrDefault(length, List.of());
+            namesByLength[length] = new char[names.size()][];
+            canonicalByLength[length] = names.toArray(new String[0]);
+            initialsByLength[length] = new String[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                String key = normalize(names.get(i));
+                namesByLength[length][i] = key.toCharArray();
+                initialsByLength[length][i] = PinyinUtils.initials(key);
+            }
+        }
+    }
+
+    /**
+     * 去掉空白（含全角空格），全角字母数字和括号转半角，字母转小写
+     */
+    static String normalize(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '　' || Character.isWhitespace(ch)) {
+                continue;
+            }
+            if (ch >= '！' && ch <= '～') {
+                ch = (char) (ch - 0xFEE0);
+            }
+            builder.append(Character.toLowerCase(ch));
+        }
+        return builder.toString();
+    }
+
+    public Resolution resolve(String accountBank) {
+        if (bankMap.containsKey(accountBank)) {
+            return new Resolution(Type.EXACT, accountBank, List.of());
+        }
+        String key = normalize(accountBank);
+        String name = normalized.get(key);
+        if (name != null) {
+            return new Resolution(Type.ALIAS, name, List.of());
+        }
+        return fuzzy(key);
+    }
+
+    private Resolution fuzzy(String key) {
+        char[] query = key.toCharArray();
+        String initials = null;
+        int bound = query.length <= SHORT_NAME_LENGTH ? 1 : MAX_DISTANCE;
+        int best = bound + 1;
+        List<String> matches = new ArrayList<>(2);
+        int nearest = bound + 1;
+        List<String> suggestions = new ArrayList<>(2);
+        int[] previous = new int[query.length + 1];
+        int[] current = new int[query.length + 1];
+        int from = Math.max(0, query.length - bound);
+        int to = Math.min(namesByLength.length - 1, query.length + bound);
+        for (int length = from; length <= to; length++) {
+            char[][] names = namesByLength[length];
+            for (int i = 0; i < names.length; i++) {
+                int distance = distance(query, names[i], bound, previous, current);
+                if (distance > bound) {
+                    continue;
+                }
+                String name = canonicalByLength[length][i];
+                if (distance < nearest) {
+                    nearest = distance;
+                    suggestions.clear();
+                }
+                if (distance == nearest) {
+                    suggestions.add(name);
+                }
+                // 首字母相同意味着长度相同，只有替换
+                if (length != query.length) {
+                    continue;
+                }
+                if (initials == null) {
+                    initials = PinyinUtils.initials(key);
+                }
+                if (!initials.equals(initialsByLength[length][i])) {
+                    continue;
+                }
+                if (distance < best) {
+                    best = distance;
+                    matches.clear();
+                }
+                if (distance == best) {
+                    matches.add(name);
+                }
+            }
+        }
+        if (matches.size() == 1) {
+            return new Resolution(Type.FUZZY, matches.get(0), List.of());
+        }
+        if (!matches.isEmpty()) {
+            return new Resolution(Type.UNKNOWN, null, List.copyOf(matches));
+        }
+        return new Resolution(Type.UNKNOWN, null, List.copyOf(suggestions));
+    }
+
+    /**
+     * Levenshtein 距离，超过 limit 时提前返回 limit + 1
+     */
+    private static int distance(char[] a, char[] b, int limit, int[] previous, int[] current) {
+        if (Math.abs(a.length - b.length) > limit) {
+            return limit + 1;
+        }
+        for (int i = 0; i <= a.length; i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= b.length; j++) {
+            current[0] = j;
+            int rowMin = current[0];
+            for (int i = 1; i <= a.length; i++) {
+                int cost = a[i - 1] == b[j - 1] ? 0 : 1;
+                current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length];
+    }
+}
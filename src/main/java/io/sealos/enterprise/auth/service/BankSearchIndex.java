@@ -0,0 +1,151 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.model.response.BankSearchItem;
+import io.sealos.enterprise.auth.utils.PinyinUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 银行名称检索索引，随 {@link BankService} 的快照一起构建，之后只读
+ *
+ * 把简称和简称拼音首字母的每个后缀、以及全称放进一个排序数组，查询时二分找到以关键字开头的区间，
+ * 因此“建设”“jsyh”都能命中“中国建设银行”。同一银行取最靠前的命中位置，
+ * 按 完全匹配、命中位置（0 为前缀匹配）、简称长度、bank.json 中的顺序 排序后取前 N 个。
+ */
+public class BankSearchIndex {
+    private final BankSearchItem[] items;
+    private final String[] keys;
+    private final int[] entries; // keys[i] 对应的银行下标
+    private final int[] offsets; // keys[i] 在名称中的起始位置
+
+    public BankSearchIndex(Map<String, String> bankMap) {
+        items = new BankSearchItem[bankMap.size()];
+        List<Key> list = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, String> entry : bankMap.entrySet()) {
+            String name = entry.getKey();
+            String fullName = entry.getValue();
+            String initials = PinyinUtils.initials(name);
+            items[index] = new BankSearchItem(name, fullName, initials);
+
+            addSuffixes(list, normalize(name), index);
+            addSuffixes(list, initials, index);
+            if (fullName.startsWith(name)) {
+                list.add(new Key(normalize(fullName), index, 0));
+            } else {
+                addSuffixes(list, normalize(fullName), index);
+            }
+            index++;
+        }
+
+        list.sort(Comparator.comparing((Key key) -> key.text).thenComparingInt(key -> key.offset));
+        keys = new String[list.size()];
+        entries = new int[list.size()];
+        offsets = new int[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            keys[i] = list.get(i).text;
+            entries[i] = list.get(i).entry;
+            offsets[i] = list.get(i).offset;
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        private final int entry;
+        private final int offset;
+
+        private Key(String text, int entry, int offset) {
+            this.text = text;
+            this.entry = entry;
+            this.offset = offset;
+        }
+    }
+
+    private static void addSuffixes(List<Key> list, String text, int entry) {
+        for (int offset = 0; offset < text.length(); offset++) {
+            list.add(new Key(text.substring(offset), entry, offset));
+        }
+    }
+
+    // 忽略大小写和首尾空白
+    static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public List<BankSearchItem> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // 每个银行最靠前的命中位置，-1 表示未命中
+        int[] best = new int[items.length];
+        Arrays.fill(best, -1);
+        int matched = 0;
+        for (int i = lowerBound(q); i < keys.length && keys[i].startsWith(q); i++) {
+            int entry = entries[i];
+            if (best[entry] < 0) {
+                matched++;
+                best[entry] = offsets[i];
+            } else if (offsets[i] < best[entry]) {
+                best[entry] = offsets[i];
+            }
+        }
+        if (matched == 0) {
+            return List.of();
+        }
+
+        // 排序字段压缩进一个 long，只保留前 limit 个，避免对全部命中排序
+        String exact = query.trim();
+        int size = Math.min(limit, matched);
+        long[] top = new long[size];
+        int count = 0;
+        for (int entry = 0; entry < best.length; entry++) {
+            if (best[entry] < 0) {
+                continue;
+            }
+            String name = items[entry].getName();
+            long score = (name.equals(exact) ? 0L : 1L) << 62
+                    | (long) Math.min(best[entry], 0xFFFF) << 40
+                    | (long) Math.min(name.length(), 0xFFFF) << 24
+                    | entry;
+            if (count == size && score >= top[size - 1]) {
+                continue;
+            }
+            int i = count < size ? count++ : size - 1;
+            while (i > 0 && top[i - 1] > score) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = score;
+        }
+
+        List<BankSearchItem> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(items[(int) (top[i] & 0xFFFFFF)]);
+        }
+        return result;
+    }
+
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -6,62 +6,287 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.sealos.enterprise.auth.exception.BusinessException;
 import io.sealos.enterprise.auth.exception.ErrorCode;
 import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.ApiResponse;
+import io.sealos.enterprise.auth.model.response.BankSearchItem;
+import io.sealos.enterprise.auth.model.response.BankStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * 银行名称映射，来自 bank.json
+ *
+ * 创建时加载一次，之后由 {@link BankJsonWatcher} 在后台调用 {@link #reload()}；新内容校验通过后整体替换为新的不可变快照，
+ * 校验失败时继续使用上一份。请求路径只读取 volatile 字段，不访问文件系统、不加锁。
+ */
 public class BankService {
     private static final Logger logger = LoggerFactory.getLogger(BankService.class);
-    private static final Path BANK_JSON_PATH = Paths.get(EnvConfig.getBankJsonPath());
 
+    private static final boolean ACCOUNT_BANK_CHECK_ENABLED = EnvConfig.isAccountBankCheckEnabled();
+    private static final Metrics.Timer ACCOUNT_BANK_TIMER = Metrics.getInstance().stage("account_bank");
+    private static final int SUGGESTION_LIMIT = 3;
+
+    private final Path bankJsonPath;
+    private final Path aliasJsonPath;
     private final ObjectMapper objectMapper;
 
-    // 简单本地缓存与热更新（按文件最后修改时间）
-    private volatile Map<String, String> cachedBankMap = new ConcurrentHashMap<>();
-    private volatile FileTime lastModified;
+    private final Object reloadLock = new Object();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadFailureCount = new LongAdder();
+    private final Metrics.Counter reloadSuccessCounter;
+    private final Metrics.Counter reloadFailureCounter;
+    private volatile Snapshot snapshot;
+    private volatile long lastReloadAt;
+    private volatile String lastError;
+    private byte[] loadedBytes; // 上次加载的文件内容，内容未变时跳过重建
+    private byte[] loadedAliasBytes;
+
+    /**
+     * 一次加载的结果：银行映射、检索索引，以及预先序列化好的完整响应体（ApiResponse 包装）和它的 gzip 版本，只在重新加载时生成
+     */
+    public static final class Snapshot {
+        private final Map<String, String> bankMap;
+        private final BankSearchIndex searchIndex;
+        private final BankNameResolver nameResolver;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+
+        private Snapshot(Map<String, String> bankMap, BankSearchIndex searchIndex, BankNameResolver nameResolver,
+                byte[] json, byte[] gzip, String etag, String gzipEtag) {
+            this.bankMap = bankMap;
+            this.searchIndex = searchIndex;
+            this.nameResolver = nameResolver;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+        }
+
+        public Map<String, String> getBankMap() {
+            return bankMap;
+        }
+
+        public BankSearchIndex getSearchIndex() {
+            return searchIndex;
+        }
+
+        public BankNameResolver getNameResolver() {
+            return nameResolver;
+        }
+
+        // 返回内部数组，调用方不要修改
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        // 强 ETag，取响应体 SHA-256，内容不变时重启和多副本之间也一致
+        public String getEtag() {
+            return etag;
+        }
+
+        // gzip 版本是另一份字节，使用不同的强 ETag
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+    }
+
+    private static class Holder {
+        private static final BankService INSTANCE = new BankService(Paths.get(EnvConfig.getBankJsonPath()),
+                Paths.get(EnvConfig.getBankAliasJsonPath()));
+    }
+
+    public static BankService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public BankService(Path bankJsonPath) {
+        this(bankJsonPath, bankJsonPath.resolveSibling("bank-alias.json"));
+    }
 
-    public BankService() {
+    public BankService(Path bankJsonPath, Path aliasJsonPath) {
+        this.bankJsonPath = bankJsonPath.toAbsolutePath().normalize();
+        this.aliasJsonPath = aliasJsonPath.toAbsolutePath().normalize();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.reloadSuccessCounter = Metrics.getInstance().counter("enterprise_auth_bank_reloads_total",
+                "bank.json reloads by result", "result", "success");
+        this.reloadFailureCounter = Metrics.getInstance().counter("enterprise_auth_bank_reloads_total",
+                "bank.json reloads by result", "result", "failure");
+        reload();
+    }
+
+    public Path getBankJsonPath() {
+        return bankJsonPath;
+    }
+
+    public Path getAliasJsonPath() {
+        return aliasJsonPath;
     }
 
     public Map<String, String> getBankMap() {
+        return getSnapshot().getBankMap();
+    }
+
+    /**
+     * 按简称、全称或拼音首字母检索，返回前 limit 个
+     */
+    public List<BankSearchItem> search(String query, int limit) {
+        return getSnapshot().getSearchIndex().search(query, limit);
+    }
+
+    /**
+     * 调用上游前的开户行预检：解析为 bank.json 中的银行简称并写回请求，无法解析时直接拒绝。
+     * 未传 accountBank、关闭检查或 bank.json 从未加载成功时不拦截
+     */
+    public void normalizeAccountBank(EnterpriseAuthRequest request) {
+        String accountBank = request.getAccountBank();
+        Snapshot current = snapshot;
+        if (!ACCOUNT_BANK_CHECK_ENABLED || accountBank == null || accountBank.isBlank() || current == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
         try {
-            if (!Files.exists(BANK_JSON_PATH)) {
-                logger.error("Bank json file not found: {}", BANK_JSON_PATH);
-                throw new BusinessException(ErrorCode.BUSINESS_ERROR, "bank.json 未找到", 500);
+            BankNameResolver.Resolution resolution = current.getNameResolver().resolve(accountBank);
+            Metrics.getInstance().counter("enterprise_auth_account_bank_total",
+                    "accountBank pre-flight results by resolution type",
+                    "result", resolution.getType().name().toLowerCase()).increment();
+            if (resolution.getName() == null) {
+                List<String> suggestions = !resolution.getCandidates().isEmpty()
+                        ? resolution.getCandidates()
+                        : current.getSearchIndex().search(accountBank, SUGGESTION_LIMIT).stream()
+                                .map(BankSearchItem::getName)
+                                .collect(Collectors.toList());
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "accountBank 无法识别: " + accountBank
+                        + (suggestions.isEmpty() ? "" : "，是否为: " + String.join("、", suggestions)), 400);
             }
+            if (resolution.getType() != BankNameResolver.Type.EXACT) {
+                logger.info("Resolved accountBank {} -> {} ({})", accountBank, resolution.getName(),
+                        resolution.getType());
+                request.setAccountBank(resolution.getName());
+            }
+        } finally {
+            ACCOUNT_BANK_TIMER.recordSince(start);
+        }
+    }
 
-            FileTime fileTime = Files.getLastModifiedTime(BANK_JSON_PATH);
-            if (cachedBankMap.isEmpty() || lastModified == null || fileTime.compareTo(lastModified) > 0) {
-                synchronized (this) {
-                    // 双重检查，避免并发重复加载
-                    if (cachedBankMap.isEmpty() || lastModified == null || fileTime.compareTo(lastModified) > 0) {
-                        byte[] jsonBytes = Files.readAllBytes(BANK_JSON_PATH);
-                        Map<String, String> map = objectMapper.readValue(jsonBytes, new TypeReference<Map<String, String>>() {});
-                        cachedBankMap = new ConcurrentHashMap<>(map);
-                        lastModified = fileTime;
-                        logger.info("Loaded bank map, entries: {} (from {})", cachedBankMap.size(), BANK_JSON_PATH);
-                    }
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "bank.json 加载失败: " + lastError, 500);
+        }
+        return current;
+    }
+
+    /**
+     * 重新读取 bank.json，内容变化且校验通过时替换快照；失败时保留原快照并计数
+     */
+    public boolean reload() {
+        synchronized (reloadLock) {
+            try {
+                if (!Files.exists(bankJsonPath)) {
+                    throw new IOException("bank.json 未找到: " + bankJsonPath);
+                }
+                byte[] jsonBytes = Files.readAllBytes(bankJsonPath);
+                // 别名文件可选
+                byte[] aliasBytes = Files.exists(aliasJsonPath) ? Files.readAllBytes(aliasJsonPath) : new byte[0];
+                if (snapshot != null && Arrays.equals(jsonBytes, loadedBytes)
+                        && Arrays.equals(aliasBytes, loadedAliasBytes)) {
+                    return true;
                 }
+
+                Map<String, String> map = objectMapper.readValue(jsonBytes, new TypeReference<Map<String, String>>() {});
+                validate(map);
+                Map<String, String> aliases = aliasBytes.length == 0
+                        ? Map.of()
+                        : objectMapper.readValue(aliasBytes, new TypeReference<Map<String, String>>() {});
+                snapshot = buildSnapshot(map, aliases);
+                loadedBytes = jsonBytes;
+                loadedAliasBytes = aliasBytes;
+                lastReloadAt = System.currentTimeMillis();
+                lastError = null;
+                reloadCount.increment();
+                reloadSuccessCounter.increment();
+                logger.info("Loaded bank map, entries: {} (from {})", map.size(), bankJsonPath);
+                return true;
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                reloadFailureCount.increment();
+                reloadFailureCounter.increment();
+                logger.error("Failed to load bank.json, keep {}: {}",
+                        snapshot == null ? "empty" : snapshot.getBankMap().size() + " entries", e.getMessage());
+                return false;
             }
+        }
+    }
 
-            return cachedBankMap;
-        } catch (IOException e) {
-            logger.error("Failed to read bank.json: {}", e.getMessage());
-            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "读取 bank.json 失败: " + e.getMessage(), 500);
-        } catch (Exception e) {
-            logger.error("Unexpected error reading bank.json: {}", e.getMessage());
-            throw new BusinessException(ErrorCode.BUSINESS_ERROR, "处理 bank.json 异常: " + e.getMessage(), 500);
+    private static void validate(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            throw new IllegalArgumentException("bank.json 为空");
+        }
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            if (entry.getKey().isBlank() || entry.getValue() == null || entry.getValue().isBlank()) {
+                throw new IllegalArgumentException("bank.json 存在空的银行名称: " + entry.getKey());
+            }
         }
     }
-}
 
+    private Snapshot buildSnapshot(Map<String, String> map, Map<String, String> aliases)
+            throws IOException, NoSuchAlgorithmException {
+        Map<String, String> bankMap = Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(bankMap));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        }
 
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+        String hash = HexFormat.of().formatHex(digest, 0, 16);
+        String etag = "\"" + hash + "\"";
+        String gzipEtag = "\"" + hash + "-gzip\"";
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            if (!bankMap.containsKey(alias.getValue())) {
+                logger.warn("Ignore bank alias {} -> {}: not in bank.json", alias.getKey(), alias.getValue());
+            }
+        }
+        return new Snapshot(bankMap, new BankSearchIndex(bankMap), new BankNameResolver(bankMap, aliases), json,
+                buffer.toByteArray(), etag, gzipEtag);
+    }
+
+    public BankStats getStats() {
+        Snapshot current = snapshot;
+        return new BankStats(
+                bankJsonPath.toString(),
+                current == null ? 0 : current.getBankMap().size(),
+                current == null ? null : current.getEtag(),
+                lastReloadAt,
+                reloadCount.sum(),
+                reloadFailureCount.sum(),
+                lastError);
+    }
+}
@@ -0,0 +1,169 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 批量请求扇出
+ *
+ * 所有批量请求共用同一个实例：全局同时最多 concurrency 个请求在执行，并按 ratePerSecond 匀速发起（0 表示不限速），
+ * 多个批量请求之间轮流分配名额，并发的批量请求不会成倍放大对上游的压力。
+ * 每个请求完成时立即回调，回调抛出异常（如客户端断开）后该批不再发起新的请求。
+ */
+public class BatchExecutor {
+    private final int concurrency;
+    private final long intervalNanos;
+    // 只负责发起请求（加密签名），不阻塞等待上游；同时提交的任务不超过 concurrency
+    private final ExecutorService dispatcher;
+
+    // 以下字段由 this 保护
+    // 下一个请求最早的发起时间
+    private long nextSlotNanos = System.nanoTime();
+    // 已发起、尚未回调完成的请求数
+    private int inFlight;
+    // 还有请求未发起的批次，按轮转顺序分配名额
+    private final ArrayDeque<Run<?, ?>> waiting = new ArrayDeque<>();
+
+    @FunctionalInterface
+    public interface ItemCallback<R> {
+        void onComplete(int index, R result, Throwable throwable) throws Exception;
+    }
+
+    private static class Holder {
+        private static final BatchExecutor INSTANCE = new BatchExecutor(EnvConfig.getBatchConcurrency(),
+                EnvConfig.getBatchRatePerSecond());
+    }
+
+    public static BatchExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public BatchExecutor(int concurrency, double ratePerSecond) {
+        this.concurrency = Math.max(1, concurrency);
+        this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        int threads = Math.min(this.concurrency, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 执行全部请求，返回的 future 在所有请求回调完成后完成；回调失败时以该异常完成
+     */
+    public <T, R> CompletableFuture<Void> execute(List<T> items, Function<T, CompletableFuture<R>> call,
+            ItemCallback<R> callback) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (items.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+
+        synchronized (this) {
+            waiting.offer(new Run<>(items, call, callback, done));
+        }
+        dispatch();
+        return done;
+    }
+
+    /**
+     * 有空闲名额时从等待的批次中轮流取出请求发起
+     */
+    private synchronized void dispatch() {
+        while (inFlight < concurrency && !waiting.isEmpty()) {
+            Run<?, ?> run = waiting.poll();
+            int index = run.claimNext();
+            if (index < 0) {
+                continue;
+            }
+            inFlight++;
+            if (run.hasNext()) {
+                waiting.offer(run);
+            }
+            run.launch(index, reserveSlot());
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        dispatch();
+    }
+
+    private long reserveSlot() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long slot = Math.max(now, nextSlotNanos);
+        nextSlotNanos = slot + intervalNanos;
+        return slot - now;
+    }
+
+    private class Run<T, R> {
+        private final List<T> items;
+        private final Function<T, CompletableFuture<R>> call;
+        private final ItemCallback<R> callback;
+        private final CompletableFuture<Void> done;
+        private final AtomicInteger completed = new AtomicInteger();
+        // 下一个待发起的请求，由外层 BatchExecutor 保护
+        private int nextIndex;
+
+        private Run(List<T> items, Function<T, CompletableFuture<R>> call, ItemCallback<R> callback,
+                CompletableFuture<Void> done) {
+            this.items = items;
+            this.call = call;
+            this.callback = callback;
+            this.done = done;
+        }
+
+        private int claimNext() {
+            if (done.isDone() || nextIndex >= items.size()) {
+                return -1;
+            }
+            return nextIndex++;
+        }
+
+        private boolean hasNext() {
+            return !done.isDone() && nextIndex < items.size();
+        }
+
+        // 统一交给 dispatcher 线程发起，避免同步完成的请求（如缓存命中）递归过深
+        private void launch(int index, long delayNanos) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, dispatcher)
+                    .execute(() -> {
+                        CompletableFuture<R> future;
+                        try {
+                            future = call.apply(items.get(index));
+                        } catch (Exception e) {
+                            future = CompletableFuture.failedFuture(e);
+                        }
+                        future.whenComplete((result, throwable) -> onItemComplete(index, result, throwable));
+                    });
+        }
+
+        private void onItemComplete(int index, R result, Throwable throwable) {
+            try {
+                callback.onComplete(index, result, throwable);
+                if (completed.incrementAndGet() == items.size()) {
+                    done.complete(null);
+                }
+            } catch (Exception e) {
+                done.completeExceptionally(e);
+            } finally {
+                release();
+            }
+        }
+    }
+}
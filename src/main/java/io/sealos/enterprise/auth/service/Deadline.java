@@ -0,0 +1,75 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求截止时间，在入口处确定并随请求传递
+ *
+ * 排队、加密签名、上游请求等阶段的等待时间取各自上限与剩余时间的较小值；截止时间已过时放弃后续阶段，
+ * 不再发起没有调用方等待的上游请求。
+ */
+public class Deadline {
+    // 兜底等待比剩余时间稍长，让各阶段自己的超时先触发并报告准确的阶段
+    private static final long BACKSTOP_GRACE_MILLIS = 50;
+
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+
+    private Deadline(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(Math.max(0, timeoutMillis));
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    // 向上取整，按剩余时间设置的超时触发时截止时间一定已过
+    public long remainingMillis() {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        return remainingNanos <= 0 ? 0 : (remainingNanos + 999_999) / 1_000_000;
+    }
+
+    /**
+     * 等待整个调用链结果的时间，用于合并请求等待领头请求等没有自己阶段超时的情况
+     */
+    public long backstopMillis() {
+        return remainingMillis() + BACKSTOP_GRACE_MILLIS;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * 阶段可用的等待时间，不超过该阶段自身的上限
+     */
+    public long budget(long stageMaxMillis) {
+        return Math.min(stageMaxMillis, remainingMillis());
+    }
+
+    /**
+     * 进入阶段前检查，截止时间已过时抛出 SYS-504
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw exceeded(stage);
+        }
+    }
+
+    public BusinessException exceeded(String stage) {
+        Metrics.getInstance().counter("enterprise_auth_deadline_exceeded_total",
+                "Requests abandoned because their deadline passed, by stage", "stage", stage)
+                .increment();
+        return new BusinessException(ErrorCode.DEADLINE_EXCEEDED,
+                "Request deadline of " + timeoutMillis + "ms exceeded at " + stage, 504);
+    }
+}
@@ -4,60 +4,398 @@ import com.chinapay.secss.SecssUtil;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.sealos.enterprise.auth.audit.AuditJournal;
+import io.sealos.enterprise.auth.cache.EnterpriseAuthResultCache;
+import io.sealos.enterprise.auth.cache.RequestCoalescer;
+import io.sealos.enterprise.auth.cache.RequestFingerprint;
 import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.metrics.Metrics;
 import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
 import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
 import io.sealos.enterprise.auth.model.response.SensitiveData;
 import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import io.sealos.enterprise.auth.secss.SecssUtilPool;
+import io.sealos.enterprise.auth.upstream.AdaptiveConcurrencyLimiter;
+import io.sealos.enterprise.auth.upstream.CircuitBreaker;
+import io.sealos.enterprise.auth.upstream.RetryPolicy;
+import io.sealos.enterprise.auth.upstream.UpstreamHttpClient;
 import io.sealos.enterprise.auth.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.text.SimpleDateFormat;
 import java.util.Base64;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class EnterpriseAuthService {
     private static final Logger logger = LoggerFactory.getLogger(EnterpriseAuthService.class);
     private static final String Unionpay3060Api = EnvConfig.getUnionpay3060Api();
     private static final String MERCHANT_NO = EnvConfig.getMerchantNo();
+    private static final long UPSTREAM_TIMEOUT_MILLIS = EnvConfig.getUpstreamRequestTimeoutMillis();
     private static final String BUSI_TYPE = "3060";
     private static final String KEY_TYPE = "1"; // 1: 统一信用代码
 
+    // 各阶段耗时，见 /metrics
+    private static final Metrics.Timer LIMITER_WAIT_TIMER = Metrics.getInstance().stage("limiter_wait");
+    private static final Metrics.Timer ENCRYPT_TIMER = Metrics.getInstance().stage("encrypt");
+    private static final Metrics.Timer SIGN_TIMER = Metrics.getInstance().stage("sign");
+    private static final Metrics.Timer VERIFY_TIMER = Metrics.getInstance().stage("verify");
+    private static final Metrics.Timer DECRYPT_TIMER = Metrics.getInstance().stage("decrypt");
+    private static final Metrics.Timer RESPONSE_PARSE_TIMER = Metrics.getInstance().stage("response_parse");
+    private static final Metrics.Counter CHARGED_COUNTER = Metrics.getInstance().counter(
+            "enterprise_auth_responses_total", "Enterprise auth results returned, by whether the call was charged",
+            "charged", "true");
+    private static final Metrics.Counter NOT_CHARGED_COUNTER = Metrics.getInstance().counter(
+            "enterprise_auth_responses_total", "Enterprise auth results returned, by whether the call was charged",
+            "charged", "false");
+
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient;
+    private final UpstreamHttpClient upstreamClient;
+    private final SecssUtilPool secssPool;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final EnterpriseAuthResultCache resultCache;
+    private final RequestCoalescer requestCoalescer;
+    private final RetryPolicy retryPolicy;
+    private final RetryExecutor retryExecutor;
+    private final AuditJournal auditJournal;
+    private final OrderIdGenerator orderIdGenerator;
 
     public EnterpriseAuthService() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        this.httpClient = HttpClient.newHttpClient();
+        this.upstreamClient = UpstreamHttpClient.getInstance();
+        this.secssPool = SecssUtilPool.getInstance();
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.getInstance();
+        this.circuitBreaker = CircuitBreaker.getInstance();
+        this.resultCache = EnterpriseAuthResultCache.getInstance();
+        this.requestCoalescer = RequestCoalescer.getInstance();
+        this.retryPolicy = RetryPolicy.getInstance();
+        this.retryExecutor = RetryExecutor.getInstance();
+        this.auditJournal = AuditJournal.getInstance();
+        this.orderIdGenerator = OrderIdGenerator.getInstance();
     }
 
+    /**
+     * 使用默认截止时间，供批量认证和异步任务逐条调用
+     */
     public CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> processEnterpriseAuth(
             EnterpriseAuthRequest request, UserDTO userDTO) {
+        return processEnterpriseAuth(request, userDTO, Deadline.after(EnvConfig.getRequestTimeoutMillis()));
+    }
+
+    public CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> processEnterpriseAuth(
+            EnterpriseAuthRequest request, UserDTO userDTO, Deadline deadline) {
+        // 相同企业信息已有结果时直接返回，避免重复计费
+        String fingerprint = RequestFingerprint.of(request);
+        Unionpay3060ApiEnterpriseAuthResponse cached = resultCache.get(fingerprint);
+        if (cached != null) {
+            NOT_CHARGED_COUNTER.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // 并发的相同请求合并为一次上游调用，上游调用受领头请求的截止时间约束
+        return requestCoalescer.execute(fingerprint, () -> authenticate(request, userDTO, fingerprint, deadline),
+                this::shareResponse)
+                .whenComplete((response, throwable) -> recordCharged(response));
+    }
+
+    /**
+     * 虚拟线程模式下的同步调用链，步骤与 processEnterpriseAuth 相同，排队和上游请求直接阻塞当前虚拟线程
+     */
+    public Unionpay3060ApiEnterpriseAuthResponse processEnterpriseAuthBlocking(EnterpriseAuthRequest request,
+            UserDTO userDTO, Deadline deadline) {
+        String fingerprint = RequestFingerprint.of(request);
+        Unionpay3060ApiEnterpriseAuthResponse cached = resultCache.get(fingerprint);
+        if (cached != null) {
+            NOT_CHARGED_COUNTER.increment();
+            return cached;
+        }
+
+        // 合并器在当前线程调用 supplier，领头请求同步完成后其他请求共享结果，跟随请求最多等到自己的截止时间
+        Unionpay3060ApiEnterpriseAuthResponse response = await(requestCoalescer.execute(fingerprint, () -> {
+            try {
+                return CompletableFuture.completedFuture(
+                        authenticateBlocking(request, userDTO, fingerprint, deadline));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }, this::shareResponse), deadline);
+        recordCharged(response);
+        return response;
+    }
+
+    private Unionpay3060ApiEnterpriseAuthResponse authenticateBlocking(EnterpriseAuthRequest request,
+            UserDTO userDTO, String fingerprint, Deadline deadline) {
+        deadline.check("limiter_wait");
+        circuitBreaker.acquirePermission();
+
+        long waitStart = System.nanoTime();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = join(concurrencyLimiter.acquire(deadline.remainingMillis()));
+        } catch (RuntimeException e) {
+            circuitBreaker.onIgnored();
+            throw abandon(e, deadline, "limiter_wait");
+        } finally {
+            LIMITER_WAIT_TIMER.recordSince(waitStart);
+        }
+
+        SignedRequest signedRequest;
+        try {
+            deadline.check("encrypt");
+            signedRequest = buildFinalRequest(request, userDTO, deadline);
+            deadline.check("upstream");
+        } catch (Exception e) {
+            permit.onIgnore();
+            circuitBreaker.onIgnored();
+            throw abandon(e, deadline, "encrypt");
+        }
+
+        long start = System.nanoTime();
+        Unionpay3060ApiEnterpriseAuthResponse response;
+        try {
+            response = retryExecutor.executeBlocking(signedRequest.orderId, deadline,
+                    () -> attemptBlocking(signedRequest, deadline), this::retryableResult,
+                    (attemptNo, kind, tookNanos, value, throwable) -> journal(signedRequest, userDTO, attemptNo,
+                            kind, tookNanos, value, throwable));
+        } catch (RuntimeException e) {
+            recordUpstreamResult(permit, start, e);
+            throw e;
+        }
+        recordUpstreamResult(permit, start, null);
+        recordResult(fingerprint, response);
+        return response;
+    }
 
+    /**
+     * 一次上游尝试：发送同一份已签名请求并解析响应，超时不超过剩余时间
+     */
+    private Unionpay3060ApiEnterpriseAuthResponse attemptBlocking(SignedRequest signedRequest, Deadline deadline) {
+        long timeoutMillis = deadline.budget(UPSTREAM_TIMEOUT_MILLIS);
+        boolean deadlineBound = timeoutMillis < UPSTREAM_TIMEOUT_MILLIS;
+        String responseBody;
         try {
-            // init unionpay secssUtil
-            SecssUtil secssUtil = new SecssUtil();
-            if (EnvConfig.getConfigPath() == null || EnvConfig.getConfigPath().isEmpty()) {
-                throw new RuntimeException("secss.configPath is not set");
+            responseBody = upstreamClient.postFormBlocking(Unionpay3060Api, signedRequest.params, timeoutMillis);
+        } catch (RuntimeException e) {
+            throw upstreamFailure(e, deadline, deadlineBound);
+        }
+        try {
+            return processResponse(responseBody);
+        } catch (Exception e) {
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        }
+    }
+
+    private CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> attempt(SignedRequest signedRequest,
+            Deadline deadline) {
+        long timeoutMillis = deadline.budget(UPSTREAM_TIMEOUT_MILLIS);
+        boolean deadlineBound = timeoutMillis < UPSTREAM_TIMEOUT_MILLIS;
+        return upstreamClient.postForm(Unionpay3060Api, signedRequest.params, timeoutMillis)
+                .handle((responseBody, throwable) -> {
+                    if (throwable != null) {
+                        throw upstreamFailure(throwable, deadline, deadlineBound);
+                    }
+                    return responseBody;
+                })
+                .thenCompose(responseBody -> {
+                    try {
+                        return CompletableFuture.completedFuture(processResponse(responseBody));
+                    } catch (Exception e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                });
+    }
+
+    // 配置为未计费的 respCode 需要重试，返回重试原因
+    private String retryableResult(Unionpay3060ApiEnterpriseAuthResponse response) {
+        return retryPolicy.isRetryableRespCode(response.getRespCode()) ? "resp_" + response.getRespCode() : null;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw e;
+        }
+    }
 
-            boolean initResult = secssUtil.init(EnvConfig.getConfigPath());
-            if (!initResult) {
-                logger.error("SecssUtil initialization failed");
-                throw new RuntimeException("SecssUtil initialization failed");
+    private static <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        try {
+            return future.get(deadline.backstopMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw deadline.exceeded("coalesced_wait");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    /**
+     * 阶段失败时截止时间已过，说明失败由截止时间导致（排队或借出实例等待被截断），统一报告为 SYS-504
+     */
+    private static RuntimeException abandon(Throwable throwable, Deadline deadline, String stage) {
+        Throwable cause = unwrap(throwable);
+        if (!isDeadlineExceeded(cause) && deadline.isExpired()) {
+            return deadline.exceeded(stage);
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * 上游超时只有在超时被截止时间截短时才算作截止时间超出，否则仍是上游超时
+     */
+    private static RuntimeException upstreamFailure(Throwable throwable, Deadline deadline, boolean deadlineBound) {
+        Throwable cause = unwrap(throwable);
+        if (deadlineBound && isUpstreamTimeout(cause)) {
+            return deadline.exceeded("upstream");
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    private static boolean isDeadlineExceeded(Throwable cause) {
+        return cause instanceof BusinessException
+                && ErrorCode.DEADLINE_EXCEEDED.getCode().equals(((BusinessException) cause).getErrorCode());
+    }
 
+    private static boolean isUpstreamTimeout(Throwable cause) {
+        return cause instanceof BusinessException
+                && ErrorCode.UPSTREAM_TIMEOUT.getCode().equals(((BusinessException) cause).getErrorCode());
+    }
+
+    private static void recordCharged(Unionpay3060ApiEnterpriseAuthResponse response) {
+        if (response != null) {
+            boolean charged = !response.isFromCache() && "0000".equals(response.getOrderStatus());
+            (charged ? CHARGED_COUNTER : NOT_CHARGED_COUNTER).increment();
+        }
+    }
+
+    private void recordResult(String fingerprint, Unionpay3060ApiEnterpriseAuthResponse response) {
+        Metrics.getInstance().counter("enterprise_auth_upstream_results_total",
+                "UnionPay 3060 results by respCode and orderStatus",
+                "respCode", response.getRespCode(), "orderStatus", response.getOrderStatus())
+                .increment();
+        resultCache.put(fingerprint, response);
+    }
+
+    private CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> authenticate(
+            EnterpriseAuthRequest request, UserDTO userDTO, String fingerprint, Deadline deadline) {
+        // 截止时间已过或熔断打开时直接失败，不做任何加密签名
+        try {
+            deadline.check("limiter_wait");
+            circuitBreaker.acquirePermission();
+        } catch (BusinessException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 再获取上游并发许可，最多排队到截止时间，被拒绝的请求同样不做加密签名
+        long waitStart = System.nanoTime();
+        return concurrencyLimiter.acquire(deadline.remainingMillis())
+                .handle((permit, throwable) -> {
+                    LIMITER_WAIT_TIMER.recordSince(waitStart);
+                    if (throwable != null) {
+                        circuitBreaker.onIgnored();
+                        throw abandon(throwable, deadline, "limiter_wait");
+                    }
+                    return permit;
+                })
+                .thenCompose(permit -> callUpstream(request, userDTO, permit, deadline))
+                .thenApply(response -> {
+                    recordResult(fingerprint, response);
+                    return response;
+                });
+    }
+
+    /**
+     * 合并请求共享的结果，复制一份并标记未调用上游，不重复计费
+     */
+    private Unionpay3060ApiEnterpriseAuthResponse shareResponse(Unionpay3060ApiEnterpriseAuthResponse response) {
+        Unionpay3060ApiEnterpriseAuthResponse copy = objectMapper.convertValue(response,
+                Unionpay3060ApiEnterpriseAuthResponse.class);
+        copy.setFromCache(true);
+        return copy;
+    }
+
+    private CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> callUpstream(
+            EnterpriseAuthRequest request, UserDTO userDTO, AdaptiveConcurrencyLimiter.Permit permit,
+            Deadline deadline) {
+        SignedRequest signedRequest;
+        try {
+            deadline.check("encrypt");
+            signedRequest = buildFinalRequest(request, userDTO, deadline);
+            // 加密签名用完剩余时间时不再发起上游请求
+            deadline.check("upstream");
+        } catch (Exception e) {
+            permit.onIgnore();
+            circuitBreaker.onIgnored();
+            return CompletableFuture.failedFuture(abandon(e, deadline, "encrypt"));
+        }
+
+        // 返回异步请求链，未受理的失败按同一订单号重试；收到响应后不再检查截止时间，已计费的结果照常写入缓存
+        long start = System.nanoTime();
+        return retryExecutor.execute(signedRequest.orderId, deadline, () -> attempt(signedRequest, deadline),
+                this::retryableResult,
+                (attemptNo, kind, tookNanos, value, throwable) -> journal(signedRequest, userDTO, attemptNo, kind,
+                        tookNanos, value, throwable))
+                .whenComplete((response, throwable) -> recordUpstreamResult(permit, start, throwable));
+    }
+
+    /**
+     * 上游已受理（可能已计费）后验签解密，不等待池中实例，池满时使用临时实例，避免已计费的结果因池容量失败；
+     * 异步模式下在 HttpClient 的回调线程上执行，因此也不能阻塞等待
+     */
+    private Unionpay3060ApiEnterpriseAuthResponse processResponse(String responseBody) throws Exception {
+        SecssUtil secssUtil = null;
+        try {
+            secssUtil = secssPool.borrowOrCreate();
+            return processResponse(responseBody, secssUtil);
+        } finally {
+            secssPool.release(secssUtil);
+        }
+    }
+
+    /**
+     * 已签名的请求，重试时原样发送
+     */
+    private static class SignedRequest {
+        private final String orderId;
+        private final String params;
+
+        private SignedRequest(String orderId, String params) {
+            this.orderId = orderId;
+            this.params = params;
+        }
+    }
+
+    private SignedRequest buildFinalRequest(EnterpriseAuthRequest request, UserDTO userDTO,
+            Deadline deadline) throws Exception {
+        // 借出已初始化的 secssUtil，仅在加密签名期间持有，等待时间不超过剩余时间
+        SecssUtil secssUtil = secssPool.borrow(deadline.remainingMillis());
+        try {
             // Create request data
             Map<String, String> requestData = createRequestData(request, userDTO);
 
@@ -66,32 +404,81 @@ public class EnterpriseAuthService {
             requestData.put("sensData", encryptedSensData);
 
             // Prepare final request
-            Map<String, Object> finalRequest = prepareFinalRequest(requestData, secssUtil);
-
-            // 返回异步请求链
-            return sendRequest(finalRequest)
-                    .thenCompose(responseBody -> {
-                        try {
-                            return CompletableFuture.completedFuture(
-                                    processResponse(responseBody, secssUtil));
-                        } catch (Exception e) {
-                            return CompletableFuture.failedFuture(e);
-                        }
-                    });
+            return new SignedRequest(requestData.get("orderId"),
+                    StringUtils.mapToUrlParams(prepareFinalRequest(requestData, secssUtil)));
+        } finally {
+            secssPool.release(secssUtil);
+        }
+    }
+
+    /**
+     * 将上游调用的最终结果反馈给并发限制和熔断器，超时和上游错误视为上游过载；
+     * 超时被截止时间截短时已转为 SYS-504，不计入
+     */
+    private void recordUpstreamResult(AdaptiveConcurrencyLimiter.Permit permit, long startNanos,
+            Throwable throwable) {
+        long duration = System.nanoTime() - startNanos;
+        if (throwable == null) {
+            permit.onSuccess();
+            circuitBreaker.onSuccess(duration);
+            return;
+        }
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof BusinessException && isUpstreamOverload((BusinessException) cause)) {
+            permit.onDropped();
+            circuitBreaker.onError(duration);
+        } else {
+            permit.onIgnore();
+            circuitBreaker.onIgnored();
+        }
+    }
+
+    /**
+     * 将每次上游尝试（含重试和对冲）写入审计日志，一次 HTTP 请求一条；请求失败（可能已计费，如读超时）时记录错误码，
+     * 按订单号与银联账单核对
+     */
+    private void journal(SignedRequest signedRequest, UserDTO userDTO, int attemptNo, String kind, long tookNanos,
+            Unionpay3060ApiEnterpriseAuthResponse response, Throwable throwable) {
+        if (!auditJournal.isEnabled()) {
+            return;
+        }
+        try {
+            AuditRecord record = new AuditRecord();
+            record.setTimestamp(System.currentTimeMillis());
+            record.setOrderId(signedRequest.orderId);
+            record.setAttemptNo(attemptNo);
+            record.setKind(kind);
+            record.setUserId(userDTO.getUserId());
+            record.setRegionUid(userDTO.getRegionUid());
+            record.setLatencyMicros(TimeUnit.NANOSECONDS.toMicros(tookNanos));
+            record.setRequestHash(StringUtils.bytesToHex(MessageDigest.getInstance("SHA-256")
+                    .digest(signedRequest.params.getBytes(StandardCharsets.UTF_8))));
+            if (response != null) {
+                record.setRespCode(response.getRespCode());
+                record.setOrderStatus(response.getOrderStatus());
+                record.setTransAmt(response.getTransAmt());
+            } else {
+                Throwable cause = unwrap(throwable);
+                record.setErrorCode(cause instanceof BusinessException ? ((BusinessException) cause).getErrorCode()
+                        : cause.getClass().getSimpleName());
+            }
+            auditJournal.append(record);
         } catch (Exception e) {
-            return CompletableFuture.failedFuture(e);
+            logger.error("Failed to journal orderId: {}: {}", signedRequest.orderId, e.getMessage());
         }
     }
 
-    private Map<String, String> createRequestData(EnterpriseAuthRequest request, UserDTO userDTO) {
-        Map<String, String> data = new HashMap<>();
-        String currentDate = new SimpleDateFormat("yyyyMMdd").format(new Date());
+    private static boolean isUpstreamOverload(BusinessException e) {
+        return ErrorCode.UPSTREAM_TIMEOUT.getCode().equals(e.getErrorCode())
+                || ErrorCode.UPSTREAM_ERROR.getCode().equals(e.getErrorCode());
+    }
 
-        // 使用纳秒级时间戳作为订单号的一部分
-        String timestamp = String.format("%014d", System.nanoTime() % 100000000000000L);
-        // 可以加入随机数进一步降低冲突概率
-        String random = String.format("%04d", (int) (Math.random() * 10000));
-        String orderId = currentDate + timestamp + random;
+    // 以下加密签名各阶段为包级可见，供 src/jmh 下的基准测试逐一测量
+    Map<String, String> createRequestData(EnterpriseAuthRequest request, UserDTO userDTO) {
+        Map<String, String> data = new HashMap<>();
+        // 订单号按节点唯一，orderDate 取订单号中的日期，跨零点时两者一致
+        String orderId = orderIdGenerator.next();
+        String currentDate = OrderIdGenerator.orderDate(orderId);
 
         data.put("merNo", MERCHANT_NO);
         data.put("busiType", BUSI_TYPE);
@@ -109,8 +496,9 @@ public class EnterpriseAuthService {
         return data;
     }
 
-    private String encryptSensitiveData(EnterpriseAuthRequest request, SecssUtil secssUtil)
+    String encryptSensitiveData(EnterpriseAuthRequest request, SecssUtil secssUtil)
             throws Exception {
+        long start = System.nanoTime();
         Map<String, String> sensData = new HashMap<>();
         sensData.put("accountNo", request.getAccountNo());
         sensData.put("keyName", request.getKeyName());
@@ -123,11 +511,13 @@ public class EnterpriseAuthService {
             throw new RuntimeException("Encryption failed: " + secssUtil.getErrMsg());
         }
 
+        ENCRYPT_TIMER.recordSince(start);
         return secssUtil.getEncValue();
     }
 
-    private Map<String, Object> prepareFinalRequest(Map<String, String> requestData, SecssUtil secssUtil)
+    Map<String, Object> prepareFinalRequest(Map<String, String> requestData, SecssUtil secssUtil)
             throws Exception {
+        long start = System.nanoTime();
         String reqDataJsonString = objectMapper.writeValueAsString(requestData);
         String reqDataBase64 = Base64.getEncoder().encodeToString(reqDataJsonString.getBytes(StandardCharsets.UTF_8));
 
@@ -144,39 +534,17 @@ public class EnterpriseAuthService {
         finalRequest.put("merNo", MERCHANT_NO);
         finalRequest.put("signature", secssUtil.getSign());
 
+        SIGN_TIMER.recordSince(start);
         return finalRequest;
     }
 
-    private CompletableFuture<String> sendRequest(Map<String, Object> finalRequest) {
-        try {
-            String requestParams = StringUtils.mapToUrlParams(finalRequest);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(Unionpay3060Api))
-                    .header("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8")
-                    .header("Accept-Charset", "UTF-8")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestParams, StandardCharsets.UTF_8))
-                    .build();
-
-            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
-                    .thenCompose(response -> {
-                        if (response.statusCode() != 200) {
-                            return CompletableFuture.failedFuture(
-                                    new RuntimeException(
-                                            "HTTP request failed with status code: " + response.statusCode()));
-                        }
-                        return CompletableFuture.completedFuture(response.body());
-                    });
-        } catch (Exception e) {
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    private Unionpay3060ApiEnterpriseAuthResponse processResponse(String responseBody, SecssUtil secssUtil)
+    Unionpay3060ApiEnterpriseAuthResponse processResponse(String responseBody, SecssUtil secssUtil)
             throws Exception {
         Map<String, String> resultMap = StringUtils.parseUrlParamsToMap(responseBody);
         // Verify signature
         verifySignature(resultMap, secssUtil);
 
+        long parseStart = System.nanoTime();
         String respDataStr = resultMap.get("respData");
         String respDataDecoded = new String(Base64.getDecoder().decode(respDataStr), StandardCharsets.UTF_8);
         Map<String, Object> jsonRes = objectMapper.readValue(respDataDecoded,
@@ -199,15 +567,18 @@ public class EnterpriseAuthService {
         response.setOrderDate((String) jsonRes.get("orderDate"));
         response.setKey((String) jsonRes.get("key"));
         response.setRespCode((String) jsonRes.get("respCode"));
+        RESPONSE_PARSE_TIMER.recordSince(parseStart);
 
         // 处理敏感数据
         String sensDataStr = (String) jsonRes.get("sensData");
         if (sensDataStr != null) {
+            long decryptStart = System.nanoTime();
             secssUtil.decryptData(sensDataStr);
             if ("00".equals(secssUtil.getErrCode())) {
                 String decryptedSensData = secssUtil.getDecValue();
                 SensitiveData sensitiveData = objectMapper.readValue(decryptedSensData, SensitiveData.class);
                 response.setSensData(sensitiveData);
+                DECRYPT_TIMER.recordSince(decryptStart);
             } else {
                 logger.error("Failed to decrypt sensitive data: {}", secssUtil.getErrMsg());
                 throw new RuntimeException("Failed to decrypt sensitive data: " + secssUtil.getErrMsg());
@@ -217,7 +588,8 @@ public class EnterpriseAuthService {
         return response;
     }
 
-    private void verifySignature(Map<String, String> resultMap, SecssUtil secssUtil) throws Exception {
+    void verifySignature(Map<String, String> resultMap, SecssUtil secssUtil) throws Exception {
+        long start = System.nanoTime();
         MessageDigest digest = MessageDigest.getInstance("SHA-512");
         String respDataStr = resultMap.get("respData");
         byte[] hash = digest.digest(respDataStr.getBytes(StandardCharsets.UTF_8));
@@ -231,5 +603,6 @@ public class EnterpriseAuthService {
         if (!"00".equals(secssUtil.getErrCode())) {
             throw new RuntimeException("Signature verification failed");
         }
+        VERIFY_TIMER.recordSince(start);
     }
 }
\ No newline at end of file
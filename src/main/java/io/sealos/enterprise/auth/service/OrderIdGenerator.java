@@ -0,0 +1,126 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 3060 订单号生成器
+ *
+ * 订单号为 24 位数字：日期 yyyyMMdd（8 位）+ 节点号（4 位）+ 当天毫秒数（8 位）+ 毫秒内序号（4 位，0-4095）。
+ * 状态为一个 AtomicLong（毫秒时间戳 << 12 | 序号），每次 CAS 取 max(上一个 + 1, 当前毫秒 << 12)，无锁且单调递增：
+ * 同一毫秒内超过 4096 个时借用下一毫秒，时钟回拨时继续沿用已发出的最大值，重启后从当前时间重新开始。
+ * 不同副本通过 ORDER_NODE_ID 区分，因此多副本之间也不会重复。
+ */
+public class OrderIdGenerator {
+    public static final int ORDER_ID_LENGTH = 24;
+    public static final int MAX_NODE_ID = 9999;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int DATE_DIGITS = 8;
+    private static final int NODE_DIGITS = 4;
+    private static final int MILLIS_DIGITS = 8;
+    private static final int SEQUENCE_DIGITS = 4;
+
+    private final int nodeId;
+    private final ZoneId zone;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    // 当天的日期前缀，跨天时替换
+    private volatile Day day;
+
+    private static final class Day {
+        private final long startMillis;
+        private final long endMillis;
+        private final byte[] prefix;
+
+        private Day(long startMillis, long endMillis, byte[] prefix) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.prefix = prefix;
+        }
+    }
+
+    private static class Holder {
+        private static final OrderIdGenerator INSTANCE = new OrderIdGenerator(EnvConfig.getOrderNodeId());
+    }
+
+    public static OrderIdGenerator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public OrderIdGenerator(int nodeId) {
+        this(nodeId, ZoneId.systemDefault(), System::currentTimeMillis);
+    }
+
+    public OrderIdGenerator(int nodeId, ZoneId zone, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Order node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.zone = zone;
+        this.clock = clock;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public String next() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = Math.max(previous + 1, now);
+        } while (!state.compareAndSet(previous, next));
+        return format(next >>> SEQUENCE_BITS, (int) (next & ((1 << SEQUENCE_BITS) - 1)));
+    }
+
+    /**
+     * 订单号中的日期，与请求的 orderDate 一致
+     */
+    public static String orderDate(String orderId) {
+        return orderId.substring(0, DATE_DIGITS);
+    }
+
+    private String format(long millis, int sequence) {
+        Day current = day(millis);
+        byte[] digits = new byte[ORDER_ID_LENGTH];
+        System.arraycopy(current.prefix, 0, digits, 0, DATE_DIGITS);
+        int offset = DATE_DIGITS;
+        offset = writeDigits(digits, offset, nodeId, NODE_DIGITS);
+        offset = writeDigits(digits, offset, millis - current.startMillis, MILLIS_DIGITS);
+        writeDigits(digits, offset, sequence, SEQUENCE_DIGITS);
+        return new String(digits, StandardCharsets.US_ASCII);
+    }
+
+    private Day day(long millis) {
+        Day current = day;
+        if (current != null && millis >= current.startMillis && millis < current.endMillis) {
+            return current;
+        }
+        LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        ZonedDateTime start = date.atStartOfDay(zone);
+        byte[] prefix = String.format("%04d%02d%02d", date.getYear(), date.getMonthValue(), date.getDayOfMonth())
+                .getBytes(StandardCharsets.US_ASCII);
+        current = new Day(start.toInstant().toEpochMilli(), start.plusDays(1).toInstant().toEpochMilli(), prefix);
+        day = current;
+        return current;
+    }
+
+    private static int writeDigits(byte[] digits, int offset, long value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            digits[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
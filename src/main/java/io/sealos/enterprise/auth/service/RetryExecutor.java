@@ -0,0 +1,268 @@
+package io.sealos.enterprise.auth.service;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.upstream.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 按 RetryPolicy 执行上游调用
+ *
+ * 每次尝试发送同一份已签名的请求（同一订单号），由上游去重；重试和对冲都不会超过请求截止时间。
+ * 每次尝试按订单号记录日志和 enterprise_auth_upstream_attempts_total 指标，便于对账：
+ * 发出过多次尝试的调用每次尝试都记 info 日志（包括成功但落后的对冲请求），只有一次尝试且成功时记 debug。
+ * 每次尝试完成时回调 AttemptListener，调用方据此逐笔写入审计日志。
+ * 熔断和并发限制只按最终结果记录一次。
+ */
+public class RetryExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(RetryExecutor.class);
+
+    public static final String FIRST = "first";
+    public static final String RETRY = "retry";
+    public static final String HEDGE = "hedge";
+
+    private final RetryPolicy policy;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 每次尝试完成时回调，value 和 throwable 只有一个非空；落后的对冲请求在调用结果返回后仍会回调
+     */
+    @FunctionalInterface
+    public interface AttemptListener<T> {
+        void onAttempt(int attemptNo, String kind, long tookNanos, T value, Throwable throwable);
+    }
+
+    private static class Holder {
+        private static final RetryExecutor INSTANCE = new RetryExecutor(RetryPolicy.getInstance());
+    }
+
+    public static RetryExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public RetryExecutor(RetryPolicy policy) {
+        this.policy = policy;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 异步执行，attempt 每次调用发起一次请求；retryableResult 对需要重试的结果返回原因，否则返回 null
+     */
+    public <T> CompletableFuture<T> execute(String orderId, Deadline deadline, Supplier<CompletableFuture<T>> attempt,
+            Function<T, String> retryableResult) {
+        return execute(orderId, deadline, attempt, retryableResult, (attemptNo, kind, tookNanos, value, throwable) -> {
+        });
+    }
+
+    public <T> CompletableFuture<T> execute(String orderId, Deadline deadline, Supplier<CompletableFuture<T>> attempt,
+            Function<T, String> retryableResult, AttemptListener<T> listener) {
+        Execution<T> execution = new Execution<>(orderId, deadline, attempt, retryableResult, listener);
+        execution.start(FIRST);
+        long hedgeDelay = policy.hedgeDelayMillis();
+        if (hedgeDelay >= 0 && policy.getMaxAttempts() > 1 && hedgeDelay < deadline.remainingMillis()) {
+            scheduler.schedule(execution::hedge, hedgeDelay, TimeUnit.MILLISECONDS);
+        }
+        return execution.result;
+    }
+
+    /**
+     * 同步执行，供虚拟线程模式使用，只重试不对冲
+     */
+    public <T> T executeBlocking(String orderId, Deadline deadline, Supplier<T> attempt,
+            Function<T, String> retryableResult) {
+        return executeBlocking(orderId, deadline, attempt, retryableResult,
+                (attemptNo, kind, tookNanos, value, throwable) -> {
+                });
+    }
+
+    public <T> T executeBlocking(String orderId, Deadline deadline, Supplier<T> attempt,
+            Function<T, String> retryableResult, AttemptListener<T> listener) {
+        for (int attemptNo = 1;; attemptNo++) {
+            String kind = attemptNo == 1 ? FIRST : RETRY;
+            long start = System.nanoTime();
+            boolean retry;
+            T value = null;
+            RuntimeException error = null;
+            try {
+                value = attempt.get();
+                String reason = retryableResult.apply(value);
+                record(orderId, attemptNo, kind, reason == null ? "ok" : reason, start, attemptNo > 1);
+                notifyAttempt(listener, orderId, attemptNo, kind, start, value, null);
+                if (reason == null) {
+                    policy.recordLatency(System.nanoTime() - start);
+                }
+                retry = reason != null;
+            } catch (RuntimeException e) {
+                record(orderId, attemptNo, kind, outcome(e), start, attemptNo > 1);
+                notifyAttempt(listener, orderId, attemptNo, kind, start, null, e);
+                error = e;
+                retry = policy.isRetryable(unwrap(e));
+            }
+
+            long backoff = policy.backoffMillis(attemptNo);
+            if (!retry || attemptNo >= policy.getMaxAttempts() || backoff >= deadline.remainingMillis()) {
+                if (error != null) {
+                    throw error;
+                }
+                return value;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (error != null) {
+                    throw error;
+                }
+                return value;
+            }
+        }
+    }
+
+    private class Execution<T> {
+        private final String orderId;
+        private final Deadline deadline;
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final Function<T, String> retryableResult;
+        private final AttemptListener<T> listener;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        // 以下状态由 this 保护
+        private int attempts;
+        private int inFlight;
+        private boolean retryScheduled;
+        // 任一次尝试可能已被受理后不再重试
+        private boolean mayHaveCharged;
+
+        private Execution(String orderId, Deadline deadline, Supplier<CompletableFuture<T>> attempt,
+                Function<T, String> retryableResult, AttemptListener<T> listener) {
+            this.orderId = orderId;
+            this.deadline = deadline;
+            this.attempt = attempt;
+            this.retryableResult = retryableResult;
+            this.listener = listener;
+        }
+
+        private void start(String kind) {
+            int attemptNo;
+            synchronized (this) {
+                attemptNo = ++attempts;
+                inFlight++;
+                retryScheduled = false;
+            }
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = attempt.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, throwable) -> onComplete(attemptNo, kind, start, value, throwable));
+        }
+
+        // 首个请求仍未返回且没有在等待重试时发出对冲请求
+        private void hedge() {
+            synchronized (this) {
+                if (result.isDone() || retryScheduled || inFlight == 0 || attempts >= policy.getMaxAttempts()
+                        || deadline.isExpired()) {
+                    return;
+                }
+            }
+            start(HEDGE);
+        }
+
+        private void onComplete(int attemptNo, String kind, long start, T value, Throwable throwable) {
+            Throwable cause = throwable == null ? null : unwrap(throwable);
+            String reason = cause == null ? retryableResult.apply(value) : null;
+            int started;
+            synchronized (this) {
+                started = attempts;
+            }
+            // 对冲请求已发出时，先返回的和落后的尝试都按多次尝试记录
+            record(orderId, attemptNo, kind, cause != null ? outcome(cause) : reason == null ? "ok" : reason,
+                    start, started > 1);
+            notifyAttempt(listener, orderId, attemptNo, kind, start, cause == null ? value : null, cause);
+
+            if (cause == null && reason == null) {
+                policy.recordLatency(System.nanoTime() - start);
+                result.complete(value);
+                return;
+            }
+
+            boolean retryable = cause == null || policy.isRetryable(cause);
+            long backoff;
+            synchronized (this) {
+                inFlight--;
+                mayHaveCharged |= !retryable;
+                // 先返回的成功结果已生效，或另一个请求仍在进行时等待它的结果
+                if (result.isDone() || inFlight > 0) {
+                    return;
+                }
+                backoff = policy.backoffMillis(attempts);
+                if (!mayHaveCharged && attempts < policy.getMaxAttempts() && backoff < deadline.remainingMillis()) {
+                    retryScheduled = true;
+                } else {
+                    backoff = -1;
+                }
+            }
+
+            if (backoff >= 0) {
+                scheduler.schedule(() -> start(RETRY), backoff, TimeUnit.MILLISECONDS);
+            } else if (cause != null) {
+                result.completeExceptionally(cause);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+
+    // 回调失败只记录日志，不影响重试和调用结果
+    private static <T> void notifyAttempt(AttemptListener<T> listener, String orderId, int attemptNo, String kind,
+            long startNanos, T value, Throwable throwable) {
+        try {
+            listener.onAttempt(attemptNo, kind, System.nanoTime() - startNanos, value, throwable);
+        } catch (RuntimeException e) {
+            logger.error("Attempt listener failed, orderId: {}, attempt: {}: {}", orderId, attemptNo,
+                    e.getMessage());
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    private static String outcome(Throwable cause) {
+        return cause instanceof BusinessException ? ((BusinessException) cause).getErrorCode()
+                : cause.getClass().getSimpleName();
+    }
+
+    private static void record(String orderId, int attemptNo, String kind, String outcome, long startNanos,
+            boolean multiAttempt) {
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Metrics.getInstance().counter("enterprise_auth_upstream_attempts_total",
+                "UnionPay 3060 upstream attempts by kind (first/retry/hedge) and outcome", "kind", kind,
+                "outcome", outcome)
+                .increment();
+        if (multiAttempt || !"ok".equals(outcome)) {
+            logger.info("Upstream attempt orderId: {}, attempt: {}, kind: {}, outcome: {}, took: {}ms", orderId,
+                    attemptNo, kind, outcome, tookMillis);
+        } else {
+            logger.debug("Upstream attempt orderId: {}, attempt: {}, kind: {}, outcome: {}, took: {}ms", orderId,
+                    attemptNo, kind, outcome, tookMillis);
+        }
+    }
+}
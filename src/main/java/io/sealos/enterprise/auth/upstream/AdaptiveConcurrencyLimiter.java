@@ -0,0 +1,219 @@
+package io.sealos.enterprise.auth.upstream;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.model.response.ConcurrencyLimiterStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 上游调用的自适应并发限制（AIMD）
+ *
+ * 调用成功且并发已打满时上限加一，超时、上游拒绝或慢调用时上限乘以 {@link #BACKOFF_RATIO}。
+ * 超出上限的请求进入有界队列等待，队列已满或等待超时时以 UPS-429 快速失败。
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final long queueTimeoutMillis;
+    private final long slowCallNanos;
+
+    // 以下状态由 this 保护
+    private double limit;
+    private int inFlight;
+    private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+
+    // metrics
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder queueTimeoutCount = new LongAdder();
+    private final LongAdder dropCount = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+
+    private static class Holder {
+        private static final AdaptiveConcurrencyLimiter INSTANCE = new AdaptiveConcurrencyLimiter(
+                EnvConfig.getUpstreamLimitInitial(),
+                EnvConfig.getUpstreamLimitMin(),
+                EnvConfig.getUpstreamLimitMax(),
+                EnvConfig.getUpstreamQueueSize(),
+                EnvConfig.getUpstreamQueueTimeoutMillis(),
+                EnvConfig.getUpstreamSlowCallMillis());
+    }
+
+    public static AdaptiveConcurrencyLimiter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueueSize,
+            long queueTimeoutMillis, long slowCallMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+    }
+
+    /**
+     * 获取并发许可，未超出上限时立即完成，否则排队等待
+     */
+    public CompletableFuture<Permit> acquire() {
+        return acquire(queueTimeoutMillis);
+    }
+
+    /**
+     * 排队时间取 maxWaitMillis 与配置的排队超时中较小的一个
+     */
+    public CompletableFuture<Permit> acquire(long maxWaitMillis) {
+        long waitMillis = Math.max(0, Math.min(queueTimeoutMillis, maxWaitMillis));
+        CompletableFuture<Permit> waiter;
+        synchronized (this) {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                acquiredCount.increment();
+                return CompletableFuture.completedFuture(new Permit(System.nanoTime()));
+            }
+            if (waiters.size() >= maxQueueSize) {
+                rejectedCount.increment();
+                return CompletableFuture.failedFuture(overloaded("Upstream concurrency limit exceeded"));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            queuedCount.increment();
+        }
+
+        long queuedAt = System.nanoTime();
+        return waiter.orTimeout(waitMillis, TimeUnit.MILLISECONDS)
+                .handle((permit, throwable) -> {
+                    totalQueueWaitNanos.add(System.nanoTime() - queuedAt);
+                    if (throwable == null) {
+                        return permit;
+                    }
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                    if (throwable instanceof TimeoutException) {
+                        queueTimeoutCount.increment();
+                        throw overloaded("Upstream concurrency limit exceeded, waited " + waitMillis + "ms");
+                    }
+                    throw new RuntimeException(throwable);
+                });
+    }
+
+    private static BusinessException overloaded(String message) {
+        return new BusinessException(ErrorCode.UPSTREAM_OVERLOADED, message, 429);
+    }
+
+    private void onRelease(long rttNanos, Outcome outcome) {
+        synchronized (this) {
+            inFlight--;
+            if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && rttNanos > slowCallNanos)) {
+                dropCount.increment();
+                double previous = limit;
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                if ((int) previous != (int) limit) {
+                    logger.warn("Upstream concurrency limit decreased: {} -> {}", (int) previous, (int) limit);
+                }
+            } else if (outcome == Outcome.SUCCESS && inFlight + 1 >= (int) limit) {
+                // 只有在并发打满时才说明需要更大的上限
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+        grantWaiters();
+    }
+
+    /**
+     * 唤醒排队的请求；在锁外完成 future，避免后续回调在持锁期间执行
+     */
+    private void grantWaiters() {
+        while (true) {
+            CompletableFuture<Permit> waiter;
+            synchronized (this) {
+                if (inFlight >= (int) limit || waiters.isEmpty()) {
+                    return;
+                }
+                waiter = waiters.pollFirst();
+                inFlight++;
+            }
+            if (waiter.complete(new Permit(System.nanoTime()))) {
+                acquiredCount.increment();
+            } else {
+                // 已超时的等待者
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    public synchronized ConcurrencyLimiterStats getStats() {
+        long queued = queuedCount.sum();
+        return new ConcurrencyLimiterStats(
+                (int) limit,
+                minLimit,
+                maxLimit,
+                inFlight,
+                waiters.size(),
+                maxQueueSize,
+                acquiredCount.sum(),
+                queued,
+                rejectedCount.sum(),
+                queueTimeoutCount.sum(),
+                dropCount.sum(),
+                queued == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalQueueWaitNanos.sum() / queued) / 1000.0);
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * 并发许可，调用结束后必须且只能释放一次
+     */
+    public class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** 调用成功，按耗时调整上限 */
+        public void onSuccess() {
+            release(Outcome.SUCCESS);
+        }
+
+        /** 上游超时或拒绝，收缩上限 */
+        public void onDropped() {
+            release(Outcome.DROPPED);
+        }
+
+        /** 与上游负载无关的失败，不调整上限 */
+        public void onIgnore() {
+            release(Outcome.IGNORED);
+        }
+
+        private void release(Outcome outcome) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            onRelease(System.nanoTime() - startNanos, outcome);
+        }
+    }
+}
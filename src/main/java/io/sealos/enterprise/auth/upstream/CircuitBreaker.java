@@ -0,0 +1,206 @@
+package io.sealos.enterprise.auth.upstream;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.model.response.CircuitBreakerStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 银联 3060 上游熔断器
+ *
+ * 基于最近 N 次调用的滑动窗口统计错误率和慢调用率，超过阈值后打开熔断并快速失败；
+ * 打开一段时间后进入半开状态，只放行少量探测请求，探测全部成功则关闭，任一失败则重新打开。
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+
+    // 以下状态由 this 保护
+    private State state = State.CLOSED;
+    private long stateSince = System.currentTimeMillis();
+    // 环形缓冲区，记录每次调用的结果
+    private final byte[] outcomes;
+    private int position;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    // metrics
+    private final LongAdder notPermittedCount = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    private static final byte OUTCOME_SUCCESS = 0;
+    private static final byte OUTCOME_FAILED = 1;
+    private static final byte OUTCOME_SLOW = 2;
+    private static final byte OUTCOME_SLOW_FAILED = 3;
+
+    private static class Holder {
+        private static final CircuitBreaker INSTANCE = new CircuitBreaker(
+                EnvConfig.getCircuitBreakerWindowSize(),
+                EnvConfig.getCircuitBreakerMinimumCalls(),
+                EnvConfig.getCircuitBreakerFailureRateThreshold(),
+                EnvConfig.getCircuitBreakerSlowCallRateThreshold(),
+                EnvConfig.getUpstreamSlowCallMillis(),
+                EnvConfig.getCircuitBreakerOpenDurationMillis(),
+                EnvConfig.getCircuitBreakerHalfOpenProbes());
+    }
+
+    public static CircuitBreaker getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, int slowCallRateThreshold,
+            long slowCallMillis, long openDurationMillis, int halfOpenProbes) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.outcomes = new byte[this.windowSize];
+    }
+
+    /**
+     * 检查是否允许调用上游，熔断打开时抛出 UPS-503；获得许可后必须调用 onSuccess/onError/onIgnored 之一
+     */
+    public void acquirePermission() {
+        synchronized (this) {
+            if (state == State.OPEN && System.currentTimeMillis() - stateSince >= openDurationMillis) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                return;
+            }
+            if (state == State.HALF_OPEN && probesInFlight + probesSucceeded < halfOpenProbes) {
+                probesInFlight++;
+                return;
+            }
+        }
+        notPermittedCount.increment();
+        throw new BusinessException(ErrorCode.CIRCUIT_OPEN, "Upstream circuit breaker is open, please retry later",
+                503);
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos > slowCallNanos);
+    }
+
+    public void onError(long durationNanos) {
+        record(true, durationNanos > slowCallNanos);
+    }
+
+    /**
+     * 与上游健康无关的结果（如参数、解密失败），只归还半开探测名额
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private synchronized void record(boolean failed, boolean slow) {
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight > 0) {
+                probesInFlight--;
+            }
+            if (failed || slow) {
+                transitionTo(State.OPEN);
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // 打开前已放行的调用，结果不再计入
+            return;
+        }
+
+        if (bufferedCalls == windowSize) {
+            byte evicted = outcomes[position];
+            if (evicted == OUTCOME_FAILED || evicted == OUTCOME_SLOW_FAILED) {
+                failedCalls--;
+            }
+            if (evicted == OUTCOME_SLOW || evicted == OUTCOME_SLOW_FAILED) {
+                slowCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        outcomes[position] = (byte) (OUTCOME_SUCCESS | (failed ? OUTCOME_FAILED : 0) | (slow ? OUTCOME_SLOW : 0));
+        position = (position + 1) % windowSize;
+        if (failed) {
+            failedCalls++;
+        }
+        if (slow) {
+            slowCalls++;
+        }
+
+        if (bufferedCalls >= minimumCalls
+                && (failedCalls * 100 >= failureRateThreshold * bufferedCalls
+                        || slowCalls * 100 >= slowCallRateThreshold * bufferedCalls)) {
+            logger.error("Upstream circuit breaker opened, failed: {}, slow: {}, calls: {}",
+                    failedCalls, slowCalls, bufferedCalls);
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // 调用方需持有 this 锁
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        logger.warn("Upstream circuit breaker state changed: {} -> {}", state, next);
+        state = next;
+        stateSince = System.currentTimeMillis();
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedCount.increment();
+        }
+        if (next == State.CLOSED) {
+            position = 0;
+            bufferedCalls = 0;
+            failedCalls = 0;
+            slowCalls = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized CircuitBreakerStats getStats() {
+        return new CircuitBreakerStats(
+                state.name(),
+                stateSince,
+                bufferedCalls,
+                failedCalls,
+                slowCalls,
+                bufferedCalls == 0 ? 0 : failedCalls * 100.0 / bufferedCalls,
+                bufferedCalls == 0 ? 0 : slowCalls * 100.0 / bufferedCalls,
+                failureRateThreshold,
+                slowCallRateThreshold,
+                probesInFlight,
+                notPermittedCount.sum(),
+                openedCount.sum());
+    }
+}
@@ -0,0 +1,104 @@
+package io.sealos.enterprise.auth.upstream;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 上游重试策略
+ *
+ * 只重试上游受理之前的失败（见 UpstreamException#isBeforeCharge）和配置的未计费 respCode，
+ * 退避时间为 [0, min(上限, 基数 × 2^(n-1))] 内的随机值（full jitter），避免重试同时到达上游。
+ * 开启对冲时，首个请求超过最近成功请求耗时的 p95 仍未返回，再发一个相同订单号的请求，先返回的生效。
+ */
+public class RetryPolicy {
+    // 计算 p95 使用的最近成功请求数，样本不足时不对冲
+    private static final int LATENCY_WINDOW = 256;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<String> retryRespCodes;
+    private final boolean hedgeEnabled;
+    private final long minHedgeDelayMillis;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_WINDOW);
+    private final AtomicLong latencyCount = new AtomicLong();
+
+    private static class Holder {
+        private static final RetryPolicy INSTANCE = new RetryPolicy(
+                EnvConfig.getUpstreamRetryMaxAttempts(),
+                EnvConfig.getUpstreamRetryBackoffMillis(),
+                EnvConfig.getUpstreamRetryMaxBackoffMillis(),
+                EnvConfig.getUpstreamRetryRespCodes(),
+                EnvConfig.isUpstreamHedgeEnabled(),
+                EnvConfig.getUpstreamHedgeMinDelayMillis());
+    }
+
+    public static RetryPolicy getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public RetryPolicy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, Set<String> retryRespCodes,
+            boolean hedgeEnabled, long minHedgeDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = Math.max(0, baseBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.baseBackoffMillis, maxBackoffMillis);
+        this.retryRespCodes = retryRespCodes;
+        this.hedgeEnabled = hedgeEnabled;
+        this.minHedgeDelayMillis = Math.max(0, minHedgeDelayMillis);
+    }
+
+    /**
+     * 包括首次请求和对冲请求在内的最大尝试次数
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryable(Throwable cause) {
+        return cause instanceof UpstreamException && ((UpstreamException) cause).isBeforeCharge();
+    }
+
+    public boolean isRetryableRespCode(String respCode) {
+        return respCode != null && retryRespCodes.contains(respCode);
+    }
+
+    /**
+     * 第 attempt 次失败后的退避时间
+     */
+    public long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public void recordLatency(long nanos) {
+        latencies.set((int) (latencyCount.getAndIncrement() % LATENCY_WINDOW), nanos);
+    }
+
+    /**
+     * 对冲延迟，取最近成功请求耗时的 p95 且不低于下限；未开启或样本不足时返回 -1
+     */
+    public long hedgeDelayMillis() {
+        if (!hedgeEnabled) {
+            return -1;
+        }
+        int samples = (int) Math.min(latencyCount.get(), LATENCY_WINDOW);
+        if (samples < MIN_LATENCY_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        long p95 = TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(samples * 0.95) - 1]);
+        return Math.max(minHedgeDelayMillis, p95);
+    }
+}
@@ -0,0 +1,23 @@
+package io.sealos.enterprise.auth.upstream;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+
+/**
+ * 上游调用失败，标明失败是否发生在上游受理之前
+ *
+ * 连接失败、连接超时和 502/503 时请求没有被银联受理，不会计费，可以安全重试；
+ * 读取超时等情况下上游可能已经受理并计费，不能重试。
+ */
+public class UpstreamException extends BusinessException {
+    private final boolean beforeCharge;
+
+    public UpstreamException(ErrorCode errorCode, String message, Integer statusCode, boolean beforeCharge) {
+        super(errorCode, message, statusCode);
+        this.beforeCharge = beforeCharge;
+    }
+
+    public boolean isBeforeCharge() {
+        return beforeCharge;
+    }
+}
@@ -0,0 +1,272 @@
+package io.sealos.enterprise.auth.upstream;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.model.response.UpstreamClientStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * 银联 3060 上游共享 HttpClient
+ *
+ * 使用专用线程池、连接/读取超时、连接保活和 HTTP/2 协商，并统计连接复用情况。
+ */
+public class UpstreamHttpClient {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamHttpClient.class);
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Duration requestTimeout;
+
+    // metrics
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder non200Count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder connectTimeoutCount = new LongAdder();
+    private final LongAdder requestTimeoutCount = new LongAdder();
+    private final LongAdder http2Count = new LongAdder();
+    private final LongAdder newTlsSessionCount = new LongAdder();
+    private final LongAdder reusedTlsSessionCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private static class Holder {
+        private static final UpstreamHttpClient INSTANCE = createFromEnv();
+    }
+
+    public static UpstreamHttpClient getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static UpstreamHttpClient createFromEnv() {
+        // JDK HttpClient 的连接池参数只能通过系统属性配置，且需在首次创建客户端前设置；命令行 -D 优先
+        setPropertyIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(EnvConfig.getUpstreamKeepAliveSeconds()));
+        setPropertyIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(EnvConfig.getUpstreamMaxConnections()));
+        setPropertyIfAbsent("jdk.httpclient.maxstreams", String.valueOf(EnvConfig.getUpstreamMaxStreams()));
+
+        return new UpstreamHttpClient(
+                Duration.ofMillis(EnvConfig.getUpstreamConnectTimeoutMillis()),
+                Duration.ofMillis(EnvConfig.getUpstreamRequestTimeoutMillis()),
+                parseVersion(EnvConfig.getUpstreamHttpVersion()),
+                EnvConfig.getUpstreamExecutorThreads());
+    }
+
+    private static void setPropertyIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static HttpClient.Version parseVersion(String version) {
+        try {
+            return HttpClient.Version.valueOf(version.trim().toUpperCase());
+        } catch (Exception e) {
+            logger.warn("Unknown upstream http version: {}, fallback to HTTP_2", version);
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+
+    public UpstreamHttpClient(Duration connectTimeout, Duration requestTimeout, HttpClient.Version version,
+            int executorThreads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(executorThreads, runnable -> {
+            Thread thread = new Thread(runnable, "upstream-http-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(connectTimeout)
+                .version(version)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        logger.info("Upstream http client created, version: {}, connectTimeout: {}ms, requestTimeout: {}ms, threads: {}",
+                version, connectTimeout.toMillis(), requestTimeout.toMillis(), executorThreads);
+    }
+
+    /**
+     * 以表单方式 POST，请求超时作为读取超时；非 200 响应作为 UPS-502 失败返回
+     */
+    public CompletableFuture<String> postForm(String uri, String body) {
+        return postForm(uri, body, requestTimeout.toMillis());
+    }
+
+    /**
+     * 超时取 timeoutMillis 与配置的请求超时中较小的一个，用于按请求剩余时间收紧超时
+     */
+    public CompletableFuture<String> postForm(String uri, String body, long timeoutMillis) {
+        Duration timeout = effectiveTimeout(timeoutMillis);
+        HttpRequest request;
+        try {
+            request = buildFormRequest(uri, body, timeout);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        requestCount.increment();
+        inFlight.incrementAndGet();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, throwable) -> complete(response, throwable, timeout, start, startMillis));
+    }
+
+    /**
+     * postForm 的阻塞版本，供虚拟线程模式使用，错误处理和统计与异步版本一致
+     */
+    public String postFormBlocking(String uri, String body, long timeoutMillis) {
+        Duration timeout = effectiveTimeout(timeoutMillis);
+        HttpRequest request = buildFormRequest(uri, body, timeout);
+
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        requestCount.increment();
+        inFlight.incrementAndGet();
+
+        HttpResponse<String> response = null;
+        Throwable throwable = null;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throwable = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throwable = e;
+        }
+        return complete(response, throwable, timeout, start, startMillis);
+    }
+
+    private Duration effectiveTimeout(long timeoutMillis) {
+        return Duration.ofMillis(Math.max(1, Math.min(requestTimeout.toMillis(), timeoutMillis)));
+    }
+
+    private HttpRequest buildFormRequest(String uri, String body, Duration timeout) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(uri))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8")
+                .header("Accept-Charset", "UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private String complete(HttpResponse<String> response, Throwable throwable, Duration timeout, long start,
+            long startMillis) {
+        inFlight.decrementAndGet();
+        long duration = System.nanoTime() - start;
+        totalLatencyNanos.add(duration);
+
+        if (throwable != null) {
+            RuntimeException error = translateError(throwable, timeout);
+            recordLatency(error instanceof BusinessException
+                    && ErrorCode.UPSTREAM_TIMEOUT.getCode()
+                            .equals(((BusinessException) error).getErrorCode()) ? "timeout" : "error",
+                    duration);
+            throw error;
+        }
+
+        recordLatency(String.valueOf(response.statusCode()), duration);
+        recordConnection(response, startMillis);
+        if (response.statusCode() != 200) {
+            non200Count.increment();
+            // 502/503 来自网关或上游拒绝服务，请求未被受理
+            boolean beforeCharge = response.statusCode() == 502 || response.statusCode() == 503;
+            throw new UpstreamException(ErrorCode.UPSTREAM_ERROR,
+                    "HTTP request failed with status code: " + response.statusCode(), 502, beforeCharge);
+        }
+        return response.body();
+    }
+
+    private static void recordLatency(String status, long durationNanos) {
+        Metrics.getInstance().timer("upstream_http_request_seconds",
+                "UnionPay 3060 http request latency by status code, or timeout/error", "status", status)
+                .record(durationNanos);
+    }
+
+    private RuntimeException translateError(Throwable throwable, Duration timeout) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        if (cause instanceof HttpConnectTimeoutException) {
+            connectTimeoutCount.increment();
+            return new UpstreamException(ErrorCode.UPSTREAM_TIMEOUT, "Upstream connect timeout", 504, true);
+        }
+        if (cause instanceof HttpTimeoutException) {
+            requestTimeoutCount.increment();
+            return new UpstreamException(ErrorCode.UPSTREAM_TIMEOUT,
+                    "Upstream request timeout after " + timeout.toMillis() + "ms", 504, false);
+        }
+
+        errorCount.increment();
+        if (cause instanceof ConnectException) {
+            return new UpstreamException(ErrorCode.UPSTREAM_ERROR, "Upstream connect failed: " + cause,
+                    502, true);
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * JDK HttpClient 不暴露连接池信息，这里根据 TLS 会话创建时间判断本次请求是否新建了连接：
+     * 会话在请求开始后创建说明发生了握手，否则复用了已有连接
+     */
+    private void recordConnection(HttpResponse<?> response, long startMillis) {
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Count.increment();
+        }
+        response.sslSession().ifPresent(session -> {
+            if (isNewSession(session, startMillis)) {
+                newTlsSessionCount.increment();
+            } else {
+                reusedTlsSessionCount.increment();
+            }
+        });
+    }
+
+    private static boolean isNewSession(SSLSession session, long startMillis) {
+        return session.getCreationTime() >= startMillis;
+    }
+
+    public UpstreamClientStats getStats() {
+        long requests = requestCount.sum();
+        long newSessions = newTlsSessionCount.sum();
+        long reusedSessions = reusedTlsSessionCount.sum();
+        long tlsTotal = newSessions + reusedSessions;
+        return new UpstreamClientStats(
+                requests,
+                inFlight.get(),
+                non200Count.sum(),
+                errorCount.sum(),
+                connectTimeoutCount.sum(),
+                requestTimeoutCount.sum(),
+                http2Count.sum(),
+                newSessions,
+                reusedSessions,
+                tlsTotal == 0 ? 0 : (double) reusedSessions / tlsTotal,
+                requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.sum() / requests) / 1000.0);
+    }
+}
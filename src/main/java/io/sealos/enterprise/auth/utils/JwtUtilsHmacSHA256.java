@@ -8,6 +8,7 @@ import io.github.cdimascio.dotenv.Dotenv;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
@@ -85,6 +86,36 @@ public final class JwtUtilsHmacSHA256 {
         return mac;
     }
 
+    // Mac 非线程安全，每个线程复用一个已初始化的实例，doFinal 后自动重置
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return createMacInstance();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new JwtConfigurationException("Failed to initialize " + HMAC_ALGORITHM, e);
+        }
+    });
+
+    /**
+     * 验证通过的 token，expiresAtMillis 已包含时钟偏差缓冲
+     */
+    public static final class VerifiedToken<T> {
+        private final T payload;
+        private final long expiresAtMillis;
+
+        private VerifiedToken(T payload, long expiresAtMillis) {
+            this.payload = payload;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+
     private static String extractToken(String token) {
         if (token == null) {
             return null;
@@ -116,7 +147,7 @@ public final class JwtUtilsHmacSHA256 {
                     .encodeToString(objectMapper.writeValueAsString(claims).getBytes(StandardCharsets.UTF_8));
 
             String signatureInput = headerEncoded + "." + payloadEncoded;
-            byte[] signature = createMacInstance().doFinal(signatureInput.getBytes(StandardCharsets.UTF_8));
+            byte[] signature = MAC.get().doFinal(signatureInput.getBytes(StandardCharsets.UTF_8));
 
             return String.format("%s.%s.%s", headerEncoded, payloadEncoded,
                     Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
@@ -127,52 +158,73 @@ public final class JwtUtilsHmacSHA256 {
     }
 
     public static <T> Optional<T> parseToken(String token, Class<T> clazz) {
+        return verifyToken(token, clazz).map(VerifiedToken::getPayload);
+    }
+
+    /**
+     * 验证签名和过期时间，同时返回过期时间供调用方缓存
+     */
+    public static <T> Optional<VerifiedToken<T>> verifyToken(String token, Class<T> clazz) {
         try {
             String actualToken = extractToken(token);
             if (actualToken == null) {
                 return Optional.empty();
             }
 
-            String[] parts = actualToken.split("\\.");
-            if (parts.length != 3) {
+            // 不用正则 split，直接定位两个分隔符
+            int firstDot = actualToken.indexOf('.');
+            int secondDot = firstDot < 0 ? -1 : actualToken.indexOf('.', firstDot + 1);
+            if (secondDot < 0 || actualToken.indexOf('.', secondDot + 1) >= 0) {
                 return Optional.empty();
             }
 
             // Verify signature
-            if (!verifySignature(parts[0] + "." + parts[1], parts[2])) {
+            if (!verifySignature(actualToken, secondDot)) {
                 return Optional.empty();
             }
 
             // Parse and verify claims
-            Map<String, Object> claims = decodePayload(parts[1]);
+            Map<String, Object> claims = decodePayload(actualToken, firstDot + 1, secondDot);
             if (isExpired(claims)) {
                 return Optional.empty();
             }
+            long expiresAtMillis = ((Number) claims.get("exp")).longValue() * 1000 + EXPIRATION_BUFFER;
 
             // Remove standard claims before converting to payload
             claims.remove("exp");
             claims.remove("iat");
 
-            return Optional.of(objectMapper.convertValue(claims, clazz));
+            return Optional.of(new VerifiedToken<>(objectMapper.convertValue(claims, clazz), expiresAtMillis));
+        } catch (IllegalArgumentException | ClassCastException | IOException e) {
+            // 客户端传入的 token 格式错误（base64、JSON、claim 类型），不记录堆栈，避免被无效 token 刷日志
+            logger.debug("Token validation failed: {}", e.getMessage());
+            return Optional.empty();
         } catch (Exception e) {
             logger.error("Failed to parse JWT token", e);
             return Optional.empty();
         }
     }
 
-    private static boolean verifySignature(String signatureInput, String signaturePart) {
+    // 签名输入为 token 中第二个 '.' 之前的部分，token 为 base64url 字符，按 ASCII 编码
+    private static boolean verifySignature(String token, int secondDot) {
         try {
-            byte[] expectedSignature = createMacInstance().doFinal(signatureInput.getBytes(StandardCharsets.UTF_8));
-            byte[] actualSignature = Base64.getUrlDecoder().decode(signaturePart);
+            byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+            Mac mac = MAC.get();
+            mac.update(tokenBytes, 0, secondDot);
+            byte[] expectedSignature = mac.doFinal();
+            byte[] actualSignature = Base64.getUrlDecoder().decode(token.substring(secondDot + 1));
             return MessageDigest.isEqual(expectedSignature, actualSignature);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Token validation failed, malformed signature: {}", e.getMessage());
+            return false;
         } catch (Exception e) {
             logger.error("Signature verification failed", e);
             return false;
         }
     }
 
-    private static Map<String, Object> decodePayload(String payloadPart) throws Exception {
-        String payloadJson = new String(Base64.getUrlDecoder().decode(payloadPart), StandardCharsets.UTF_8);
+    private static Map<String, Object> decodePayload(String token, int start, int end) throws Exception {
+        byte[] payloadJson = Base64.getUrlDecoder().decode(token.substring(start, end));
         return objectMapper.readValue(payloadJson, new TypeReference<Map<String, Object>>() {
         });
     }
@@ -183,29 +235,7 @@ public final class JwtUtilsHmacSHA256 {
     }
 
     public static boolean validateToken(String token) {
-        try {
-            String actualToken = extractToken(token);
-            if (actualToken == null) {
-                return false;
-            }
-
-            String[] parts = actualToken.split("\\.");
-            if (parts.length != 3) {
-                return false;
-            }
-
-            // Verify signature
-            if (!verifySignature(parts[0] + "." + parts[1], parts[2])) {
-                return false;
-            }
-
-            // Check expiration
-            Map<String, Object> claims = decodePayload(parts[1]);
-            return !isExpired(claims);
-        } catch (Exception e) {
-            logger.debug("Token validation failed", e);
-            return false;
-        }
+        return verifyToken(token, Map.class).isPresent();
     }
 
     public static class JwtConfigurationException extends RuntimeException {
@@ -0,0 +1,78 @@
+package io.sealos.enterprise.auth.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 汉字拼音首字母，用于银行名称检索，不引入拼音库
+ *
+ * GB2312 一级汉字（3755 个）按拼音排序，按编码区间即可得到首字母；二级汉字按部首排序，
+ * 银行名称中用到的地名生僻字和多音字（如“银行”的“行”）由补充表给出。无法识别的字符原样保留（字母转小写）。
+ */
+public class PinyinUtils {
+    private static final Charset GB2312 = Charset.forName("GB2312");
+
+    // 各声母在 GB2312 一级汉字中的起始编码，最后一个为一级汉字结束位置
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1, 0xD7FA };
+    private static final char[] INITIALS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    private static final Map<Character, Character> SUPPLEMENT = new HashMap<>();
+
+    static {
+        // 多音字，取在银行名称中的读音
+        supplement("行h重c藏z");
+        // 二级汉字
+        supplement("圳z岚l岫x朐q柘z榄l泓h泗s泸l猗y珲h绛j罘f荥x莞g蕲q衢q鄞y鑫x闵m黟y"
+                + "邳p郯t莒j兖y滕t沭s睢s泾j渑m濮p漯l亳b颍y皖w涪f綦q邛q郫p犍q阆l婺w暨j"
+                + "磐p闽m莆p琼q邕y梧w钦q岑c汕s榕r沅y浏l醴l郴c耒l湄m昊h");
+    }
+
+    private static void supplement(String pairs) {
+        for (int i = 0; i + 1 < pairs.length(); i += 2) {
+            SUPPLEMENT.put(pairs.charAt(i), pairs.charAt(i + 1));
+        }
+    }
+
+    private PinyinUtils() {
+    }
+
+    /**
+     * 拼音首字母，如“中国银行”返回“zgyh”
+     */
+    public static String initials(String text) {
+        CharsetEncoder encoder = GB2312.newEncoder();
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            result.append(initial(encoder, text.charAt(i)));
+        }
+        return result.toString();
+    }
+
+    private static char initial(CharsetEncoder encoder, char ch) {
+        if (ch < 0x80) {
+            return Character.toLowerCase(ch);
+        }
+        Character supplemented = SUPPLEMENT.get(ch);
+        if (supplemented != null) {
+            return supplemented;
+        }
+        if (!encoder.canEncode(ch)) {
+            return ch;
+        }
+        byte[] bytes = String.valueOf(ch).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return ch;
+        }
+        int code = ((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF);
+        for (int i = 0; i < INITIALS.length; i++) {
+            if (code >= BOUNDARIES[i] && code < BOUNDARIES[i + 1]) {
+                return INITIALS[i];
+            }
+        }
+        return ch;
+    }
+}
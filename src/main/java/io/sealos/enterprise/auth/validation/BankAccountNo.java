@@ -0,0 +1,25 @@
+package io.sealos.enterprise.auth.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 银行账号只能包含数字；以 ACCOUNT_NO_LUHN_PREFIXES 中的前缀开头的账号（银行卡号）还需通过 Luhn 校验
+ */
+@Documented
+@Constraint(validatedBy = BankAccountNoValidator.class)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BankAccountNo {
+    String message() default "银行账号只能包含数字，银行卡号需通过 Luhn 校验";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,63 @@
+package io.sealos.enterprise.auth.validation;
+
+import io.sealos.enterprise.auth.config.EnvConfig;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * 对公结算账户一般没有 Luhn 校验位（如银联测试环境的 6221501111111113900），
+ * 因此 Luhn 只用于配置了前缀的银行卡号，默认只校验是否全为数字。不分配对象
+ */
+public class BankAccountNoValidator implements ConstraintValidator<BankAccountNo, String> {
+    private static final String[] LUHN_PREFIXES = EnvConfig.getAccountNoLuhnPrefixes().toArray(new String[0]);
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        // 为空和长度由 @NotBlank、@Size 校验
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        if (!isDigits(value)) {
+            return false;
+        }
+        for (String prefix : LUHN_PREFIXES) {
+            if (value.startsWith(prefix)) {
+                return isLuhnValid(value);
+            }
+        }
+        return true;
+    }
+
+    public static boolean isDigits(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从最后一位起，偶数位（从 1 计）乘 2 后各位相加，总和能被 10 整除
+     */
+    public static boolean isLuhnValid(CharSequence digits) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return digits.length() > 1 && sum % 10 == 0;
+    }
+}
@@ -0,0 +1,25 @@
+package io.sealos.enterprise.auth.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 18 位的统一社会信用代码按 GB 32100-2015 校验字符集和校验位，其他长度（旧注册号等）不校验
+ */
+@Documented
+@Constraint(validatedBy = UnifiedSocialCreditCodeValidator.class)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UnifiedSocialCreditCode {
+    String message() default "统一社会信用代码格式错误或校验位不正确";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,52 @@
+package io.sealos.enterprise.auth.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Arrays;
+
+/**
+ * GB 32100-2015：18 位，字符集为数字和除 I、O、Z、S、V 外的大写字母（共 31 个），
+ * 前 17 位按字符集中的序号加权求和，校验位为 31 - 和 % 31（31 取 0）对应的字符。只遍历一次，不分配对象
+ */
+public class UnifiedSocialCreditCodeValidator implements ConstraintValidator<UnifiedSocialCreditCode, String> {
+    public static final int LENGTH = 18;
+
+    private static final String CHARSET = "0123456789ABCDEFGHJKLMNPQRTUWXY";
+    private static final int[] WEIGHTS = { 1, 3, 9, 27, 19, 26, 16, 17, 20, 29, 25, 13, 8, 24, 10, 30, 28 };
+    // 字符 -> 字符集中的序号，不在字符集中为 -1
+    private static final int[] CODES = new int[128];
+
+    static {
+        Arrays.fill(CODES, -1);
+        for (int i = 0; i < CHARSET.length(); i++) {
+            CODES[CHARSET.charAt(i)] = i;
+        }
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        // 为空和长度由 @NotBlank、@Size 校验
+        return value == null || value.length() != LENGTH || isValid(value);
+    }
+
+    public static boolean isValid(CharSequence code) {
+        if (code.length() != LENGTH) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            int value = code(code.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            sum += value * WEIGHTS[i];
+        }
+        int check = (CHARSET.length() - sum % CHARSET.length()) % CHARSET.length();
+        return code(code.charAt(LENGTH - 1)) == check;
+    }
+
+    private static int code(char ch) {
+        return ch < CODES.length ? CODES[ch] : -1;
+    }
+}
@@ -0,0 +1,104 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.upstream.AdaptiveConcurrencyLimiter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static void testQueueAndReject() {
+        // Given limit 2, queue 1
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1, 1000, 5000);
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().join();
+        limiter.acquire().join();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = limiter.acquire();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> rejected = limiter.acquire();
+
+        // Then
+        assert !queued.isDone() : "Third request should be queued";
+        assert rejected.isCompletedExceptionally() : "Fourth request should be rejected";
+        assert limiter.getStats().getQueueDepth() == 1 : "Queue depth mismatch";
+
+        first.onIgnore();
+        assert queued.isDone() && !queued.isCompletedExceptionally() : "Queued request should get the permit";
+        assert limiter.getStats().getQueueDepth() == 0 : "Queue should be drained";
+
+        System.out.println("Queue and reject test passed");
+    }
+
+    private static void testQueueTimeout() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1, 50, 5000);
+        limiter.acquire().join();
+
+        try {
+            limiter.acquire().join();
+            assert false : "Queued request should time out";
+        } catch (CompletionException e) {
+            assert e.getCause() instanceof BusinessException : "Should fail with BusinessException";
+            assert "UPS-429".equals(((BusinessException) e.getCause()).getErrorCode()) : "Error code mismatch";
+        }
+        assert limiter.getStats().getQueueTimeoutCount() == 1 : "Queue timeout should be counted";
+
+        System.out.println("Queue timeout test passed");
+    }
+
+    private static void testQueueWaitBoundedByCaller() {
+        // Given a 10s queue timeout
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1, 10000, 5000);
+        limiter.acquire().join();
+
+        // When the caller only has 50ms left
+        long start = System.nanoTime();
+        try {
+            limiter.acquire(50).join();
+            assert false : "Queued request should time out";
+        } catch (CompletionException e) {
+            assert e.getCause() instanceof BusinessException : "Should fail with BusinessException";
+        }
+
+        // Then it gives up at the caller's limit
+        assert System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5) : "Wait should be bounded by the caller";
+        assert limiter.getStats().getQueueDepth() == 0 : "Timed out waiter should leave the queue";
+
+        System.out.println("Queue wait bounded by caller test passed");
+    }
+
+    private static void testAimd() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, 0, 0, 5000);
+
+        // Drops shrink the limit multiplicatively
+        limiter.acquire().join().onDropped();
+        assert limiter.getStats().getLimit() == 9 : "Limit should back off on drop";
+
+        // Successes grow the limit only when saturated
+        limiter.acquire().join().onSuccess();
+        assert limiter.getStats().getLimit() == 9 : "Limit should not grow when not saturated";
+
+        AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[9];
+        for (int i = 0; i < permits.length; i++) {
+            permits[i] = limiter.acquire().join();
+        }
+        permits[0].onSuccess();
+        assert limiter.getStats().getLimit() == 10 : "Limit should grow when saturated";
+
+        System.out.println("AIMD test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting AdaptiveConcurrencyLimiter tests...\n");
+            testQueueAndReject();
+            testQueueTimeout();
+            testQueueWaitBoundedByCaller();
+            testAimd();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
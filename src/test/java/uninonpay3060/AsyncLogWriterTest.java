@@ -0,0 +1,199 @@
+package uninonpay3060;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.logging.AsyncLogWriter;
+import io.sealos.enterprise.auth.model.response.LoggingStats;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncLogWriterTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 第一次写入前等待放行，模拟卡住的 stderr
+     */
+    private static class StalledOutput extends OutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.write(bytes, offset, length);
+        }
+
+        private synchronized String text() {
+            return buffer.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<JsonNode> lines(String output) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private static void testJsonLines() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncLogWriter writer = new AsyncLogWriter(64, AsyncLogWriter.Format.JSON,
+                AsyncLogWriter.QueueFullPolicy.DROP, out);
+
+        // When
+        writer.log(Level.INFO, "test.Logger", "orderId: {}, respMsg: {}", new Object[] { "2024", "认证\"成功\"\n" },
+                null);
+        writer.log(Level.WARN, "test.Logger", "literal \\{} and {} {}", new Object[] { "a" }, null);
+        writer.log(Level.ERROR, "test.Logger", "failed", null, new IllegalStateException("boom"));
+        writer.close();
+
+        // Then
+        List<JsonNode> lines = lines(out.toString(StandardCharsets.UTF_8));
+        assert lines.size() == 3 : "Should write three lines, got " + lines.size();
+        assert "INFO".equals(lines.get(0).get("level").asText()) : "Level mismatch";
+        assert "test.Logger".equals(lines.get(0).get("logger").asText()) : "Logger mismatch";
+        assert "main".equals(lines.get(0).get("thread").asText()) : "Thread mismatch";
+        assert "orderId: 2024, respMsg: 认证\"成功\"\n".equals(lines.get(0).get("message").asText())
+                : "Message should be formatted and escaped, was " + lines.get(0).get("message");
+        assert lines.get(0).get("time").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{2}:\\d{2}")
+                : "Time should be ISO-8601 with offset, was " + lines.get(0).get("time");
+        assert "literal {} and a {}".equals(lines.get(1).get("message").asText())
+                : "Placeholders mismatch, was " + lines.get(1).get("message");
+        assert lines.get(2).get("exception").asText().contains("IllegalStateException: boom")
+                : "Stack trace should be included";
+
+        // Events after close are written synchronously
+        writer.log(Level.INFO, "test.Logger", "after close", null, null);
+        assert out.toString(StandardCharsets.UTF_8).contains("after close") : "Late event should not be lost";
+        System.out.println("JSON lines test passed");
+    }
+
+    private static void testDropWhenFull() throws Exception {
+        // Given a writer whose output is stuck and a queue of 8
+        StalledOutput out = new StalledOutput();
+        AsyncLogWriter writer = new AsyncLogWriter(8, AsyncLogWriter.Format.JSON,
+                AsyncLogWriter.QueueFullPolicy.DROP, out);
+
+        // When a burst of events arrives
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            writer.log(Level.ERROR, "test.Logger", "event {}", new Object[] { i }, null);
+        }
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then the caller is not blocked and the overflow is counted
+        assert tookMillis < 1000 : "Logging should not block on a stuck output, took " + tookMillis + "ms";
+        LoggingStats stats = writer.getStats();
+        assert stats.getDroppedCount() > 0 : "Overflow should be dropped";
+        assert stats.getEnqueuedCount() + stats.getDroppedCount() == 100 : "Every event should be accounted for";
+
+        out.release.countDown();
+        writer.close();
+        String output = out.text();
+        assert output.contains("Dropped " + stats.getDroppedCount() + " log events")
+                : "A drop notice should be written";
+        assert writer.getStats().getWrittenCount() == stats.getEnqueuedCount() + 1
+                : "Queued events and the notice should be written";
+        System.out.println("Drop when full test passed");
+    }
+
+    private static void testBlockWhenFull() throws Exception {
+        // Given a blocking writer with a tiny queue
+        StalledOutput out = new StalledOutput();
+        AsyncLogWriter writer = new AsyncLogWriter(4, AsyncLogWriter.Format.TEXT,
+                AsyncLogWriter.QueueFullPolicy.BLOCK, out);
+
+        // When producers outrun the output
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    writer.log(Level.INFO, "test.Logger", "thread {} event {}", new Object[] { id, i }, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        Thread.sleep(100);
+        out.release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        writer.close();
+
+        // Then nothing is dropped
+        LoggingStats stats = writer.getStats();
+        assert stats.getDroppedCount() == 0 : "Block policy should not drop";
+        assert stats.getWrittenCount() == 200 : "Every event should be written, got " + stats.getWrittenCount();
+        assert out.text().split("\n").length == 200 : "Text format should write one line per event";
+        System.out.println("Block when full test passed");
+    }
+
+    private static void testConcurrentProducers() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncLogWriter writer = new AsyncLogWriter(1024, AsyncLogWriter.Format.JSON,
+                AsyncLogWriter.QueueFullPolicy.DROP, out);
+
+        // When 8 threads log concurrently
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    writer.log(Level.INFO, "test.Logger", "event {}", new Object[] { i }, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.close();
+
+        // Then every accepted event is written exactly once as a complete line
+        LoggingStats stats = writer.getStats();
+        assert stats.getEnqueuedCount() + stats.getDroppedCount() == 40000 : "Every event should be accounted for";
+        List<JsonNode> lines = lines(out.toString(StandardCharsets.UTF_8));
+        long events = lines.stream().filter(line -> "test.Logger".equals(line.get("logger").asText())).count();
+        assert events == stats.getEnqueuedCount() : "Written events should match enqueued, got " + events;
+        System.out.println("Concurrent producers test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting AsyncLogWriter tests...\n");
+            testJsonLines();
+            testDropWhenFull();
+            testBlockWhenFull();
+            testConcurrentProducers();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
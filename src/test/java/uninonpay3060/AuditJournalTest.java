@@ -0,0 +1,217 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.audit.AuditJournal;
+import io.sealos.enterprise.auth.audit.AuditJournalCli;
+import io.sealos.enterprise.auth.audit.AuditJournalReader;
+import io.sealos.enterprise.auth.model.entity.AuditRecord;
+import io.sealos.enterprise.auth.model.response.AuditJournalStats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class AuditJournalTest {
+
+    private static AuditRecord record(int i) {
+        AuditRecord record = new AuditRecord();
+        record.setTimestamp(1_700_000_000_000L + i);
+        record.setOrderId(String.format("20240101%016d", i));
+        record.setAttemptNo(1);
+        record.setKind("first");
+        record.setUserId("user-" + i);
+        record.setRegionUid("region-1");
+        record.setRespCode("00000000");
+        record.setOrderStatus("0000");
+        record.setTransAmt("0.50");
+        record.setLatencyMicros(1000 + i);
+        record.setRequestHash("ab".repeat(32));
+        return record;
+    }
+
+    private static List<AuditRecord> readAll(AuditJournalReader reader) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        reader.read(records::add);
+        return records;
+    }
+
+    private static void testAppendAndRead() throws IOException {
+        // Given
+        Path dir = Files.createTempDirectory("audit");
+        AuditJournal journal = new AuditJournal(dir, 1024 * 1024, 1000);
+        AuditRecord failed = record(2);
+        failed.setRespCode(null);
+        failed.setOrderStatus(null);
+        failed.setTransAmt(null);
+        failed.setErrorCode("UPS-504");
+
+        // When
+        journal.append(record(1));
+        journal.append(failed);
+        journal.close();
+        journal.append(record(3));
+
+        // Then
+        List<AuditRecord> records = readAll(new AuditJournalReader(dir));
+        assert records.size() == 2 : "Should read two records, got " + records.size();
+        assert records.get(0).equals(record(1)) : "First record should round-trip";
+        assert records.get(1).equals(failed) : "Null fields and error code should round-trip";
+        AuditJournalStats stats = journal.getStats();
+        assert stats.getRecordCount() == 2 : "Record count mismatch";
+        assert stats.getDroppedCount() == 1 : "Append after close should be dropped";
+        System.out.println("Append and read test passed");
+    }
+
+    private static void testRollSegments() throws IOException {
+        // Given a 64KB segment and about 200 bytes per record
+        Path dir = Files.createTempDirectory("audit");
+        AuditJournal journal = new AuditJournal(dir, 64 * 1024, 0);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            journal.append(record(i));
+        }
+        journal.close();
+
+        // Then records span several segments and come back in order
+        AuditJournalReader reader = new AuditJournalReader(dir);
+        assert reader.segments().size() > 1 : "Should roll to new segments";
+        List<AuditRecord> records = readAll(reader);
+        assert records.size() == 1000 : "Should read every record, got " + records.size();
+        for (int i = 0; i < 1000; i++) {
+            assert records.get(i).getOrderId().equals(record(i).getOrderId()) : "Records out of order at " + i;
+        }
+        assert reader.getCorruptSegments() == 0 : "No segment should be corrupt";
+
+        // A restart continues in a new segment
+        int segments = reader.segments().size();
+        AuditJournal reopened = new AuditJournal(dir, 64 * 1024, 0);
+        reopened.append(record(1000));
+        reopened.close();
+        assert reader.segments().size() == segments + 1 : "Restart should open a new segment";
+        assert readAll(new AuditJournalReader(dir)).size() == 1001 : "Restart should keep old records";
+        System.out.println("Roll segments test passed");
+    }
+
+    private static void testTornRecord() throws IOException {
+        // Given a journal whose last record was only partly persisted
+        Path dir = Files.createTempDirectory("audit");
+        AuditJournal journal = new AuditJournal(dir, 64 * 1024, 1000);
+        journal.append(record(1));
+        long lastOffset = journal.getStats().getSegmentPosition();
+        journal.append(record(2));
+        journal.close();
+        Path segment = new AuditJournalReader(dir).segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(lastOffset + 20);
+            file.write(file.read() ^ 0xff);
+        }
+
+        // When
+        AuditJournalReader reader = new AuditJournalReader(dir);
+        List<AuditRecord> records = readAll(reader);
+
+        // Then
+        assert records.size() == 1 : "Should stop before the torn record, got " + records.size();
+        assert reader.getCorruptSegments() == 1 : "Torn record should be reported";
+        System.out.println("Torn record test passed");
+    }
+
+    private static void testReadVersion1Segment() throws IOException {
+        // Given a segment written before records carried attemptNo and kind
+        Path dir = Files.createTempDirectory("audit");
+        String[] strings = { "202401010001000000000001", "user-1", "region-1", "00000000", "0000", "0.50", null,
+                "ab".repeat(32) };
+        ByteBuffer payload = ByteBuffer.allocate(1024);
+        payload.putLong(1_700_000_000_000L).putLong(1500);
+        for (String value : strings) {
+            if (value == null) {
+                payload.putShort((short) -1);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                payload.putShort((short) bytes.length).put(bytes);
+            }
+        }
+        payload.flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        ByteBuffer segment = ByteBuffer.allocate(16 + 8 + payload.remaining() + 4);
+        segment.putInt(0x41554431).putInt(1).putLong(1_700_000_000_000L);
+        segment.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload).putInt(0);
+        Files.write(dir.resolve("segment-00000000000000000001.journal"), segment.array());
+
+        // When
+        AuditJournalReader reader = new AuditJournalReader(dir);
+        List<AuditRecord> records = readAll(reader);
+
+        // Then the old record is read without attempt details
+        assert records.size() == 1 : "Should read the version 1 record, got " + records.size();
+        AuditRecord record = records.get(0);
+        assert strings[0].equals(record.getOrderId()) : "Order id mismatch";
+        assert strings[7].equals(record.getRequestHash()) : "Request hash mismatch";
+        assert record.getLatencyMicros() == 1500 : "Latency mismatch";
+        assert record.getAttemptNo() == 0 && record.getKind() == null : "Version 1 has no attempt details";
+        assert reader.getCorruptSegments() == 0 : "Version 1 segment should not be corrupt";
+        System.out.println("Read version 1 segment test passed");
+    }
+
+    private static void testSummaryByOrderDate() throws Exception {
+        // Given an order placed on 2024-01-01 whose hedge completed after midnight, and one on 2024-01-02
+        Path dir = Files.createTempDirectory("audit");
+        AuditJournal journal = new AuditJournal(dir, 1024 * 1024, 0);
+        long midnight = LocalDate.of(2024, 1, 2).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        AuditRecord first = record(1);
+        first.setTimestamp(midnight - 100);
+        AuditRecord hedge = record(1);
+        hedge.setAttemptNo(2);
+        hedge.setKind("hedge");
+        hedge.setTimestamp(midnight + 100);
+        AuditRecord nextDay = record(2);
+        nextDay.setOrderId(String.format("20240102%016d", 2));
+        nextDay.setTimestamp(midnight + 200);
+        journal.append(first);
+        journal.append(hedge);
+        journal.append(nextDay);
+        journal.close();
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(output, true, "UTF-8"));
+        try {
+            AuditJournalCli.main(new String[] { dir.toString(), "summary", "--to", "2024-01-01" });
+        } finally {
+            System.setOut(stdout);
+        }
+
+        // Then both attempts count towards the order date, charged once, and --to filters on that date
+        String[] lines = output.toString("UTF-8").trim().split("\n");
+        assert lines.length == 2 : "Should print one day, got " + output;
+        assert "2024-01-01,1,2,1,0.50,0".equals(lines[1]) : "Unexpected summary " + lines[1];
+        System.out.println("Summary by order date test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting AuditJournal tests...\n");
+            testAppendAndRead();
+            testRollSegments();
+            testTornRecord();
+            testReadVersion1Segment();
+            testSummaryByOrderDate();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.job.AuthJobService;
+import io.sealos.enterprise.auth.job.AuthJobStore;
+import io.sealos.enterprise.auth.job.JobCallbackSender;
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.model.entity.AuthJob;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AuthJobTest {
+    private static final UserDTO USER = new UserDTO("user-1", "ns-1", "region-1");
+
+    private static EnterpriseAuthRequest request() {
+        EnterpriseAuthRequest request = new EnterpriseAuthRequest();
+        request.setKey("91110000123456789X");
+        request.setKeyName("测试企业");
+        request.setUsrName("张三");
+        request.setAccountNo("6222020000000000");
+        return request;
+    }
+
+    private static AuthJob waitFor(AuthJobService service, String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            AuthJob job = service.get(jobId, USER);
+            if (job.getStatus().isTerminal()) {
+                return job;
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        throw new AssertionError("Job did not finish");
+    }
+
+    private static void testSubmitAndPoll(Path dir) throws Exception {
+        // Given
+        Unionpay3060ApiEnterpriseAuthResponse upstream = new Unionpay3060ApiEnterpriseAuthResponse();
+        upstream.setRespCode("00000001");
+        upstream.setOrderId("order-1");
+        AuthJobService service = new AuthJobService(new AuthJobStore(dir.resolve("jobs.ndjson"), 60000),
+                new JobCallbackSender(null, Set.of()),
+                (request, user, deadline) -> CompletableFuture.completedFuture(upstream), 60000, 1, 10);
+
+        // When
+        AuthJob submitted = service.submit(request(), null, USER);
+        AuthJob finished = waitFor(service, submitted.getId());
+
+        // Then
+        assert finished.getStatus() == AuthJob.Status.SUCCEEDED : "Job should succeed";
+        assert "order-1".equals(finished.getResult().getOrderId()) : "Result mismatch";
+        try {
+            service.get(submitted.getId(), new UserDTO("other", "ns", "region"));
+            assert false : "Other users should not see the job";
+        } catch (BusinessException e) {
+            assert "404".equals(e.getErrorCode()) : "Error code mismatch";
+        }
+
+        // And the job survives a restart
+        AuthJobStore reopened = new AuthJobStore(dir.resolve("jobs.ndjson"), 60000);
+        AuthJob restored = reopened.get(submitted.getId());
+        assert restored != null : "Job should be restored";
+        assert restored.getStatus() == AuthJob.Status.SUCCEEDED : "Restored status mismatch";
+        assert "order-1".equals(restored.getResult().getOrderId()) : "Restored result mismatch";
+
+        System.out.println("Submit and poll test passed");
+    }
+
+    private static void testRecover(Path dir) throws Exception {
+        // Given a store left with a pending and a running job
+        Path file = dir.resolve("recover.ndjson");
+        AuthJobStore store = new AuthJobStore(file, 60000);
+        AuthJob pending = new AuthJob();
+        pending.setId("pending");
+        pending.setUserId(USER.getUserId());
+        pending.setStatus(AuthJob.Status.PENDING);
+        pending.setRequest(request());
+        store.save(pending);
+        AuthJob running = new AuthJob();
+        running.setId("running");
+        running.setUserId(USER.getUserId());
+        running.setStatus(AuthJob.Status.RUNNING);
+        running.setRequest(request());
+        store.save(running);
+        store.close();
+        // Simulate a record half written before a crash
+        Files.writeString(file, "{\"id\":\"broken\",", java.nio.file.StandardOpenOption.APPEND);
+
+        // When
+        AuthJobService service = new AuthJobService(new AuthJobStore(file, 60000),
+                new JobCallbackSender(null, Set.of()),
+                (request, user, deadline) -> CompletableFuture
+                        .completedFuture(new Unionpay3060ApiEnterpriseAuthResponse()),
+                60000, 1, 10);
+        service.recover();
+
+        // Then
+        assert waitFor(service, "pending").getStatus() == AuthJob.Status.SUCCEEDED : "Pending job should rerun";
+        AuthJob interrupted = service.get("running", USER);
+        assert interrupted.getStatus() == AuthJob.Status.FAILED : "Running job should not be retried";
+
+        System.out.println("Recover test passed");
+    }
+
+    private static void testGetReturnsSnapshot(Path dir) throws Exception {
+        // Given a job whose upstream call is still in flight
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> upstream = new CompletableFuture<>();
+        AuthJobService service = new AuthJobService(new AuthJobStore(dir.resolve("snapshot.ndjson"), 60000),
+                new JobCallbackSender(null, Set.of()), (request, user, deadline) -> upstream, 60000, 1, 10);
+        AuthJob submitted = service.submit(request(), null, USER);
+        AuthJob running = null;
+        for (int i = 0; i < 100 && (running == null || running.getStatus() != AuthJob.Status.RUNNING); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            running = service.get(submitted.getId(), USER);
+        }
+        assert running.getStatus() == AuthJob.Status.RUNNING : "Job should be running";
+
+        // When the job completes and the caller modifies what it got back
+        Unionpay3060ApiEnterpriseAuthResponse response = new Unionpay3060ApiEnterpriseAuthResponse();
+        response.setOrderId("order-2");
+        upstream.complete(response);
+        AuthJob finished = waitFor(service, submitted.getId());
+        finished.setStatus(AuthJob.Status.FAILED);
+
+        // Then earlier snapshots are unchanged and the stored job is not affected
+        assert submitted.getStatus() == AuthJob.Status.PENDING : "Submitted snapshot should stay pending";
+        assert running.getStatus() == AuthJob.Status.RUNNING && running.getResult() == null
+                : "Running snapshot should not see the result";
+        AuthJob again = service.get(submitted.getId(), USER);
+        assert again.getStatus() == AuthJob.Status.SUCCEEDED : "Caller changes should not reach the store";
+        assert "order-2".equals(again.getResult().getOrderId()) : "Result mismatch";
+        System.out.println("Get returns snapshot test passed");
+    }
+
+    private static void testDeadline(Path dir) throws Exception {
+        // Given an upstream call that never completes and a 200ms request timeout
+        AuthJobService service = new AuthJobService(new AuthJobStore(dir.resolve("deadline.ndjson"), 60000),
+                new JobCallbackSender(null, Set.of()),
+                (request, user, deadline) -> new CompletableFuture<>(), 200, 1, 10);
+
+        // When
+        long start = System.nanoTime();
+        AuthJob finished = waitFor(service, service.submit(request(), null, USER).getId());
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then the job fails on its deadline, reported like the synchronous path
+        assert finished.getStatus() == AuthJob.Status.FAILED : "Job should fail";
+        assert "SYS-504".equals(finished.getErrorCode()) : "Should be DEADLINE_EXCEEDED, was "
+                + finished.getErrorCode();
+        assert finished.getErrorMessage().contains("200ms") : "Message should name the deadline";
+        assert tookMillis < 1500 : "Job should stop waiting at its deadline, took " + tookMillis + "ms";
+        System.out.println("Deadline test passed");
+    }
+
+    private static void testCallbackValidation() {
+        JobCallbackSender disabled = new JobCallbackSender(null, Set.of());
+        try {
+            disabled.validate("https://example.com/hook");
+            assert false : "Callback without secret should be rejected";
+        } catch (BusinessException e) {
+            assert "VAL-400".equals(e.getErrorCode()) : "Error code mismatch";
+        }
+
+        JobCallbackSender sender = new JobCallbackSender("secret", Set.of("example.com"));
+        sender.validate("https://example.com/hook");
+        for (String url : new String[] { "ftp://example.com/hook", "https://evil.com/hook" }) {
+            try {
+                sender.validate(url);
+                assert false : "Should reject " + url;
+            } catch (BusinessException e) {
+                assert "VAL-400".equals(e.getErrorCode()) : "Error code mismatch";
+            }
+        }
+
+        // Without an allowlist, hosts resolving to internal addresses are rejected
+        JobCallbackSender open = new JobCallbackSender("secret", Set.of());
+        open.validate("https://93.184.216.34/hook");
+        for (String url : new String[] { "http://93.184.216.34/hook", "https://127.0.0.1/hook",
+                "https://localhost/hook", "https://169.254.169.254/latest/meta-data", "https://10.0.0.8/hook",
+                "https://172.16.3.4/hook", "https://192.168.1.1/hook", "https://100.64.0.1/hook",
+                "https://0.0.0.0/hook", "https://[::1]/hook", "https://[fd00::1]/hook", "https://[fe80::1]/hook",
+                "https://[::ffff:10.0.0.1]/hook", "https://[64:ff9b::a9fe:a9fe]/hook" }) {
+            try {
+                open.validate(url);
+                assert false : "Should reject " + url;
+            } catch (BusinessException e) {
+                assert "VAL-400".equals(e.getErrorCode()) : "Error code mismatch";
+            }
+        }
+
+        // Allowlisted internal hosts and http in dev are accepted explicitly
+        JobCallbackSender dev = new JobCallbackSender("secret", Set.of("localhost"), true);
+        dev.validate("http://localhost:8080/hook");
+
+        // The address is checked again when the callback is sent
+        boolean delivered = open.send("job", "https://127.0.0.1:1/hook", "{}").join();
+        assert !delivered : "Callback to an internal address should not be sent";
+
+        System.out.println("Callback validation test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("auth-job-test");
+        try {
+            System.out.println("Starting AuthJob tests...\n");
+            testSubmitAndPoll(dir);
+            testRecover(dir);
+            testGetReturnsSnapshot(dir);
+            testDeadline(dir);
+            testCallbackValidation();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
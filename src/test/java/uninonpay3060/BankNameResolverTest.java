@@ -0,0 +1,137 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.service.BankNameResolver;
+import io.sealos.enterprise.auth.service.BankService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BankNameResolverTest {
+    private static Map<String, String> bankMap() {
+        Map<String, String> bankMap = new LinkedHashMap<>();
+        bankMap.put("中国工商银行", "中国工商银行股份有限公司");
+        bankMap.put("中国银行", "中国银行股份有限公司");
+        bankMap.put("上海浦东发展银行", "上海浦东发展银行股份有限公司");
+        bankMap.put("北京银行", "北京银行股份有限公司");
+        bankMap.put("南京银行", "南京银行股份有限公司");
+        bankMap.put("深圳农村商业银行", "深圳农村商业银行股份有限公司");
+        bankMap.put("泰安银行", "泰安银行股份有限公司");
+        bankMap.put("中国农业银行", "中国农业银行股份有限公司");
+        return bankMap;
+    }
+
+    private static BankNameResolver resolver() {
+        return new BankNameResolver(bankMap(), Map.of("浦发银行", "上海浦东发展银行", "ICBC", "中国工商银行",
+                "花旗", "花旗银行"));
+    }
+
+    private static void assertResolved(BankNameResolver resolver, String input, BankNameResolver.Type type,
+            String expected) {
+        BankNameResolver.Resolution resolution = resolver.resolve(input);
+        assert resolution.getType() == type : input + " should resolve as " + type + ", was " + resolution.getType();
+        assert expected.equals(resolution.getName()) : input + " should resolve to " + expected + ", was "
+                + resolution.getName();
+    }
+
+    private static void testExactAndAlias() {
+        // Given
+        BankNameResolver resolver = resolver();
+
+        // When / Then
+        assertResolved(resolver, "中国工商银行", BankNameResolver.Type.EXACT, "中国工商银行");
+        assertResolved(resolver, " 中国 工商银行　", BankNameResolver.Type.ALIAS, "中国工商银行");
+        assertResolved(resolver, "中国工商银行股份有限公司", BankNameResolver.Type.ALIAS, "中国工商银行");
+        assertResolved(resolver, "工商银行", BankNameResolver.Type.ALIAS, "中国工商银行");
+        assertResolved(resolver, "浦发银行", BankNameResolver.Type.ALIAS, "上海浦东发展银行");
+        assertResolved(resolver, "ｉｃｂｃ", BankNameResolver.Type.ALIAS, "中国工商银行");
+        assert resolver.resolve("花旗").getType() == BankNameResolver.Type.UNKNOWN
+                : "Alias to a bank not in bank.json should be ignored";
+        System.out.println("Exact and alias test passed");
+    }
+
+    private static void testFuzzy() {
+        // Given
+        BankNameResolver resolver = resolver();
+
+        // When / Then homophone typos keep the pinyin initials and are corrected
+        assertResolved(resolver, "深圳农村商业银航", BankNameResolver.Type.FUZZY, "深圳农村商业银行");
+        assertResolved(resolver, "深圳农村尚业银航", BankNameResolver.Type.FUZZY, "深圳农村商业银行");
+
+        // Similar names of other banks are only suggested
+        BankNameResolver.Resolution other = resolver.resolve("泰隆银行");
+        assert other.getType() == BankNameResolver.Type.UNKNOWN : "泰隆银行 is not 泰安银行";
+        assert other.getCandidates().equals(List.of("泰安银行")) : "Candidates mismatch: " + other.getCandidates();
+        other = resolver.resolve("中国农业发展银行");
+        assert other.getType() == BankNameResolver.Type.UNKNOWN : "中国农业发展银行 is not 中国农业银行";
+        assert other.getCandidates().equals(List.of("中国农业银行")) : "Candidates mismatch: " + other.getCandidates();
+        other = resolver.resolve("深圳农商业银行");
+        assert other.getType() == BankNameResolver.Type.UNKNOWN : "Missing characters should not be guessed";
+        assert other.getCandidates().equals(List.of("深圳农村商业银行")) : "Candidates mismatch";
+        BankNameResolver.Resolution ambiguous = resolver.resolve("东京银行");
+        assert ambiguous.getType() == BankNameResolver.Type.UNKNOWN : "Should not be guessed";
+        assert ambiguous.getCandidates().containsAll(List.of("北京银行", "南京银行")) : "Candidates mismatch";
+
+        // Short names only tolerate one edit
+        assert resolver.resolve("东京商行").getCandidates().isEmpty() : "Two edits should not be suggested";
+        assert resolver.resolve("花旗银行").getType() == BankNameResolver.Type.UNKNOWN
+                : "Unknown bank should be rejected";
+        System.out.println("Fuzzy test passed");
+    }
+
+    private static void testNormalizeAccountBank() throws IOException {
+        // Given
+        Path dir = Files.createTempDirectory("bank");
+        Path file = dir.resolve("bank.json");
+        Files.writeString(file, "{\"中国工商银行\":\"中国工商银行股份有限公司\",\"北京银行\":\"北京银行股份有限公司\","
+                + "\"南京银行\":\"南京银行股份有限公司\"}", StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("bank-alias.json"), "{\"工行\":\"中国工商银行\"}", StandardCharsets.UTF_8);
+        BankService bankService = new BankService(file);
+
+        // When an alias is used, it is rewritten before the upstream call
+        EnterpriseAuthRequest request = new EnterpriseAuthRequest();
+        request.setAccountBank("工行");
+        bankService.normalizeAccountBank(request);
+        assert "中国工商银行".equals(request.getAccountBank()) : "Alias should be rewritten";
+
+        // Missing accountBank is allowed
+        EnterpriseAuthRequest empty = new EnterpriseAuthRequest();
+        bankService.normalizeAccountBank(empty);
+        assert empty.getAccountBank() == null : "Missing accountBank should be left alone";
+
+        // Then a name that cannot be resolved is rejected with the closest banks
+        EnterpriseAuthRequest ambiguous = new EnterpriseAuthRequest();
+        ambiguous.setAccountBank("东京银行");
+        try {
+            bankService.normalizeAccountBank(ambiguous);
+            assert false : "Ambiguous accountBank should be rejected";
+        } catch (BusinessException e) {
+            assert e.getStatusCode() == 400 : "Should be a 400";
+            assert e.getMessage().contains("北京银行") && e.getMessage().contains("南京银行")
+                    : "Candidates should be suggested: " + e.getMessage();
+        }
+        System.out.println("Normalize accountBank test passed");
+        Files.deleteIfExists(dir.resolve("bank-alias.json"));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting BankNameResolver tests...\n");
+            testExactAndAlias();
+            testFuzzy();
+            testNormalizeAccountBank();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
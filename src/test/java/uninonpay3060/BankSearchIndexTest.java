@@ -0,0 +1,96 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.model.response.BankSearchItem;
+import io.sealos.enterprise.auth.service.BankSearchIndex;
+import io.sealos.enterprise.auth.utils.PinyinUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class BankSearchIndexTest {
+    private static BankSearchIndex index() {
+        Map<String, String> bankMap = new LinkedHashMap<>();
+        bankMap.put("中国工商银行", "中国工商银行股份有限公司");
+        bankMap.put("中国建设银行", "中国建设银行股份有限公司");
+        bankMap.put("中国银行", "中国银行股份有限公司");
+        bankMap.put("交通银行", "交通银行股份有限公司");
+        bankMap.put("建设银行", "建设银行测试");
+        bankMap.put("重庆银行", "重庆银行股份有限公司");
+        bankMap.put("深圳农村商业银行", "深圳农村商业银行股份有限公司");
+        bankMap.put("东莞银行", "东莞银行股份有限公司");
+        return new BankSearchIndex(bankMap);
+    }
+
+    private static List<String> names(List<BankSearchItem> items) {
+        return items.stream().map(BankSearchItem::getName).collect(Collectors.toList());
+    }
+
+    private static void testPinyinInitials() {
+        assert "zggsyh".equals(PinyinUtils.initials("中国工商银行")) : PinyinUtils.initials("中国工商银行");
+        assert "cqyh".equals(PinyinUtils.initials("重庆银行")) : "Polyphones should use the bank reading";
+        assert "szncsyyh".equals(PinyinUtils.initials("深圳农村商业银行")) : "Level-2 hanzi should be supplemented";
+        assert "dgyh".equals(PinyinUtils.initials("东莞银行")) : PinyinUtils.initials("东莞银行");
+        assert "abc1".equals(PinyinUtils.initials("ABC1")) : "ASCII should be lower-cased";
+        System.out.println("Pinyin initials test passed");
+    }
+
+    private static void testPrefixAndInfix() {
+        // Given
+        BankSearchIndex index = index();
+
+        // When / Then a prefix match ranks before an infix match
+        List<String> result = names(index.search("建设", 10));
+        assert result.equals(List.of("建设银行", "中国建设银行")) : "Unexpected matches: " + result;
+
+        // Exact name first, then shorter names
+        result = names(index.search("中国银行", 10));
+        assert result.get(0).equals("中国银行") : "Exact match should come first: " + result;
+        result = names(index.search("中国", 10));
+        assert result.equals(List.of("中国银行", "中国工商银行", "中国建设银行")) : "Unexpected order: " + result;
+
+        // Full names are searchable too
+        result = names(index.search("中国银行股份", 10));
+        assert result.equals(List.of("中国银行")) : "Full name should match: " + result;
+        System.out.println("Prefix and infix test passed");
+    }
+
+    private static void testPinyinSearch() {
+        // Given
+        BankSearchIndex index = index();
+
+        // When / Then initials and their suffixes match, ignoring case
+        assert names(index.search("JSYH", 10)).equals(List.of("建设银行", "中国建设银行"))
+                : "Initials should match: " + names(index.search("jsyh", 10));
+        assert names(index.search("cq", 10)).equals(List.of("重庆银行")) : "Polyphone should match";
+        assert names(index.search("ncs", 10)).equals(List.of("深圳农村商业银行")) : "Infix initials should match";
+        System.out.println("Pinyin search test passed");
+    }
+
+    private static void testLimitAndMiss() {
+        // Given
+        BankSearchIndex index = index();
+
+        // When / Then
+        assert index.search("银行", 3).size() == 3 : "Limit should be applied";
+        assert index.search("银行", 100).size() == 8 : "Every bank should match 银行";
+        assert index.search("花旗", 10).isEmpty() : "Unknown bank should not match";
+        assert index.search("  ", 10).isEmpty() : "Blank query should not match";
+        System.out.println("Limit and miss test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting BankSearchIndex tests...\n");
+            testPinyinInitials();
+            testPrefixAndInfix();
+            testPinyinSearch();
+            testLimitAndMiss();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
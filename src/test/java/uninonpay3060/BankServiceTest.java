@@ -0,0 +1,199 @@
+package uninonpay3060;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.handler.BankHandler;
+import io.sealos.enterprise.auth.model.response.BankStats;
+import io.sealos.enterprise.auth.service.BankJsonWatcher;
+import io.sealos.enterprise.auth.service.BankService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+public class BankServiceTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Path writeBankJson(Path file, String json, long modifiedMillis) throws IOException {
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+        return file;
+    }
+
+    private static void testPreEncodedSnapshot() throws IOException {
+        // Given
+        Path file = writeBankJson(Files.createTempFile("bank", ".json"),
+                "{\"ICBC\":\"中国工商银行\",\"CCB\":\"中国建设银行\"}", 1_000_000L);
+        BankService bankService = new BankService(file);
+
+        // When
+        BankService.Snapshot snapshot = bankService.getSnapshot();
+
+        // Then the body is the full ApiResponse envelope, and gzip decodes to the same bytes
+        JsonNode body = objectMapper.readTree(snapshot.getJson());
+        assert body.get("success").asBoolean() : "Envelope should be successful";
+        assert "中国工商银行".equals(body.get("data").get("ICBC").asText()) : "Bank name mismatch";
+        byte[] unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+            unzipped = in.readAllBytes();
+        }
+        assert Arrays.equals(unzipped, snapshot.getJson()) : "Gzip body should match the JSON body";
+        assert snapshot.getEtag().matches("\"[0-9a-f]{32}\"") : "ETag should be strong and quoted: " + snapshot.getEtag();
+        String etagValue = snapshot.getEtag().substring(0, snapshot.getEtag().length() - 1);
+        assert snapshot.getGzipEtag().equals(etagValue + "-gzip\"")
+                : "Gzip variant should have its own ETag: " + snapshot.getGzipEtag();
+        assert bankService.getSnapshot() == snapshot : "Unchanged file should reuse the snapshot";
+        assert bankService.getBankMap().size() == 2 : "Map size mismatch";
+        System.out.println("Pre-encoded snapshot test passed");
+        Files.deleteIfExists(file);
+    }
+
+    private static void testReloadChangesEtag() throws IOException {
+        // Given
+        Path file = writeBankJson(Files.createTempFile("bank", ".json"), "{\"ICBC\":\"中国工商银行\"}", 1_000_000L);
+        BankService bankService = new BankService(file);
+        String before = bankService.getSnapshot().getEtag();
+
+        // When the file changes and is reloaded
+        writeBankJson(file, "{\"ICBC\":\"中国工商银行\",\"BOC\":\"中国银行\"}", 2_000_000L);
+        assert bankService.reload() : "Reload should succeed";
+        BankService.Snapshot after = bankService.getSnapshot();
+
+        // Then a new snapshot is built with a new ETag, and the same content gives the same ETag
+        assert after.getBankMap().containsKey("BOC") : "Reload should pick up the new entry";
+        assert !before.equals(after.getEtag()) : "ETag should change with the content";
+        Path copy = writeBankJson(Files.createTempFile("bank", ".json"),
+                "{\"ICBC\":\"中国工商银行\",\"BOC\":\"中国银行\"}", 3_000_000L);
+        assert after.getEtag().equals(new BankService(copy).getSnapshot().getEtag())
+                : "Same content should give the same ETag";
+        System.out.println("Reload changes ETag test passed");
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(copy);
+    }
+
+    private static void testInvalidReloadKeepsSnapshot() throws IOException {
+        // Given
+        Path file = writeBankJson(Files.createTempFile("bank", ".json"), "{\"ICBC\":\"中国工商银行\"}", 1_000_000L);
+        BankService bankService = new BankService(file);
+        BankService.Snapshot before = bankService.getSnapshot();
+
+        // When the file is replaced with broken or empty content
+        writeBankJson(file, "{\"ICBC\":", 2_000_000L);
+        boolean broken = bankService.reload();
+        writeBankJson(file, "{}", 3_000_000L);
+        boolean empty = bankService.reload();
+        writeBankJson(file, "{\"ICBC\":\" \"}", 4_000_000L);
+        boolean blank = bankService.reload();
+
+        // Then the last good snapshot is still served and failures are counted
+        assert !broken && !empty && !blank : "Invalid content should be rejected";
+        assert bankService.getSnapshot() == before : "Last good snapshot should be kept";
+        BankStats stats = bankService.getStats();
+        assert stats.getReloadCount() == 1 : "Only the initial load should succeed";
+        assert stats.getReloadFailureCount() == 3 : "Failures should be counted";
+        assert stats.getLastError() != null : "Last error should be kept";
+
+        // Unchanged content does not rebuild the snapshot
+        writeBankJson(file, "{\"BOC\":\"中国银行\"}", 5_000_000L);
+        assert bankService.reload() : "Reload should succeed";
+        assert bankService.reload() : "Reload should succeed";
+        assert bankService.getStats().getReloadCount() == 2 : "Same content should not count as a reload";
+        System.out.println("Invalid reload keeps snapshot test passed");
+        Files.deleteIfExists(file);
+    }
+
+    private static void testMissingFile() throws IOException {
+        // Given a path that does not exist yet
+        Path dir = Files.createTempDirectory("bank");
+        Path file = dir.resolve("bank.json");
+        BankService bankService = new BankService(file);
+
+        // When / Then requests fail until the file appears
+        try {
+            bankService.getSnapshot();
+            assert false : "Missing file should fail";
+        } catch (BusinessException e) {
+            assert e.getMessage().contains("bank.json") : "Error should mention bank.json: " + e.getMessage();
+        }
+        writeBankJson(file, "{\"ICBC\":\"中国工商银行\"}", 1_000_000L);
+        assert bankService.reload() : "Reload should succeed once the file exists";
+        assert bankService.getBankMap().size() == 1 : "Map size mismatch";
+        System.out.println("Missing file test passed");
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private static void testWatcherReloads() throws Exception {
+        // Given a watcher on a temp directory
+        Path dir = Files.createTempDirectory("bank");
+        Path file = writeBankJson(dir.resolve("bank.json"), "{\"ICBC\":\"中国工商银行\"}", 1_000_000L);
+        BankService bankService = new BankService(file);
+        try (BankJsonWatcher watcher = new BankJsonWatcher(bankService, 1000)) {
+            watcher.start();
+
+            // When the file is rewritten
+            writeBankJson(file, "{\"ICBC\":\"中国工商银行\",\"BOC\":\"中国银行\"}", 2_000_000L);
+
+            // Then the new map is published in the background
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (bankService.getBankMap().size() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assert bankService.getBankMap().containsKey("BOC") : "Watcher should reload the changed file";
+        }
+        System.out.println("Watcher reloads test passed");
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private static void testIfNoneMatch() {
+        String etag = "\"0123456789abcdef0123456789abcdef\"";
+        assert !BankHandler.matchesEtag(null, etag) : "Missing header should not match";
+        assert BankHandler.matchesEtag(etag, etag) : "Exact ETag should match";
+        assert BankHandler.matchesEtag("W/" + etag, etag) : "Weak comparison should ignore W/";
+        assert BankHandler.matchesEtag("\"other\", " + etag + " ", etag) : "ETag in a list should match";
+        assert BankHandler.matchesEtag("*", etag) : "* should match";
+        assert !BankHandler.matchesEtag("\"other\"", etag) : "Other ETag should not match";
+        assert !BankHandler.matchesEtag("\"0123456789abcdef\"", etag) : "Prefix should not match";
+        System.out.println("If-None-Match test passed");
+    }
+
+    private static void testAcceptsGzip() {
+        assert BankHandler.acceptsGzip("gzip, deflate, br") : "Listed gzip should be accepted";
+        assert BankHandler.acceptsGzip("br;q=1.0, GZIP;q=0.5") : "Positive q should be accepted";
+        assert BankHandler.acceptsGzip("x-gzip") : "x-gzip is an alias";
+        assert BankHandler.acceptsGzip("*") : "Wildcard should accept gzip";
+        assert !BankHandler.acceptsGzip(null) : "Missing header should get identity";
+        assert !BankHandler.acceptsGzip("identity") : "Identity only should not get gzip";
+        assert !BankHandler.acceptsGzip("gzip;q=0") : "q=0 refuses gzip";
+        assert !BankHandler.acceptsGzip("deflate, gzip ; q=0.000") : "q=0.000 refuses gzip";
+        assert !BankHandler.acceptsGzip("*, gzip;q=0") : "Explicit gzip;q=0 wins over the wildcard";
+        assert !BankHandler.acceptsGzip("*;q=0") : "Wildcard q=0 refuses gzip";
+        assert !BankHandler.acceptsGzip("gzip;q=abc") : "Unparseable q should not accept";
+        System.out.println("Accepts gzip test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting BankService tests...\n");
+            testPreEncodedSnapshot();
+            testReloadChangesEtag();
+            testInvalidReloadKeepsSnapshot();
+            testMissingFile();
+            testWatcherReloads();
+            testIfNoneMatch();
+            testAcceptsGzip();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
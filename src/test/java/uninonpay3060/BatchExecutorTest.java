@@ -0,0 +1,144 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.service.BatchExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchExecutorTest {
+
+    private static List<Integer> items(int size) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    private static void testConcurrencyBound() {
+        // Given
+        BatchExecutor executor = new BatchExecutor(3, 0);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Integer> completed = ConcurrentHashMap.newKeySet();
+
+        // When
+        executor.execute(items(30), item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return item * 2;
+            }, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+        }, (index, result, throwable) -> {
+            assert result == index * 2 : "Result should match index";
+            completed.add(index);
+        }).join();
+
+        // Then
+        assert completed.size() == 30 : "All items should complete";
+        assert maxInFlight.get() <= 3 : "Concurrency should be bounded, was " + maxInFlight.get();
+
+        System.out.println("Concurrency bound test passed");
+    }
+
+    private static void testRateLimit() {
+        BatchExecutor executor = new BatchExecutor(10, 100);
+        long start = System.nanoTime();
+        executor.execute(items(21), CompletableFuture::completedFuture, (index, result, throwable) -> {
+        }).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assert elapsedMillis >= 180 : "21 items at 100/s should take about 200ms, took " + elapsedMillis;
+
+        System.out.println("Rate limit test passed");
+    }
+
+    private static void testItemFailureReported() {
+        BatchExecutor executor = new BatchExecutor(2, 0);
+        AtomicInteger failures = new AtomicInteger();
+        executor.<Integer, Integer>execute(items(10), item -> {
+            if (item % 2 == 0) {
+                throw new IllegalStateException("boom");
+            }
+            return CompletableFuture.completedFuture(item);
+        }, (index, result, throwable) -> {
+            if (throwable != null) {
+                failures.incrementAndGet();
+            }
+        }).join();
+        assert failures.get() == 5 : "Failed items should be reported, not abort the batch";
+
+        System.out.println("Item failure test passed");
+    }
+
+    private static void testCallbackFailureStops() {
+        BatchExecutor executor = new BatchExecutor(1, 0);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Void> done = executor.execute(items(10), item -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(item);
+        }, (index, result, throwable) -> {
+            throw new java.io.IOException("client disconnected");
+        });
+        try {
+            done.join();
+            assert false : "Batch should fail";
+        } catch (Exception e) {
+            assert e.getCause() instanceof java.io.IOException : "Callback exception should be propagated";
+        }
+        assert calls.get() == 1 : "No new items should be dispatched after callback failure";
+
+        System.out.println("Callback failure test passed");
+    }
+
+    private static void testBudgetSharedAcrossBatches() {
+        // Given one executor shared by three concurrent batches
+        BatchExecutor executor = new BatchExecutor(4, 0);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> firstCompleted = new ArrayList<>();
+
+        // When they all start at once
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int batch = 0; batch < 3; batch++) {
+            int id = batch;
+            batches.add(executor.execute(items(20), item -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    inFlight.decrementAndGet();
+                    return item;
+                }, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+            }, (index, result, throwable) -> {
+                synchronized (firstCompleted) {
+                    if (index == 0) {
+                        firstCompleted.add(id);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+
+        // Then the budget is global and every batch makes progress
+        assert maxInFlight.get() <= 4 : "Concurrency should be bounded across batches, was " + maxInFlight.get();
+        assert firstCompleted.size() == 3 : "Every batch should get a turn";
+        System.out.println("Budget shared across batches test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting BatchExecutor tests...\n");
+            testConcurrencyBound();
+            testRateLimit();
+            testItemFailureReported();
+            testCallbackFailureStops();
+            testBudgetSharedAcrossBatches();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
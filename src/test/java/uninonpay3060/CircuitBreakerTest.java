@@ -0,0 +1,100 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.upstream.CircuitBreaker;
+import java.util.concurrent.TimeUnit;
+
+public class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    private static boolean isPermitted(CircuitBreaker breaker) {
+        try {
+            breaker.acquirePermission();
+            return true;
+        } catch (BusinessException e) {
+            assert "UPS-503".equals(e.getErrorCode()) : "Error code mismatch";
+            return false;
+        }
+    }
+
+    private static void testOpensOnFailureRate() {
+        // Given window 10, min 4 calls, 50% failure threshold
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 100, 5000, 60000, 1);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            breaker.acquirePermission();
+            breaker.onError(FAST);
+        }
+        assert breaker.getState() == CircuitBreaker.State.CLOSED : "Should stay closed below minimum calls";
+        breaker.acquirePermission();
+        breaker.onSuccess(FAST);
+
+        // Then
+        assert breaker.getState() == CircuitBreaker.State.OPEN : "Should open at 75% failure rate";
+        assert !isPermitted(breaker) : "Open breaker should fail fast";
+        assert breaker.getStats().getNotPermittedCount() == 1 : "Rejected calls should be counted";
+
+        System.out.println("Opens on failure rate test passed");
+    }
+
+    private static void testOpensOnSlowCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 100, 50, 5000, 60000, 1);
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess(i % 2 == 0 ? SLOW : FAST);
+        }
+        assert breaker.getState() == CircuitBreaker.State.OPEN : "Should open at 50% slow call rate";
+        System.out.println("Opens on slow calls test passed");
+    }
+
+    private static void testHalfOpenProbes() throws InterruptedException {
+        // Given an open breaker with 2 probes
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, 100, 5000, 50, 2);
+        for (int i = 0; i < 2; i++) {
+            breaker.acquirePermission();
+            breaker.onError(FAST);
+        }
+        assert breaker.getState() == CircuitBreaker.State.OPEN : "Should be open";
+
+        // When the open duration elapses only limited probes pass
+        TimeUnit.MILLISECONDS.sleep(80);
+        assert isPermitted(breaker) : "First probe should pass";
+        assert isPermitted(breaker) : "Second probe should pass";
+        assert !isPermitted(breaker) : "Third probe should be rejected";
+        assert breaker.getState() == CircuitBreaker.State.HALF_OPEN : "Should be half open";
+
+        // Then successful probes close the breaker
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assert breaker.getState() == CircuitBreaker.State.CLOSED : "Should close after successful probes";
+
+        // And a failed probe opens it again
+        for (int i = 0; i < 2; i++) {
+            breaker.acquirePermission();
+            breaker.onError(FAST);
+        }
+        TimeUnit.MILLISECONDS.sleep(80);
+        assert isPermitted(breaker) : "Probe should pass";
+        breaker.onError(FAST);
+        assert breaker.getState() == CircuitBreaker.State.OPEN : "Failed probe should reopen";
+
+        System.out.println("Half open probes test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting CircuitBreaker tests...\n");
+            testOpensOnFailureRate();
+            testOpensOnSlowCalls();
+            testHalfOpenProbes();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            System.err.println("Test interrupted: " + e.getMessage());
+        }
+    }
+}
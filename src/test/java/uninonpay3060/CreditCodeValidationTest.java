@@ -0,0 +1,89 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.model.request.EnterpriseAuthRequest;
+import io.sealos.enterprise.auth.model.response.FieldError;
+import io.sealos.enterprise.auth.validation.BankAccountNoValidator;
+import io.sealos.enterprise.auth.validation.UnifiedSocialCreditCodeValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import java.util.List;
+
+public class CreditCodeValidationTest {
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static EnterpriseAuthRequest request(String key, String accountNo) {
+        EnterpriseAuthRequest request = new EnterpriseAuthRequest();
+        request.setKey(key);
+        request.setKeyName("上海测试有限公司");
+        request.setUsrName("张三");
+        request.setAccountNo(accountNo);
+        return request;
+    }
+
+    private static void testCreditCodeChecksum() {
+        // Given codes whose check character matches GB 32100
+        String[] valid = { "91310000734572833M", "91350100M000100Y43" };
+
+        // Then
+        for (String code : valid) {
+            assert UnifiedSocialCreditCodeValidator.isValid(code) : code + " should be valid";
+        }
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572833N") : "Wrong check character";
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572843M") : "A mistyped digit should be caught";
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572833m") : "Lowercase is not in the charset";
+        assert !UnifiedSocialCreditCodeValidator.isValid("9131000073457283IM") : "I is not in the charset";
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572O33M") : "O is not in the charset";
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572中33M") : "Non-ASCII is not in the charset";
+        assert !UnifiedSocialCreditCodeValidator.isValid("91310000734572833") : "Length should be 18";
+        System.out.println("Credit code checksum test passed");
+    }
+
+    private static void testLuhn() {
+        assert BankAccountNoValidator.isLuhnValid("79927398713") : "Classic Luhn example should pass";
+        assert BankAccountNoValidator.isLuhnValid("6222021001122334458") : "Card number should pass";
+        assert !BankAccountNoValidator.isLuhnValid("79927398710") : "Wrong check digit should fail";
+        assert !BankAccountNoValidator.isLuhnValid("7992739871a") : "Non-digits should fail";
+        assert BankAccountNoValidator.isDigits("6221501111111113900") : "Digits only";
+        assert !BankAccountNoValidator.isDigits("6221-5011") : "Dash is not a digit";
+        System.out.println("Luhn test passed");
+    }
+
+    private static void testFieldErrors() {
+        // Given a request with a bad check character and a non-numeric account
+        EnterpriseAuthRequest request = request("91310000734572833N", "6221 5011 1111");
+
+        // When
+        List<FieldError> errors = FieldError.from(validator.validate(request));
+
+        // Then both fields are reported
+        assert errors.size() == 2 : "Should report two fields, got " + errors;
+        assert errors.stream().anyMatch(error -> "key".equals(error.getField())) : "key should be reported";
+        assert errors.stream().anyMatch(error -> "accountNo".equals(error.getField()))
+                : "accountNo should be reported";
+        System.out.println("Field errors test passed");
+    }
+
+    private static void testAcceptedRequests() {
+        // The sandbox corporate account has no Luhn check digit and old registration numbers are not 18 chars
+        assert validator.validate(request("91310000734572833M", "6221501111111113900")).isEmpty()
+                : "Valid code with a corporate account should pass";
+        assert validator.validate(request("310000000012345", "6221501111111113900")).isEmpty()
+                : "Codes that are not 18 characters should not be checksummed";
+        System.out.println("Accepted requests test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting CreditCodeValidation tests...\n");
+            testCreditCodeChecksum();
+            testLuhn();
+            testFieldErrors();
+            testAcceptedRequests();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
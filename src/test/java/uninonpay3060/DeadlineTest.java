@@ -0,0 +1,68 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.metrics.Metrics;
+import io.sealos.enterprise.auth.service.Deadline;
+import java.util.concurrent.TimeUnit;
+
+public class DeadlineTest {
+
+    private static void testBudget() {
+        // Given
+        Deadline deadline = Deadline.after(5000);
+
+        // Then stage budgets never exceed the remaining time or the stage cap
+        assert deadline.budget(1000) == 1000 : "Stage cap should apply when time remains";
+        assert deadline.budget(60000) <= 5000 && deadline.budget(60000) > 4000 : "Remaining time should apply";
+        assert !deadline.isExpired() : "Deadline should not be expired";
+        deadline.check("encrypt");
+
+        System.out.println("Budget test passed");
+    }
+
+    private static void testExpired() throws Exception {
+        // Given
+        Deadline deadline = Deadline.after(20);
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        // Then
+        assert deadline.isExpired() : "Deadline should be expired";
+        assert deadline.remainingMillis() == 0 : "No time should remain";
+        assert deadline.budget(1000) == 0 : "Budget should be exhausted";
+        try {
+            deadline.check("upstream");
+            assert false : "Check should fail after the deadline";
+        } catch (BusinessException e) {
+            assert "SYS-504".equals(e.getErrorCode()) : "Error code mismatch";
+            assert e.getStatusCode() == 504 : "Status should be 504";
+            assert e.getMessage().contains("upstream") : "Message should name the stage";
+        }
+        assert Metrics.getInstance().scrape()
+                .contains("enterprise_auth_deadline_exceeded_total{stage=\"upstream\"} 1")
+                : "Abandoned stage should be counted";
+
+        System.out.println("Expired test passed");
+    }
+
+    private static void testRemainingRoundsUp() {
+        // A timeout set from the remaining time must not fire before the deadline
+        Deadline deadline = Deadline.after(1);
+        long remaining = deadline.remainingMillis();
+        assert remaining == 1 || deadline.isExpired() : "Remaining time should round up";
+
+        System.out.println("Remaining rounds up test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting Deadline tests...\n");
+            testBudget();
+            testExpired();
+            testRemainingRoundsUp();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package uninonpay3060;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.constants.ApiVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步模式与虚拟线程模式的对比压测
+ *
+ * 模拟器使用较慢的固定延迟，服务依次以两种模式启动为子进程，用相同的开环速率压测 /enterprise-auth，
+ * 每个请求的企业信息都不同，避免结果缓存和请求合并。并发数约为 速率 × 上游延迟。
+ * 压测期间每 200ms 读取子进程 /proc/<pid>/status，记录常驻内存和线程数的峰值。
+ *
+ * 虚拟线程模式需要用 Java 21 运行（mvn -P java21），低版本下服务回退到异步模式，报告中 virtual
+ * 一项的 mode 字段会标明实际模式。
+ *
+ * 配置（环境变量）：BENCH_MODES（默认 async,virtual）、BENCH_RATE（每秒请求数，默认 500）、
+ * BENCH_WARMUP_S、BENCH_DURATION_S、BENCH_SERVICE_PORT、LOAD_REPORT_DIR；SIM_LATENCY 默认 fixed:1000。
+ */
+public class ExecutionModeBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmark.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static String env(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = env("BENCH_MODES", "async,virtual").split(",");
+        double rate = Double.parseDouble(env("BENCH_RATE", "500"));
+        long warmupSeconds = Long.parseLong(env("BENCH_WARMUP_S", "10"));
+        long durationSeconds = Long.parseLong(env("BENCH_DURATION_S", "30"));
+        int port = Integer.parseInt(env("BENCH_SERVICE_PORT", "12343"));
+        Path reportDir = Paths.get(env("LOAD_REPORT_DIR", "target/loadtest"));
+
+        if (System.getenv("JWT_SECRET") == null) {
+            throw new IllegalStateException("JWT_SECRET is required to mint tokens");
+        }
+
+        Unionpay3060Simulator.Config simulatorConfig = Unionpay3060Simulator.Config.fromEnv();
+        if (System.getenv("SIM_LATENCY") == null) {
+            simulatorConfig.latency(Unionpay3060Simulator.LatencyDistribution.parse("fixed:1000"));
+        }
+        Unionpay3060Simulator simulator = new Unionpay3060Simulator(simulatorConfig).start();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("time", LocalDateTime.now().toString());
+        report.put("rate", rate);
+        report.put("durationSeconds", durationSeconds);
+        report.put("javaVersion", Runtime.version().toString());
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            for (String mode : modes) {
+                results.put(mode.trim(), run(simulator, mode.trim(), rate, warmupSeconds, durationSeconds, port,
+                        reportDir));
+            }
+        } finally {
+            simulator.stop();
+        }
+        report.put("modes", results);
+
+        Files.createDirectories(reportDir);
+        Path reportFile = reportDir.resolve("execution-modes.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+        logger.info("Execution mode report written to {}", reportFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(Unionpay3060Simulator simulator, String mode, double rate,
+            long warmupSeconds, long durationSeconds, int port, Path reportDir) throws Exception {
+        // 放开限流、排队和连接数，让两种模式都承受完整的并发
+        int concurrency = (int) Math.max(1000, rate * 10);
+        Map<String, String> serviceEnv = new LinkedHashMap<>();
+        serviceEnv.put("VIRTUAL_THREADS_ENABLED", String.valueOf("virtual".equals(mode)));
+        serviceEnv.put("UPSTREAM_HTTP_VERSION", "HTTP_1_1");
+        serviceEnv.put("UPSTREAM_LIMIT_INITIAL", String.valueOf(concurrency));
+        serviceEnv.put("UPSTREAM_LIMIT_MIN", String.valueOf(concurrency));
+        serviceEnv.put("UPSTREAM_LIMIT_MAX", String.valueOf(concurrency));
+        serviceEnv.put("UPSTREAM_QUEUE_SIZE", String.valueOf(concurrency));
+        serviceEnv.put("UPSTREAM_MAX_CONNECTIONS", "0");
+
+        Process service = LoadTest.startService(simulator, port, reportDir, "service-" + mode, serviceEnv);
+        LoadGenerator generator = new LoadGenerator();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            String target = "http://127.0.0.1:" + port;
+            LoadTest.awaitReady(target, TimeUnit.SECONDS.toMillis(60));
+
+            AtomicLong peakRssKb = new AtomicLong();
+            AtomicLong peakThreads = new AtomicLong();
+            Path status = Paths.get("/proc", String.valueOf(service.pid()), "status");
+            sampler.scheduleAtFixedRate(() -> {
+                peakRssKb.accumulateAndGet(readStatus(status, "VmRSS:"), Math::max);
+                peakThreads.accumulateAndGet(readStatus(status, "Threads:"), Math::max);
+            }, 0, 200, TimeUnit.MILLISECONDS);
+
+            String token = LoadTest.bearerToken();
+            String url = target + ApiVersion.getDefaultVersion() + "/enterprise-auth";
+            // 不同模式使用不同的序号段，避免命中上一轮的结果缓存
+            long offset = "virtual".equals(mode) ? 1_000_000_000L : 0;
+            LoadGenerator.Result result = generator.run(List.of(new LoadGenerator.Target("enterprise-auth", rate,
+                    i -> HttpRequest.newBuilder()
+                            .uri(URI.create(url))
+                            .timeout(Duration.ofSeconds(30))
+                            .header("Authorization", token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(LoadTest.enterpriseAuthBody(offset + i)))
+                            .build())),
+                    TimeUnit.SECONDS.toMillis(warmupSeconds), TimeUnit.SECONDS.toMillis(durationSeconds))
+                    .get("enterprise-auth");
+
+            Map<String, Object> summary = new LinkedHashMap<>(result.toReport());
+            summary.put("mode", executionMode(reportDir.resolve("service-" + mode + ".log")));
+            summary.put("peakRssMb", peakRssKb.get() / 1024);
+            summary.put("peakThreads", peakThreads.get());
+            return summary;
+        } finally {
+            sampler.shutdownNow();
+            generator.close();
+            service.destroy();
+            if (!service.waitFor(10, TimeUnit.SECONDS)) {
+                service.destroyForcibly();
+            }
+        }
+    }
+
+    // 读取 /proc/<pid>/status 中的数值字段，非 Linux 环境返回 0
+    private static long readStatus(Path status, String field) {
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 进程已退出或不支持 /proc
+        }
+        return 0;
+    }
+
+    // 从服务启动日志中取实际生效的执行模式
+    private static String executionMode(Path log) throws IOException {
+        for (String line : Files.readAllLines(log)) {
+            int index = line.indexOf("Execution mode: ");
+            if (index >= 0) {
+                // 日志为 JSON Lines 时去掉行尾的 "}
+                String mode = line.substring(index + "Execution mode: ".length()).trim();
+                return mode.endsWith("\"}") ? mode.substring(0, mode.length() - 2) : mode;
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,255 @@
+package uninonpay3060;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * 开环压测发生器
+ *
+ * 每个 Target 按固定速率在预定时间点发出请求，不等待上一个请求返回，服务变慢时请求会继续堆积，
+ * 与真实流量一致。延迟从预定发送时间开始计算（修正协调遗漏），同时记录从实际发送开始的服务耗时作对比。
+ * 预热期间的请求照常发送但不计入统计。
+ */
+public class LoadGenerator {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // 最大记录 1 小时，单位微秒
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+
+    /**
+     * 压测目标：名称、每秒请求数，以及按序号生成请求
+     */
+    public static class Target {
+        private final String name;
+        private final double ratePerSecond;
+        private final LongFunction<HttpRequest> requestFactory;
+
+        public Target(String name, double ratePerSecond, LongFunction<HttpRequest> requestFactory) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.requestFactory = requestFactory;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * 单个 Target 的统计结果
+     */
+    public static class Result {
+        private final Target target;
+        // 从预定发送时间计算的延迟
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        // 从实际发送时间计算的延迟
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        // 发送线程落后预定时间超过 1 秒的次数，说明压测机本身成为瓶颈
+        private final LongAdder lagging = new LongAdder();
+        private long measureNanos;
+
+        private Result(Target target) {
+            this.target = target;
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        public Map<String, Long> getOutcomes() {
+            Map<String, Long> result = new TreeMap<>();
+            outcomes.forEach((code, count) -> result.put(code, count.sum()));
+            return result;
+        }
+
+        public double getThroughput() {
+            return measureNanos == 0 ? 0 : completed.sum() * 1e9 / measureNanos;
+        }
+
+        public Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("targetRate", target.ratePerSecond);
+            report.put("sent", sent.sum());
+            report.put("completed", completed.sum());
+            report.put("throughput", round(getThroughput()));
+            report.put("lagging", lagging.sum());
+            report.put("latencyMs", percentiles(latency));
+            report.put("serviceTimeMs", percentiles(serviceTime));
+            report.put("outcomes", getOutcomes());
+            return report;
+        }
+
+        private void record(long intendedNanos, long sentNanos, String outcome) {
+            long now = System.nanoTime();
+            latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - intendedNanos) / 1000));
+            serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - sentNanos) / 1000));
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            completed.increment();
+        }
+
+        private static Map<String, Object> percentiles(Histogram histogram) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("p50", millis(histogram.getValueAtPercentile(50)));
+            result.put("p90", millis(histogram.getValueAtPercentile(90)));
+            result.put("p99", millis(histogram.getValueAtPercentile(99)));
+            result.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            result.put("max", millis(histogram.getMaxValue()));
+            result.put("mean", round(histogram.getMean() / 1000));
+            return result;
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    public LoadGenerator() {
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * 同时压测所有 Target，返回按 Target 名称排列的结果
+     */
+    public Map<String, Result> run(List<Target> targets, long warmupMillis, long durationMillis)
+            throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        long endNanos = measureStartNanos + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        List<Thread> dispatchers = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Target target : targets) {
+            Result result = new Result(target);
+            result.measureNanos = endNanos - measureStartNanos;
+            results.put(target.name, result);
+            if (target.ratePerSecond <= 0) {
+                continue;
+            }
+            Thread dispatcher = new Thread(() -> dispatch(target, result, startNanos, measureStartNanos, endNanos,
+                    futures), "load-dispatcher-" + target.name);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+
+        // 发送结束后等待所有请求返回或超时
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+        CompletableFuture<?>[] pending;
+        synchronized (futures) {
+            pending = futures.toArray(new CompletableFuture[0]);
+        }
+        CompletableFuture.allOf(pending).join();
+        return results;
+    }
+
+    private void dispatch(Target target, Result result, long startNanos, long measureStartNanos, long endNanos,
+            List<CompletableFuture<Void>> futures) {
+        double intervalNanos = 1e9 / target.ratePerSecond;
+        for (long i = 0;; i++) {
+            long intendedNanos = startNanos + (long) (i * intervalNanos);
+            if (intendedNanos >= endNanos) {
+                return;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intendedNanos) {
+                LockSupport.parkNanos(intendedNanos - now);
+            }
+            boolean measured = intendedNanos >= measureStartNanos;
+            if (measured && now - intendedNanos > TimeUnit.SECONDS.toNanos(1)) {
+                result.lagging.increment();
+            }
+
+            HttpRequest request = target.requestFactory.apply(i);
+            long sentNanos = System.nanoTime();
+            CompletableFuture<Void> future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .handle((response, throwable) -> {
+                        if (measured) {
+                            result.record(intendedNanos, sentNanos, classify(response, throwable));
+                        }
+                        return null;
+                    });
+            if (measured) {
+                result.sent.increment();
+            }
+            synchronized (futures) {
+                futures.add(future);
+            }
+        }
+    }
+
+    /**
+     * 按 ErrorCode 归类结果：成功为 OK，服务返回的错误取 error.code，其余为 HTTP_状态码或客户端异常
+     */
+    static String classify(HttpResponse<String> response, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+            return cause instanceof HttpTimeoutException ? "CLIENT_TIMEOUT"
+                    : "CLIENT_" + cause.getClass().getSimpleName();
+        }
+        if (response.statusCode() == 200) {
+            return "OK";
+        }
+        try {
+            JsonNode code = objectMapper.readTree(response.body()).path("error").path("code");
+            if (code.isTextual()) {
+                return code.asText();
+            }
+        } catch (Exception ignored) {
+            // 非 JSON 响应按状态码归类
+        }
+        return "HTTP_" + response.statusCode();
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package uninonpay3060;
+
+import io.javalin.Javalin;
+import io.sealos.enterprise.auth.model.response.ApiResponse;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LoadGeneratorTest {
+
+    private static void testOpenLoopRateAndOutcomes() throws Exception {
+        // Given a stub that fails every third request
+        Javalin app = Javalin.create(config -> config.showJavalinBanner = false);
+        app.get("/ok", ctx -> ctx.result("ok"));
+        app.get("/flaky", ctx -> {
+            if (Integer.parseInt(ctx.queryParam("i")) % 3 == 0) {
+                ctx.status(503).json(ApiResponse.error("UPS-503", "open", "id"));
+            } else {
+                ctx.result("ok");
+            }
+        });
+        app.start(0);
+        String base = "http://127.0.0.1:" + app.port();
+        LoadGenerator generator = new LoadGenerator();
+
+        try {
+            // When
+            Map<String, LoadGenerator.Result> results = generator.run(List.of(
+                    new LoadGenerator.Target("ok", 100, i -> HttpRequest.newBuilder(URI.create(base + "/ok")).build()),
+                    new LoadGenerator.Target("flaky", 30,
+                            i -> HttpRequest.newBuilder(URI.create(base + "/flaky?i=" + i)).build())),
+                    200, 1000);
+
+            // Then
+            LoadGenerator.Result ok = results.get("ok");
+            assert ok.getCompleted() >= 95 && ok.getCompleted() <= 105 : "Should send about 100 requests, sent "
+                    + ok.getCompleted();
+            assert ok.getOutcomes().get("OK") == ok.getCompleted() : "All requests should succeed";
+            assert ok.getLatency().getTotalCount() == ok.getCompleted() : "Every response should be recorded";
+            assert ok.getThroughput() > 90 : "Throughput should be about 100/s";
+
+            Map<String, Long> flaky = results.get("flaky").getOutcomes();
+            assert flaky.get("UPS-503") >= 9 && flaky.get("UPS-503") <= 11 : "Errors should be keyed by ErrorCode";
+            assert flaky.get("OK") >= 19 : "Other requests should succeed";
+        } finally {
+            generator.close();
+            app.stop();
+        }
+        System.out.println("Open loop rate and outcomes test passed");
+    }
+
+    private static void testStalledRequestRecorded() throws Exception {
+        // Given a stub that stalls for 500ms once
+        Javalin app = Javalin.create(config -> config.showJavalinBanner = false);
+        app.get("/stall", ctx -> {
+            if ("0".equals(ctx.queryParam("i"))) {
+                TimeUnit.MILLISECONDS.sleep(500);
+            }
+            ctx.result("ok");
+        });
+        app.start(0);
+        String base = "http://127.0.0.1:" + app.port();
+        LoadGenerator generator = new LoadGenerator();
+
+        try {
+            // When
+            LoadGenerator.Result result = generator.run(List.of(new LoadGenerator.Target("stall", 50,
+                    i -> HttpRequest.newBuilder(URI.create(base + "/stall?i=" + i))
+                            .timeout(Duration.ofSeconds(5)).build())), 0, 1000).get("stall");
+
+            // Then the stalled request is reported with its full latency
+            assert result.getLatency().getMaxValue() >= TimeUnit.MILLISECONDS.toMicros(450)
+                    : "Stall should show up in latency";
+            assert result.getOutcomes().get("OK") == result.getCompleted() : "All requests should succeed";
+        } finally {
+            generator.close();
+            app.stop();
+        }
+        System.out.println("Stalled request recorded test passed");
+    }
+
+    private static void testRequestBody() {
+        assert LoadTest.luhnCheckDigit("7992739871") == 3 : "Luhn check digit mismatch";
+        String first = LoadTest.enterpriseAuthBody(1);
+        String second = LoadTest.enterpriseAuthBody(2);
+        assert !first.equals(second) : "Bodies should differ per index";
+        assert first.equals(LoadTest.enterpriseAuthBody(1)) : "Bodies should be stable per index";
+        System.out.println("Request body test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting LoadGenerator tests...\n");
+            testOpenLoopRateAndOutcomes();
+            testStalledRequestRecorded();
+            testRequestBody();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
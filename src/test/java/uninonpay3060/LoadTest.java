@@ -0,0 +1,227 @@
+package uninonpay3060;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.constants.ApiVersion;
+import io.sealos.enterprise.auth.model.AppTokenPayload;
+import io.sealos.enterprise.auth.utils.JwtUtilsHmacSHA256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端压测
+ *
+ * 默认在本进程启动 Unionpay3060Simulator，并以子进程启动服务指向模拟器，压测结束后关闭；
+ * 设置 LOAD_TARGET 时直接压测已运行的服务。JWT 通过 JwtUtilsHmacSHA256.createToken 生成，
+ * 需要与服务相同的 JWT_SECRET。
+ *
+ * 配置（环境变量）：
+ * LOAD_TARGET、LOAD_SERVICE_PORT（自启动服务的端口）、LOAD_AUTH_RATE、LOAD_BANKS_RATE（每秒请求数）、
+ * LOAD_WARMUP_S、LOAD_DURATION_S、LOAD_DISTINCT_KEYS（不同企业信息数量，0 为每次都不同，避免结果缓存命中）、
+ * LOAD_TIMEOUT_MS、LOAD_REPORT_DIR；模拟器使用 SIM_* 配置，见 Unionpay3060Simulator.Config#fromEnv。
+ *
+ * 报告写入 LOAD_REPORT_DIR：report.json 汇总 p50/p99/p999、吞吐量和按 ErrorCode 的错误分布，
+ * 每个接口另有 .hgrm 延迟分布文件，可用 HdrHistogram 工具绘图对比。
+ */
+public class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static String env(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static void main(String[] args) throws Exception {
+        double authRate = Double.parseDouble(env("LOAD_AUTH_RATE", "50"));
+        double banksRate = Double.parseDouble(env("LOAD_BANKS_RATE", "200"));
+        long warmupSeconds = Long.parseLong(env("LOAD_WARMUP_S", "10"));
+        long durationSeconds = Long.parseLong(env("LOAD_DURATION_S", "60"));
+        int distinctKeys = Integer.parseInt(env("LOAD_DISTINCT_KEYS", "0"));
+        long timeoutMillis = Long.parseLong(env("LOAD_TIMEOUT_MS", "30000"));
+        Path reportDir = Paths.get(env("LOAD_REPORT_DIR", "target/loadtest"));
+
+        if (System.getenv("JWT_SECRET") == null) {
+            throw new IllegalStateException("JWT_SECRET is required to mint tokens");
+        }
+
+        String target = System.getenv("LOAD_TARGET");
+        Unionpay3060Simulator simulator = null;
+        Process service = null;
+        LoadGenerator generator = new LoadGenerator();
+        try {
+            if (target == null) {
+                simulator = new Unionpay3060Simulator(Unionpay3060Simulator.Config.fromEnv()).start();
+                int port = Integer.parseInt(env("LOAD_SERVICE_PORT", "12342"));
+                service = startService(simulator, port, reportDir, "service", Map.of());
+                target = "http://127.0.0.1:" + port;
+                awaitReady(target, TimeUnit.SECONDS.toMillis(60));
+            }
+
+            String token = bearerToken();
+            String baseUrl = target + ApiVersion.getDefaultVersion();
+            Duration timeout = Duration.ofMillis(timeoutMillis);
+            List<LoadGenerator.Target> targets = List.of(
+                    new LoadGenerator.Target("enterprise-auth", authRate, i -> HttpRequest.newBuilder()
+                            .uri(URI.create(baseUrl + "/enterprise-auth"))
+                            .timeout(timeout)
+                            .header("Authorization", token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    enterpriseAuthBody(distinctKeys > 0 ? i % distinctKeys : i)))
+                            .build()),
+                    new LoadGenerator.Target("banks", banksRate, i -> HttpRequest.newBuilder()
+                            .uri(URI.create(baseUrl + "/banks"))
+                            .timeout(timeout)
+                            .header("Authorization", token)
+                            .GET()
+                            .build()));
+
+            logger.info("Load test started against {}, warmup {}s, duration {}s", target, warmupSeconds,
+                    durationSeconds);
+            Map<String, LoadGenerator.Result> results = generator.run(targets,
+                    TimeUnit.SECONDS.toMillis(warmupSeconds), TimeUnit.SECONDS.toMillis(durationSeconds));
+            writeReport(reportDir, target, durationSeconds, results, simulator);
+        } finally {
+            generator.close();
+            if (service != null) {
+                service.destroy();
+                if (!service.waitFor(10, TimeUnit.SECONDS)) {
+                    service.destroyForcibly();
+                }
+            }
+            if (simulator != null) {
+                simulator.stop();
+            }
+        }
+    }
+
+    static String bearerToken() {
+        AppTokenPayload payload = new AppTokenPayload();
+        payload.setUserId("load-test");
+        payload.setWorkspaceId("ns-load-test");
+        payload.setRegionUid("load-test");
+        return "Bearer " + JwtUtilsHmacSHA256.createToken(payload, TimeUnit.DAYS.toSeconds(1));
+    }
+
+    /**
+     * 按序号生成企业信息，银行账号带 Luhn 校验位
+     */
+    static String enterpriseAuthBody(long index) {
+        String prefix = "622150" + String.format("%012d", index);
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("key", "91310000734572833M");
+        body.put("accountBank", "中国工商银行");
+        body.put("keyName", "银联商务股份有限公司");
+        body.put("usrName", "田林");
+        body.put("accountNo", prefix + luhnCheckDigit(prefix));
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        for (int i = digits.length() - 1, position = 0; i >= 0; i--, position++) {
+            int digit = digits.charAt(i) - '0';
+            if (position % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * 以子进程启动服务，extraEnv 覆盖默认环境变量，日志写入 reportDir/name.log
+     */
+    static Process startService(Unionpay3060Simulator simulator, int port, Path reportDir, String name,
+            Map<String, String> extraEnv) throws IOException {
+        Files.createDirectories(reportDir);
+        ProcessBuilder builder = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "io.sealos.enterprise.auth.Main");
+        Map<String, String> environment = builder.environment();
+        environment.put("PORT", String.valueOf(port));
+        environment.put("UNIONPAY_3060_API", simulator.getApiUrl());
+        environment.put("SECSS_CONFIG_PATH", simulator.getKeys().getPropertiesPath().toAbsolutePath().toString());
+        environment.put("SECSS_WATCH_ENABLED", "false");
+        environment.putIfAbsent("MERCHANT_NO", "000000000000001");
+        environment.putIfAbsent("ORDER_NODE_ID", "1");
+        environment.put("JOB_STORE_PATH", reportDir.resolve(name + "-jobs.ndjson").toAbsolutePath().toString());
+        environment.putAll(extraEnv);
+        Path log = reportDir.resolve(name + ".log");
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log.toFile());
+        logger.info("Starting service on port {}, log: {}", port, log);
+        return builder.start();
+    }
+
+    static void awaitReady(String target, long timeoutMillis) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                // 未携带 token 时返回 401，能响应即说明服务已启动
+                client.send(HttpRequest.newBuilder(URI.create(target + "/test"))
+                        .timeout(Duration.ofSeconds(1)).build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                // 服务尚未启动
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        throw new IllegalStateException("Service did not become ready: " + target);
+    }
+
+    private static void writeReport(Path reportDir, String target, long durationSeconds,
+            Map<String, LoadGenerator.Result> results, Unionpay3060Simulator simulator) throws IOException {
+        Files.createDirectories(reportDir);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("time", LocalDateTime.now().toString());
+        report.put("target", target);
+        report.put("durationSeconds", durationSeconds);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        results.forEach((name, result) -> endpoints.put(name, result.toReport()));
+        report.put("endpoints", endpoints);
+        if (simulator != null) {
+            report.put("simulator", simulator.getStats());
+        }
+
+        Path reportFile = reportDir.resolve("report.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        for (Map.Entry<String, LoadGenerator.Result> entry : results.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(entry.getKey() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                // 输出单位为毫秒
+                entry.getValue().getLatency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(endpoints));
+        logger.info("Load test report written to {}", reportFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,62 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.metrics.Metrics;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsTest {
+
+    private static void testTimerBuckets() {
+        // Given
+        Metrics metrics = new Metrics();
+        Metrics.Timer timer = metrics.timer("test_seconds", "Test timer", "stage", "encrypt");
+
+        // When 0.3ms, exactly 1ms and 2s
+        timer.record(TimeUnit.MICROSECONDS.toNanos(300));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(1));
+        timer.record(TimeUnit.SECONDS.toNanos(2));
+
+        // Then buckets are cumulative and le is inclusive
+        String text = metrics.scrape();
+        assert text.contains("# TYPE test_seconds histogram") : "Type line missing";
+        assert text.contains("test_seconds_bucket{stage=\"encrypt\",le=\"2.5E-4\"} 0") : "0.25ms bucket mismatch";
+        assert text.contains("test_seconds_bucket{stage=\"encrypt\",le=\"5.0E-4\"} 1") : "0.5ms bucket mismatch";
+        assert text.contains("test_seconds_bucket{stage=\"encrypt\",le=\"0.001\"} 2") : "1ms bucket mismatch";
+        assert text.contains("test_seconds_bucket{stage=\"encrypt\",le=\"2.5\"} 3") : "2.5s bucket mismatch";
+        assert text.contains("test_seconds_bucket{stage=\"encrypt\",le=\"+Inf\"} 3") : "+Inf bucket mismatch";
+        assert text.contains("test_seconds_count{stage=\"encrypt\"} 3") : "Count mismatch";
+        assert text.contains("test_seconds_sum{stage=\"encrypt\"} 2.0013") : "Sum mismatch";
+
+        System.out.println("Timer buckets test passed");
+    }
+
+    private static void testCountersAndLabels() {
+        Metrics metrics = new Metrics();
+        metrics.counter("test_total", "Test counter", "respCode", "00000000", "orderStatus", "0000").increment();
+        metrics.counter("test_total", "Test counter", "respCode", "00000000", "orderStatus", "0000").increment();
+        metrics.counter("test_total", "Test counter", "respCode", "a\"b", "orderStatus", null).increment();
+
+        String text = metrics.scrape();
+        assert text.contains("test_total{respCode=\"00000000\",orderStatus=\"0000\"} 2") : "Counter should be shared";
+        assert text.contains("test_total{respCode=\"a\\\"b\",orderStatus=\"\"} 1") : "Label values should be escaped";
+
+        try {
+            metrics.timer("test_total", "Wrong type");
+            assert false : "Type conflict should be rejected";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        System.out.println("Counters and labels test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting Metrics tests...\n");
+            testTimerBuckets();
+            testCountersAndLabels();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.service.OrderIdGenerator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrderIdGeneratorTest {
+    private static final ZoneId SHANGHAI = ZoneId.of("Asia/Shanghai");
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(SHANGHAI).toInstant().toEpochMilli();
+    }
+
+    private static void testFormat() {
+        // Given
+        long now = epochMillis(LocalDateTime.of(2024, 12, 23, 4, 11, 56, 789_000_000));
+        OrderIdGenerator generator = new OrderIdGenerator(42, SHANGHAI, () -> now);
+
+        // When
+        String first = generator.next();
+        String second = generator.next();
+
+        // Then
+        assert first.length() == OrderIdGenerator.ORDER_ID_LENGTH : "Length mismatch: " + first;
+        assert first.chars().allMatch(Character::isDigit) : "Order id should be numeric: " + first;
+        assert "20241223".equals(OrderIdGenerator.orderDate(first)) : "Date prefix mismatch: " + first;
+        assert "0042".equals(first.substring(8, 12)) : "Node id mismatch: " + first;
+        assert "15116789".equals(first.substring(12, 20)) : "Millis of day mismatch: " + first;
+        assert first.endsWith("0000") && second.endsWith("0001") : "Sequence mismatch: " + first + ", " + second;
+        System.out.println("Format test passed");
+    }
+
+    private static void testUniqueAcrossThreads() throws Exception {
+        // Given 8 threads sharing one generator
+        OrderIdGenerator generator = new OrderIdGenerator(7);
+        int threads = 8;
+        int perThread = 500_000;
+        long[][] ids = new long[threads][perThread];
+
+        // When they generate 4 million ids concurrently
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] out = ids[t];
+            Thread worker = new Thread(() -> {
+                String previous = "";
+                for (int i = 0; i < perThread; i++) {
+                    String orderId = generator.next();
+                    assert orderId.compareTo(previous) > 0 : "Ids should increase within a thread";
+                    previous = orderId;
+                    // 节点号之后的 12 位（当天毫秒数 + 序号）放进 long 比较，测试只运行几秒，不会跨天
+                    out[i] = Long.parseLong(orderId.substring(12));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then no id repeats
+        long[] all = new long[threads * perThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(ids[t], 0, all, t * perThread, perThread);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assert all[i] != all[i - 1] : "Duplicate order id suffix " + all[i];
+        }
+        System.out.println("Unique across threads test passed");
+    }
+
+    private static void testClockGoesBackwards() {
+        // Given a clock that jumps back one second
+        long start = epochMillis(LocalDateTime.of(2024, 12, 23, 12, 0));
+        AtomicLong clock = new AtomicLong(start);
+        OrderIdGenerator generator = new OrderIdGenerator(1, SHANGHAI, clock::get);
+        String before = generator.next();
+
+        // When
+        clock.set(start - 1000);
+        String after = generator.next();
+
+        // Then ids keep increasing
+        assert after.compareTo(before) > 0 : "Ids should not go back with the clock: " + before + " -> " + after;
+        System.out.println("Clock goes backwards test passed");
+    }
+
+    private static void testSequenceOverflowAndMidnight() {
+        // Given a frozen clock one millisecond before midnight
+        long lastMillis = epochMillis(LocalDateTime.of(2024, 12, 23, 23, 59, 59, 999_000_000));
+        OrderIdGenerator generator = new OrderIdGenerator(1, SHANGHAI, () -> lastMillis);
+
+        // When more than 4096 ids are needed within that millisecond
+        String last = null;
+        for (int i = 0; i < 4097; i++) {
+            last = generator.next();
+        }
+
+        // Then the overflow borrows the next millisecond, which is the next day
+        assert "20241224".equals(OrderIdGenerator.orderDate(last)) : "Overflow should roll the date: " + last;
+        assert last.endsWith("000000000000") : "Should be the first id of the next day: " + last;
+        System.out.println("Sequence overflow and midnight test passed");
+    }
+
+    private static void testNodeIdRange() {
+        try {
+            new OrderIdGenerator(OrderIdGenerator.MAX_NODE_ID + 1);
+            assert false : "Node id above the range should be rejected";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        System.out.println("Node id range test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting OrderIdGenerator tests...\n");
+            testFormat();
+            testUniqueAcrossThreads();
+            testClockGoesBackwards();
+            testSequenceOverflowAndMidnight();
+            testNodeIdRange();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.cache.RequestCoalescer;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class RequestCoalescerTest {
+    private static final Function<Unionpay3060ApiEnterpriseAuthResponse, Unionpay3060ApiEnterpriseAuthResponse> SHARE = response -> {
+        Unionpay3060ApiEnterpriseAuthResponse copy = new Unionpay3060ApiEnterpriseAuthResponse();
+        copy.setOrderId(response.getOrderId());
+        copy.setFromCache(true);
+        return copy;
+    };
+
+    private static void testConcurrentDuplicatesShareCall() {
+        // Given an upstream call that has not completed yet
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> upstream = new CompletableFuture<>();
+        Supplier<CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse>> call = () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        };
+
+        // When
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> leader = coalescer.execute("a", call, SHARE);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> follower = coalescer.execute("a", call, SHARE);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> other = coalescer.execute("b", call, SHARE);
+
+        Unionpay3060ApiEnterpriseAuthResponse response = new Unionpay3060ApiEnterpriseAuthResponse();
+        response.setOrderId("order-1");
+        upstream.complete(response);
+
+        // Then
+        assert upstreamCalls.get() == 2 : "Duplicate should not call upstream";
+        assert !leader.join().isFromCache() : "Leader should get the upstream result";
+        assert follower.join().isFromCache() : "Follower should get a shared copy";
+        assert "order-1".equals(follower.join().getOrderId()) : "OrderId mismatch";
+        assert other.join() == response : "Different fingerprint should call upstream";
+        assert coalescer.getStats().getInFlight() == 0 : "Completed calls should be removed";
+        assert coalescer.getStats().getCoalescedCount() == 1 : "Coalesced count mismatch";
+
+        // After completion a new request calls upstream again
+        coalescer.execute("a", call, SHARE);
+        assert upstreamCalls.get() == 3 : "Completed call should not be reused";
+
+        System.out.println("Concurrent duplicates test passed");
+    }
+
+    private static void testFollowerCancelDoesNotAffectLeader() {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> upstream = new CompletableFuture<>();
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> leader = coalescer.execute("a", () -> upstream, SHARE);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> follower = coalescer.execute("a", () -> upstream, SHARE);
+
+        follower.cancel(true);
+        upstream.complete(new Unionpay3060ApiEnterpriseAuthResponse());
+        assert leader.isDone() && !leader.isCompletedExceptionally() : "Leader should still complete";
+
+        System.out.println("Follower cancel test passed");
+    }
+
+    private static void testFailureShared() {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> upstream = new CompletableFuture<>();
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> leader = coalescer.execute("a", () -> upstream, SHARE);
+        CompletableFuture<Unionpay3060ApiEnterpriseAuthResponse> follower = coalescer.execute("a", () -> upstream, SHARE);
+
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+        assert leader.isCompletedExceptionally() : "Leader should fail";
+        assert follower.isCompletedExceptionally() : "Follower should fail";
+        assert coalescer.getStats().getInFlight() == 0 : "Failed calls should be removed";
+
+        System.out.println("Failure shared test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting RequestCoalescer tests...\n");
+            testConcurrentDuplicatesShareCall();
+            testFollowerCancelDoesNotAffectLeader();
+            testFailureShared();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.cache.EnterpriseAuthResultCache;
+import io.sealos.enterprise.auth.model.response.Unionpay3060ApiEnterpriseAuthResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class ResultCacheTest {
+
+    private static Unionpay3060ApiEnterpriseAuthResponse response(String respCode) {
+        Unionpay3060ApiEnterpriseAuthResponse response = new Unionpay3060ApiEnterpriseAuthResponse();
+        response.setRespCode(respCode);
+        response.setOrderId("order-" + respCode);
+        response.setOrderStatus("0000");
+        return response;
+    }
+
+    private static void testSuccessCached() {
+        // Given
+        EnterpriseAuthResultCache cache = new EnterpriseAuthResultCache(true, 10, 60000, 60000, Set.of());
+
+        // When
+        cache.put("a", response(EnterpriseAuthResultCache.SUCCESS_CODE));
+        Unionpay3060ApiEnterpriseAuthResponse hit = cache.get("a");
+
+        // Then
+        assert hit != null : "Success result should be cached";
+        assert hit.isFromCache() : "Hit should be marked fromCache";
+        assert "order-00000000".equals(hit.getOrderId()) : "OrderId mismatch";
+        hit.setOrderId("changed");
+        assert "order-00000000".equals(cache.get("a").getOrderId()) : "Hit should be a copy";
+        assert cache.get("b") == null : "Unknown fingerprint should miss";
+        assert cache.getStats().getHitCount() == 2 : "Hit count mismatch";
+        assert cache.getStats().getMissCount() == 1 : "Miss count mismatch";
+
+        System.out.println("Success cached test passed");
+    }
+
+    private static void testFailureCodes() {
+        EnterpriseAuthResultCache cache = new EnterpriseAuthResultCache(true, 10, 60000, 60000, Set.of("0001"));
+        cache.put("terminal", response("0001"));
+        cache.put("transient", response("9999"));
+        assert cache.get("terminal") != null : "Configured failure code should be cached";
+        assert cache.get("transient") == null : "Other failures should not be cached";
+        System.out.println("Failure codes test passed");
+    }
+
+    private static void testTtlAndLru() throws InterruptedException {
+        EnterpriseAuthResultCache cache = new EnterpriseAuthResultCache(true, 2, 50, 0, Set.of());
+        cache.put("a", response(EnterpriseAuthResultCache.SUCCESS_CODE));
+        cache.put("b", response(EnterpriseAuthResultCache.SUCCESS_CODE));
+        cache.get("a");
+        cache.put("c", response(EnterpriseAuthResultCache.SUCCESS_CODE));
+        assert cache.get("b") == null : "Least recently used entry should be evicted";
+        assert cache.get("a") != null : "Recently used entry should stay";
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        assert cache.get("a") == null : "Expired entry should miss";
+        assert cache.getStats().getExpirationCount() == 1 : "Expiration should be counted";
+
+        System.out.println("TTL and LRU test passed");
+    }
+
+    private static void testDisabled() {
+        EnterpriseAuthResultCache cache = new EnterpriseAuthResultCache(false, 10, 60000, 60000, Set.of());
+        cache.put("a", response(EnterpriseAuthResultCache.SUCCESS_CODE));
+        assert cache.get("a") == null : "Disabled cache should never hit";
+        System.out.println("Disabled test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting ResultCache tests...\n");
+            testSuccessCached();
+            testFailureCodes();
+            testTtlAndLru();
+            testDisabled();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            System.err.println("Test interrupted: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.exception.BusinessException;
+import io.sealos.enterprise.auth.exception.ErrorCode;
+import io.sealos.enterprise.auth.service.Deadline;
+import io.sealos.enterprise.auth.service.RetryExecutor;
+import io.sealos.enterprise.auth.upstream.RetryPolicy;
+import io.sealos.enterprise.auth.upstream.UpstreamException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryExecutorTest {
+
+    private static UpstreamException connectFailed() {
+        return new UpstreamException(ErrorCode.UPSTREAM_ERROR, "Upstream connect failed", 502, true);
+    }
+
+    private static UpstreamException readTimeout() {
+        return new UpstreamException(ErrorCode.UPSTREAM_TIMEOUT, "Upstream request timeout", 504, false);
+    }
+
+    private static RetryPolicy policy(int maxAttempts, boolean hedge) {
+        return new RetryPolicy(maxAttempts, 10, 50, Set.of("10090001"), hedge, 20);
+    }
+
+    private static void testRetryBeforeCharge() {
+        // Given an upstream that refuses the first two connections
+        RetryExecutor executor = new RetryExecutor(policy(3, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = executor.execute("order-1", Deadline.after(5000), () -> calls.incrementAndGet() <= 2
+                ? CompletableFuture.<String>failedFuture(connectFailed())
+                : CompletableFuture.completedFuture("ok"), value -> null).join();
+
+        // Then
+        assert "ok".equals(result) : "Third attempt should succeed";
+        assert calls.get() == 3 : "Should attempt three times";
+        System.out.println("Retry before charge test passed");
+    }
+
+    private static void testNoRetryAfterPossibleCharge() {
+        // Given an upstream that times out while reading, so it may have charged
+        RetryExecutor executor = new RetryExecutor(policy(3, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When / Then
+        try {
+            executor.execute("order-2", Deadline.after(5000), () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.<String>failedFuture(readTimeout());
+            }, value -> null).join();
+            assert false : "Read timeout should fail";
+        } catch (CompletionException e) {
+            assert e.getCause() instanceof BusinessException : "Should fail with BusinessException";
+            assert "UPS-504".equals(((BusinessException) e.getCause()).getErrorCode()) : "Error code mismatch";
+        }
+        assert calls.get() == 1 : "Read timeout must not be retried";
+        System.out.println("No retry after possible charge test passed");
+    }
+
+    private static void testRetryableRespCode() {
+        RetryExecutor executor = new RetryExecutor(policy(2, false));
+        RetryPolicy policy = policy(2, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("order-3", Deadline.after(5000),
+                () -> CompletableFuture.completedFuture(calls.incrementAndGet() == 1 ? "10090001" : "00000000"),
+                respCode -> policy.isRetryableRespCode(respCode) ? "resp_" + respCode : null).join();
+
+        assert "00000000".equals(result) : "Should retry the pre-charge respCode";
+        assert calls.get() == 2 : "Should attempt twice";
+
+        // The last attempt's result is returned when attempts run out
+        calls.set(0);
+        result = executor.execute("order-4", Deadline.after(5000),
+                () -> CompletableFuture.completedFuture("10090001" + calls.incrementAndGet()),
+                respCode -> respCode.startsWith("10090001") ? "resp_10090001" : null).join();
+        assert "100900012".equals(result) : "Last result should be returned, was " + result;
+        System.out.println("Retryable respCode test passed");
+    }
+
+    private static void testRetryStaysWithinDeadline() {
+        // Given a backoff that cannot fit in the remaining time
+        RetryExecutor executor = new RetryExecutor(new RetryPolicy(5, 1000, 1000, Set.of(), false, 0));
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+
+        try {
+            executor.execute("order-5", Deadline.after(100), () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.<String>failedFuture(connectFailed());
+            }, value -> null).join();
+            assert false : "Should fail once no retry fits";
+        } catch (CompletionException e) {
+            assert e.getCause() instanceof UpstreamException : "Last failure should be returned";
+        }
+        assert System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500) : "Should not wait past deadline";
+        assert calls.get() <= 2 : "Should stop retrying near the deadline";
+        System.out.println("Retry stays within deadline test passed");
+    }
+
+    private static void testHedge() {
+        // Given recent latencies of about 1ms and a 20ms hedge floor
+        RetryPolicy policy = policy(2, true);
+        for (int i = 0; i < 50; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assert policy.hedgeDelayMillis() == 20 : "Hedge delay should respect the floor";
+        RetryExecutor executor = new RetryExecutor(policy);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+
+        // When the first attempt stalls
+        long start = System.nanoTime();
+        String result = executor.execute("order-6", Deadline.after(5000),
+                () -> calls.incrementAndGet() == 1 ? stalled : CompletableFuture.completedFuture("hedged"),
+                value -> null).join();
+
+        // Then the hedge wins, and the late primary is ignored
+        assert "hedged".equals(result) : "Hedge should win";
+        assert System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1) : "Should not wait for the stalled attempt";
+        stalled.complete("late");
+        assert calls.get() == 2 : "Should send exactly one hedge";
+        System.out.println("Hedge test passed");
+    }
+
+    private static void testAttemptListener() {
+        // Given a stalled first attempt that is hedged, and a blocking call that is retried once
+        RetryPolicy policy = policy(3, true);
+        for (int i = 0; i < 50; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        RetryExecutor executor = new RetryExecutor(policy);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+        List<String> attempts = new CopyOnWriteArrayList<>();
+
+        // When both calls complete and the stalled attempt finishes after the hedge won
+        String result = executor.execute("order-9", Deadline.after(5000),
+                () -> calls.incrementAndGet() == 1 ? stalled : CompletableFuture.completedFuture("hedged"),
+                value -> null,
+                (attemptNo, kind, tookNanos, value, throwable) -> attempts.add(attemptNo + ":" + kind + ":" + value))
+                .join();
+        stalled.complete("late");
+        AtomicInteger blockingCalls = new AtomicInteger();
+        List<String> blockingAttempts = new CopyOnWriteArrayList<>();
+        executor.executeBlocking("order-10", Deadline.after(5000), () -> {
+            if (blockingCalls.incrementAndGet() == 1) {
+                throw connectFailed();
+            }
+            return "ok";
+        }, value -> null, (attemptNo, kind, tookNanos, value, throwable) -> blockingAttempts.add(
+                attemptNo + ":" + kind + ":" + (throwable == null ? value : throwable.getClass().getSimpleName())));
+
+        // Then every HTTP attempt is reported, including the losing one
+        assert "hedged".equals(result) : "Hedge should win";
+        assert attempts.equals(List.of("2:hedge:hedged", "1:first:late")) : "Unexpected attempts " + attempts;
+        assert blockingAttempts.equals(List.of("1:first:UpstreamException", "2:retry:ok"))
+                : "Unexpected blocking attempts " + blockingAttempts;
+        System.out.println("Attempt listener test passed");
+    }
+
+    private static void testBlocking() {
+        RetryExecutor executor = new RetryExecutor(policy(3, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.executeBlocking("order-7", Deadline.after(5000), () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw connectFailed();
+            }
+            return "ok";
+        }, value -> null);
+        assert "ok".equals(result) : "Second attempt should succeed";
+
+        calls.set(0);
+        try {
+            executor.executeBlocking("order-8", Deadline.after(5000), () -> {
+                calls.incrementAndGet();
+                throw readTimeout();
+            }, value -> null);
+            assert false : "Read timeout should fail";
+        } catch (UpstreamException e) {
+            assert calls.get() == 1 : "Read timeout must not be retried";
+        }
+        System.out.println("Blocking test passed");
+    }
+
+    private static void testBackoff() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 300, Set.of(), false, 0);
+        for (int i = 0; i < 100; i++) {
+            assert policy.backoffMillis(1) <= 100 : "First backoff should not exceed the base";
+            assert policy.backoffMillis(5) <= 300 : "Backoff should not exceed the cap";
+        }
+        assert policy.hedgeDelayMillis() == -1 : "Hedge should be off by default";
+        System.out.println("Backoff test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting RetryExecutor tests...\n");
+            testRetryBeforeCharge();
+            testNoRetryAfterPossibleCharge();
+            testRetryableRespCode();
+            testRetryStaysWithinDeadline();
+            testHedge();
+            testAttemptListener();
+            testBlocking();
+            testBackoff();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
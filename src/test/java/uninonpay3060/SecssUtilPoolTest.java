@@ -0,0 +1,207 @@
+package uninonpay3060;
+
+import com.chinapay.secss.SecssUtil;
+
+import io.sealos.enterprise.auth.secss.SecssKeyWatcher;
+import io.sealos.enterprise.auth.secss.SecssUtilPool;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SecssUtilPoolTest {
+    private static String certId(SecssUtil secssUtil) {
+        secssUtil.getSignCertId();
+        assert "00".equals(secssUtil.getErrCode()) : "getSignCertId failed: " + secssUtil.getErrMsg();
+        return secssUtil.getCertId();
+    }
+
+    private static String currentCertId(TestSecssKeys keys) {
+        SecssUtil secssUtil = new SecssUtil(true);
+        assert secssUtil.init(keys.getPropertiesPath().toString()) : "init failed: " + secssUtil.getErrMsg();
+        return certId(secssUtil);
+    }
+
+    private static void testReloadPicksUpRotatedKeys() throws Exception {
+        // Given a warmed-up pool on a set of keys
+        TestSecssKeys keys = TestSecssKeys.generateTemp();
+        SecssUtilPool pool = new SecssUtilPool(keys.getPropertiesPath().toString(), 2, 100);
+        pool.warmUp();
+        String oldCertId = currentCertId(keys);
+        SecssUtil before = pool.borrow();
+        assert oldCertId.equals(certId(before)) : "Pool should sign with the initial cert";
+        pool.release(before);
+
+        // When the key files are replaced in place and the pool reloads
+        TestSecssKeys rotated = TestSecssKeys.generate(keys.getDir());
+        String newCertId = currentCertId(rotated);
+        assert !newCertId.equals(oldCertId) : "Rotation should produce a new cert";
+        assert pool.reload() : "Reload should succeed";
+
+        // Then every instance signs with the new cert and verifies under it
+        for (int i = 0; i < 2; i++) {
+            SecssUtil after = pool.borrow();
+            try {
+                assert newCertId.equals(certId(after)) : "Pool should sign with the rotated cert";
+                Map<String, Object> signMap = new HashMap<>();
+                signMap.put("reqData", "rotation");
+                after.sign(signMap);
+                assert "00".equals(after.getErrCode()) : "Sign failed: " + after.getErrMsg();
+                signMap.put("signature", after.getSign());
+
+                SecssUtil verifier = new SecssUtil(true);
+                verifier.init(rotated.getPropertiesPath().toString());
+                verifier.verify(signMap);
+                assert "00".equals(verifier.getErrCode()) : "Signature should verify under the new cert, errCode="
+                        + verifier.getErrCode();
+            } finally {
+                pool.release(after);
+            }
+        }
+        assert pool.getStats().getGeneration() == 1 : "Generation should advance";
+        System.out.println("Reload picks up rotated keys test passed");
+    }
+
+    private static void testWaiterMovesToNewGeneration() throws Exception {
+        // Given a pool of one whose only instance is borrowed
+        TestSecssKeys keys = TestSecssKeys.generateTemp();
+        SecssUtilPool pool = new SecssUtilPool(keys.getPropertiesPath().toString(), 1, 3000);
+        pool.warmUp();
+        SecssUtil held = pool.borrow();
+
+        // When another borrower is waiting and the pool reloads
+        CompletableFuture<SecssUtil> waiter = CompletableFuture.supplyAsync(pool::borrow);
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        assert pool.reload() : "Reload should succeed";
+
+        // Then the waiter gets an instance of the new generation instead of timing out
+        SecssUtil borrowed = waiter.get(5, TimeUnit.SECONDS);
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assert borrowed != held : "Waiter should get a new instance";
+        assert tookMillis < 1000 : "Waiter should not wait for the full timeout, took " + tookMillis + "ms";
+        assert pool.getStats().getExhaustedCount() == 0 : "Pool should not report exhaustion";
+        pool.release(held);
+        pool.release(borrowed);
+        assert pool.getStats().getIdle() == 1 : "Only the new generation instance should be kept";
+        System.out.println("Waiter moves to new generation test passed");
+    }
+
+    private static void testBorrowOrCreateNeverWaits() throws Exception {
+        // Given a pool of one whose only instance is borrowed
+        TestSecssKeys keys = TestSecssKeys.generateTemp();
+        SecssUtilPool pool = new SecssUtilPool(keys.getPropertiesPath().toString(), 1, 3000);
+        pool.warmUp();
+        SecssUtil held = pool.borrow();
+
+        // When a charged response needs an instance
+        long start = System.nanoTime();
+        SecssUtil temporary = pool.borrowOrCreate();
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then a usable temporary instance is returned without waiting for the borrow timeout
+        assert temporary != held : "Should not share the borrowed instance";
+        assert tookMillis < 1000 : "Should not wait for the borrow timeout, took " + tookMillis + "ms";
+        assert currentCertId(keys).equals(certId(temporary)) : "Temporary instance should use the same keys";
+        assert pool.getStats().getOverflowCount() == 1 : "Overflow should be counted";
+        assert pool.getStats().getExhaustedCount() == 0 : "Overflow is not an exhaustion";
+        pool.release(temporary);
+        assert pool.getStats().getIdle() == 0 : "Temporary instance should be dropped on release";
+        pool.release(held);
+        assert pool.borrowOrCreate() == held : "Idle pool instances should be preferred";
+        System.out.println("Borrow or create never waits test passed");
+    }
+
+    /**
+     * 按 Kubernetes Secret 的目录结构在 mount/..name 下生成密钥，配置中的证书路径指向 mount 下的软链接
+     */
+    private static TestSecssKeys generateSecretVersion(Path mount, String name) throws Exception {
+        TestSecssKeys keys = TestSecssKeys.generate(mount.resolve(name));
+        Properties properties = keys.toProperties();
+        properties.setProperty("secss.privatePath", mount.resolve("test.sm2").toString());
+        properties.setProperty("secss.publicPath", mount.resolve("test.cer").toString());
+        try (OutputStream out = Files.newOutputStream(keys.getPropertiesPath())) {
+            properties.store(out, "generated test keys, do not use in production");
+        }
+        return keys;
+    }
+
+    private static void swapSecretData(Path mount, String name) throws Exception {
+        Path tmp = mount.resolve("..data_tmp");
+        Files.createSymbolicLink(tmp, Paths.get(name));
+        Files.move(tmp, mount.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void waitForGeneration(SecssUtilPool pool, long generation, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pool.getStats().getGeneration() < generation && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static void testWatcherFollowsSecretRotation() throws Exception {
+        // Given a pool and watcher on a Kubernetes Secret style mount
+        Path mount = Files.createTempDirectory("secss-secret-mount");
+        generateSecretVersion(mount, "..v1");
+        Files.createSymbolicLink(mount.resolve("..data"), Paths.get("..v1"));
+        for (String file : new String[] { "security.properties", "test.sm2", "test.cer" }) {
+            Files.createSymbolicLink(mount.resolve(file), Paths.get("..data", file));
+        }
+        String configPath = mount.resolve("security.properties").toString();
+        SecssUtilPool pool = new SecssUtilPool(configPath, 1, 1000);
+        pool.warmUp();
+
+        try (SecssKeyWatcher watcher = new SecssKeyWatcher(pool, 60000)) {
+            watcher.start();
+
+            // When the Secret rotates by swapping the ..data symlink
+            TestSecssKeys rotated = generateSecretVersion(mount, "..v2");
+            swapSecretData(mount, "..v2");
+
+            // Then the pool reloads although no watched file name was touched
+            waitForGeneration(pool, 1, 5000);
+            assert pool.getStats().getGeneration() == 1 : "Pool should reload after the ..data swap";
+            SecssUtil borrowed = pool.borrow();
+            String signCertId = certId(borrowed);
+            pool.release(borrowed);
+            assert currentCertId(rotated).equals(signCertId) : "Pool should sign with the rotated cert";
+
+            // When the next rotation is broken and later fixed without any event on the mount
+            TestSecssKeys broken = generateSecretVersion(mount, "..v3");
+            Path privateKey = broken.getDir().resolve("test.sm2");
+            byte[] validKey = Files.readAllBytes(privateKey);
+            Files.write(privateKey, "not a key".getBytes());
+            swapSecretData(mount, "..v3");
+            Thread.sleep(1500);
+            assert pool.getStats().getGeneration() == 1 : "Broken keys should not replace the pool";
+            Files.write(privateKey, validKey);
+
+            // Then the failed reload is retried and picks up the fixed keys
+            waitForGeneration(pool, 2, 10000);
+            assert pool.getStats().getGeneration() == 2 : "Failed reload should be retried";
+        }
+        System.out.println("Watcher follows secret rotation test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting SecssUtilPool tests...\n");
+            testReloadPicksUpRotatedKeys();
+            testWaiterMovesToNewGeneration();
+            testBorrowOrCreateNeverWaits();
+            testWatcherFollowsSecretRotation();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package uninonpay3060;
+
+import com.chinapay.secss.SecssUtil;
+import com.chinapay.secss.sm.SM2Util;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.asn1.x509.V3TBSCertificateGenerator;
+import org.bouncycastle.crypto.digests.SM3Digest;
+import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPrivateKey;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 本地生成的 SM2 测试证书，供基准测试和 3060 模拟器离线使用
+ *
+ * 生成自签名 .cer 证书和银联 .sm2 私钥文件（base64 的 ASN.1 结构，私钥 D 使用口令派生的 SM4-CBC 密钥加密），
+ * 以及可直接交给 SecssUtil.init 的 security.properties。
+ */
+public final class TestSecssKeys {
+    public static final String PASSWORD = "123456";
+
+    private static final BouncyCastleProvider PROVIDER = new BouncyCastleProvider();
+    // GM/T 0010 data / sm4 oid，SecssUtil 只读取其中的密文和证书
+    private static final ASN1ObjectIdentifier OID_DATA = new ASN1ObjectIdentifier("1.2.156.10197.6.1.4.2.1");
+    private static final ASN1ObjectIdentifier OID_SM4 = new ASN1ObjectIdentifier("1.2.156.10197.1.104");
+
+    private final Path dir;
+    private final Path privatePath;
+    private final Path publicPath;
+    private final Path propertiesPath;
+
+    private TestSecssKeys(Path dir) {
+        this.dir = dir;
+        this.privatePath = dir.resolve("test.sm2");
+        this.publicPath = dir.resolve("test.cer");
+        this.propertiesPath = dir.resolve("security.properties");
+    }
+
+    /**
+     * 在 dir 下生成一套密钥，商户和银联共用同一对密钥
+     */
+    public static TestSecssKeys generate(Path dir) throws IOException, GeneralSecurityException {
+        TestSecssKeys keys = new TestSecssKeys(dir);
+        Files.createDirectories(dir);
+
+        KeyPair keyPair = SM2Util.generateKeyPair();
+        byte[] cert = selfSignedCertificate(keyPair);
+        Files.write(keys.publicPath, cert);
+        Files.write(keys.privatePath, sm2File(keyPair, cert, PASSWORD));
+
+        try (OutputStream out = Files.newOutputStream(keys.propertiesPath)) {
+            keys.toProperties().store(out, "generated test keys, do not use in production");
+        }
+        return keys;
+    }
+
+    public static TestSecssKeys generateTemp() throws IOException, GeneralSecurityException {
+        return generate(Files.createTempDirectory("secss-test-keys"));
+    }
+
+    /**
+     * dir 下已有密钥时直接复用，保证模拟器重启后已运行的服务仍能验签
+     */
+    public static TestSecssKeys loadOrGenerate(Path dir) throws IOException, GeneralSecurityException {
+        TestSecssKeys keys = new TestSecssKeys(dir);
+        if (Files.exists(keys.privatePath) && Files.exists(keys.publicPath) && Files.exists(keys.propertiesPath)) {
+            return keys;
+        }
+        return generate(dir);
+    }
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("sign.invalid.fields", "signature,CertId");
+        properties.setProperty("signature.field", "signature");
+        properties.setProperty("log.info", "false");
+        properties.setProperty("secss.privateAlg", "SM2");
+        properties.setProperty("secss.privatePath", privatePath.toString());
+        properties.setProperty("secss.privatePwd", PASSWORD);
+        properties.setProperty("secss.publicAlg", "SM2");
+        properties.setProperty("secss.publicPath", publicPath.toString());
+        properties.setProperty("secss.excludeExpiredCert", "true");
+        return properties;
+    }
+
+    public SecssUtil newSecssUtil() {
+        SecssUtil secssUtil = new SecssUtil();
+        if (!secssUtil.init(toProperties())) {
+            throw new IllegalStateException("Failed to init SecssUtil with test keys: " + secssUtil.getErrMsg());
+        }
+        return secssUtil;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public Path getPropertiesPath() {
+        return propertiesPath;
+    }
+
+    private static byte[] selfSignedCertificate(KeyPair keyPair) throws IOException, GeneralSecurityException {
+        AlgorithmIdentifier algorithm = new AlgorithmIdentifier(GMObjectIdentifiers.sm2sign_with_sm3);
+        X500Name name = new X500Name("CN=unionpay3060-test,O=test");
+        long now = System.currentTimeMillis();
+
+        V3TBSCertificateGenerator generator = new V3TBSCertificateGenerator();
+        generator.setSerialNumber(new ASN1Integer(BigInteger.valueOf(now)));
+        generator.setSignature(algorithm);
+        generator.setIssuer(name);
+        generator.setSubject(name);
+        generator.setStartDate(new Time(new Date(now - TimeUnit.DAYS.toMillis(1))));
+        generator.setEndDate(new Time(new Date(now + TimeUnit.DAYS.toMillis(3650))));
+        generator.setSubjectPublicKeyInfo(SubjectPublicKeyInfo.getInstance(keyPair.getPublic().getEncoded()));
+        TBSCertificate tbs = generator.generateTBSCertificate();
+
+        Signature signature = Signature.getInstance("SM3withSM2", PROVIDER);
+        signature.initSign(keyPair.getPrivate());
+        signature.update(tbs.getEncoded());
+
+        ASN1EncodableVector vector = new ASN1EncodableVector();
+        vector.add(tbs);
+        vector.add(algorithm);
+        vector.add(new DERBitString(signature.sign()));
+        return Certificate.getInstance(new DERSequence(vector)).getEncoded();
+    }
+
+    private static byte[] sm2File(KeyPair keyPair, byte[] cert, String password)
+            throws IOException, GeneralSecurityException {
+        // 口令派生密钥：SM3(password || 00000001)，前 16 字节为 IV，后 16 字节为 SM4 密钥
+        SM3Digest digest = new SM3Digest();
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        digest.update(passwordBytes, 0, passwordBytes.length);
+        digest.update(new byte[] { 0, 0, 0, 1 }, 0, 4);
+        byte[] kdf = new byte[32];
+        digest.doFinal(kdf, 0);
+
+        byte[] d = toFixedLength(((BCECPrivateKey) keyPair.getPrivate()).getD(), 32);
+        Cipher cipher = Cipher.getInstance("SM4/CBC/PKCS7Padding", PROVIDER);
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(kdf, 16, 16, "SM4"),
+                new IvParameterSpec(kdf, 0, 16));
+        byte[] encryptedD = cipher.doFinal(d);
+
+        ASN1EncodableVector privateKey = new ASN1EncodableVector();
+        privateKey.add(OID_DATA);
+        privateKey.add(OID_SM4);
+        privateKey.add(new DEROctetString(encryptedD));
+
+        ASN1EncodableVector certificate = new ASN1EncodableVector();
+        certificate.add(OID_DATA);
+        certificate.add(new DEROctetString(cert));
+
+        ASN1EncodableVector file = new ASN1EncodableVector();
+        file.add(new ASN1Integer(1));
+        file.add(new DERSequence(privateKey));
+        file.add(new DERSequence(certificate));
+        return Base64.getEncoder().encode(new DERSequence(file).getEncoded());
+    }
+
+    private static byte[] toFixedLength(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+}
@@ -0,0 +1,435 @@
+package uninonpay3060;
+
+import com.chinapay.secss.SecssUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.sealos.enterprise.auth.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地银联 3060 模拟器，用于离线联调和压测
+ *
+ * 与真实接口使用相同的协议：表单提交 reqData/signature，返回 respData=base64&signature=签名，
+ * 响应结构与 src/test/data-samples/success.json 一致，sensData 原样解密后重新加密返回。
+ * 密钥由 TestSecssKeys 在本地生成，服务端把 SECSS_CONFIG_PATH 指向同一份 security.properties 即可验签。
+ *
+ * 支持配置延迟分布、HTTP 错误率、超时率、业务失败率、坏签名率，以及按 QPS 和并发数限流。
+ * 延迟通过定时器完成响应，不占用 Jetty 线程。
+ *
+ * 运行：java -cp target/test-classes:target/classes:... uninonpay3060.Unionpay3060Simulator，
+ * 参数见 {@link Config#fromEnv()}，启动后按日志输出设置服务的 UNIONPAY_3060_API 和 SECSS_CONFIG_PATH。
+ */
+public class Unionpay3060Simulator {
+    private static final Logger logger = LoggerFactory.getLogger(Unionpay3060Simulator.class);
+
+    public static final String PATH = "/VASAP/vasap/business.htm";
+    public static final String SUCCESS_CODE = "00000000";
+
+    private final Config config;
+    private final TestSecssKeys keys;
+    private final ThreadLocal<SecssUtil> secssUtil;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+    private final TokenBucket tokenBucket;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Javalin app;
+
+    // metrics
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder badSignatureCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 模拟器配置，比例均为 0~1
+     */
+    public static class Config {
+        private int port = 18060;
+        private Path keyDir = Paths.get("target", "simulator-keys");
+        private LatencyDistribution latency = LatencyDistribution.parse("lognormal:80,400");
+        private double errorRate;
+        private double timeoutRate;
+        private long timeoutMillis = 60000;
+        private double failureRate;
+        private String failureCode = "10010001";
+        private double badSignatureRate;
+        private int rateLimit;
+        private int maxConcurrency;
+        private int throttleStatus = 503;
+
+        /**
+         * 从 SIM_* 环境变量读取配置：
+         * SIM_PORT、SIM_KEY_DIR、SIM_LATENCY（见 {@link LatencyDistribution#parse}）、
+         * SIM_ERROR_RATE（HTTP 500）、SIM_TIMEOUT_RATE / SIM_TIMEOUT_MS（长时间不响应）、
+         * SIM_FAILURE_RATE / SIM_FAILURE_CODE（业务失败 respCode）、SIM_BAD_SIGNATURE_RATE（响应签名损坏）、
+         * SIM_RATE_LIMIT（每秒请求数）、SIM_MAX_CONCURRENCY（同时处理数）、SIM_THROTTLE_STATUS（限流时的 HTTP 状态）
+         */
+        public static Config fromEnv() {
+            Config config = new Config();
+            config.port = Integer.parseInt(env("SIM_PORT", "18060"));
+            config.keyDir = Paths.get(env("SIM_KEY_DIR", config.keyDir.toString()));
+            config.latency = LatencyDistribution.parse(env("SIM_LATENCY", "lognormal:80,400"));
+            config.errorRate = Double.parseDouble(env("SIM_ERROR_RATE", "0"));
+            config.timeoutRate = Double.parseDouble(env("SIM_TIMEOUT_RATE", "0"));
+            config.timeoutMillis = Long.parseLong(env("SIM_TIMEOUT_MS", "60000"));
+            config.failureRate = Double.parseDouble(env("SIM_FAILURE_RATE", "0"));
+            config.failureCode = env("SIM_FAILURE_CODE", config.failureCode);
+            config.badSignatureRate = Double.parseDouble(env("SIM_BAD_SIGNATURE_RATE", "0"));
+            config.rateLimit = Integer.parseInt(env("SIM_RATE_LIMIT", "0"));
+            config.maxConcurrency = Integer.parseInt(env("SIM_MAX_CONCURRENCY", "0"));
+            config.throttleStatus = Integer.parseInt(env("SIM_THROTTLE_STATUS", "503"));
+            return config;
+        }
+
+        private static String env(String key, String defaultValue) {
+            String value = System.getenv(key);
+            return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+        }
+
+        public Config port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Config keyDir(Path keyDir) {
+            this.keyDir = keyDir;
+            return this;
+        }
+
+        public Config latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Config errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Config timeout(double timeoutRate, long timeoutMillis) {
+            this.timeoutRate = timeoutRate;
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        public Config failure(double failureRate, String failureCode) {
+            this.failureRate = failureRate;
+            this.failureCode = failureCode;
+            return this;
+        }
+
+        public Config badSignatureRate(double badSignatureRate) {
+            this.badSignatureRate = badSignatureRate;
+            return this;
+        }
+
+        public Config rateLimit(int rateLimit) {
+            this.rateLimit = rateLimit;
+            return this;
+        }
+
+        public Config maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Config throttleStatus(int throttleStatus) {
+            this.throttleStatus = throttleStatus;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "port=" + port + ", latency=" + latency + ", errorRate=" + errorRate
+                    + ", timeoutRate=" + timeoutRate + ", failureRate=" + failureRate
+                    + ", badSignatureRate=" + badSignatureRate + ", rateLimit=" + rateLimit
+                    + ", maxConcurrency=" + maxConcurrency;
+        }
+    }
+
+    /**
+     * 响应延迟分布，单位毫秒
+     */
+    public interface LatencyDistribution {
+        long sampleMillis(ThreadLocalRandom random);
+
+        /**
+         * 解析延迟分布：
+         * fixed:50、uniform:20,80、normal:均值,标准差、exponential:均值、lognormal:p50,p99
+         */
+        static LatencyDistribution parse(String spec) {
+            String[] parts = spec.split(":", 2);
+            String[] args = parts.length == 2 ? parts[1].split(",") : new String[0];
+            double a = args.length > 0 ? Double.parseDouble(args[0].trim()) : 0;
+            double b = args.length > 1 ? Double.parseDouble(args[1].trim()) : a;
+            LatencyDistribution distribution;
+            switch (parts[0].trim().toLowerCase()) {
+                case "fixed":
+                    distribution = random -> (long) a;
+                    break;
+                case "uniform":
+                    distribution = random -> (long) (a + random.nextDouble() * (b - a));
+                    break;
+                case "normal":
+                    distribution = random -> (long) (a + random.nextGaussian() * b);
+                    break;
+                case "exponential":
+                    distribution = random -> (long) (-a * Math.log(1 - random.nextDouble()));
+                    break;
+                case "lognormal":
+                    // 以中位数和 p99 描述长尾：mu = ln(p50)，sigma = ln(p99 / p50) / z(0.99)
+                    double mu = Math.log(Math.max(1, a));
+                    double sigma = Math.log(Math.max(b, a) / Math.max(1, a)) / 2.3263;
+                    distribution = random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+            return new LatencyDistribution() {
+                @Override
+                public long sampleMillis(ThreadLocalRandom random) {
+                    return Math.max(0, distribution.sampleMillis(random));
+                }
+
+                @Override
+                public String toString() {
+                    return spec;
+                }
+            };
+        }
+    }
+
+    /**
+     * 每秒 rate 个令牌，桶容量同为 rate
+     */
+    private static class TokenBucket {
+        private final int rate;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        private TokenBucket(int rate) {
+            this.rate = rate;
+            this.tokens = rate;
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(rate, tokens + (now - lastRefillNanos) * rate / 1e9);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    public Unionpay3060Simulator(Config config) throws Exception {
+        this.config = config;
+        this.keys = TestSecssKeys.loadOrGenerate(config.keyDir);
+        this.secssUtil = ThreadLocal.withInitial(keys::newSecssUtil);
+        this.tokenBucket = config.rateLimit > 0 ? new TokenBucket(config.rateLimit) : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "simulator-latency");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Unionpay3060Simulator start() {
+        app = Javalin.create(javalinConfig -> javalinConfig.showJavalinBanner = false);
+        app.post(PATH, this::handle);
+        app.get("/stats", ctx -> ctx.json(getStats()));
+        app.start(config.port);
+        logger.info("UnionPay 3060 simulator started: {}", config);
+        logger.info("UNIONPAY_3060_API={}", getApiUrl());
+        logger.info("SECSS_CONFIG_PATH={}", keys.getPropertiesPath().toAbsolutePath());
+        return this;
+    }
+
+    public void stop() {
+        if (app != null) {
+            app.stop();
+        }
+        scheduler.shutdownNow();
+    }
+
+    public String getApiUrl() {
+        return "http://127.0.0.1:" + app.port() + PATH;
+    }
+
+    public TestSecssKeys getKeys() {
+        return keys;
+    }
+
+    private void handle(Context ctx) {
+        requestCount.increment();
+        if (tokenBucket != null && !tokenBucket.tryAcquire()) {
+            throttledCount.increment();
+            ctx.status(config.throttleStatus).result("rate limited");
+            return;
+        }
+        if (inFlight.incrementAndGet() > config.maxConcurrency && config.maxConcurrency > 0) {
+            inFlight.decrementAndGet();
+            throttledCount.increment();
+            ctx.status(config.throttleStatus).result("too many concurrent requests");
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = config.latency.sampleMillis(random);
+        int status = 200;
+        String body;
+        try {
+            if (random.nextDouble() < config.errorRate) {
+                errorCount.increment();
+                status = 500;
+                body = "internal error";
+            } else {
+                if (random.nextDouble() < config.timeoutRate) {
+                    timeoutCount.increment();
+                    delay = config.timeoutMillis;
+                }
+                body = respond(ctx.formParam("reqData"), ctx.formParam("signature"), random);
+            }
+        } catch (IllegalArgumentException e) {
+            rejectedCount.increment();
+            status = 400;
+            body = e.getMessage();
+        } catch (Exception e) {
+            logger.error("Simulator failed to build response", e);
+            errorCount.increment();
+            status = 500;
+            body = "internal error";
+        }
+
+        int responseStatus = status;
+        String responseBody = body;
+        CompletableFuture<Void> delayed = new CompletableFuture<>();
+        scheduler.schedule(() -> delayed.complete(null), delay, TimeUnit.MILLISECONDS);
+        ctx.future(() -> delayed
+                .thenRun(() -> ctx.status(responseStatus).contentType("text/plain;charset=UTF-8")
+                        .result(responseBody))
+                .whenComplete((ignored, throwable) -> inFlight.decrementAndGet()));
+    }
+
+    private String respond(String reqData, String signature, ThreadLocalRandom random) throws Exception {
+        if (reqData == null || signature == null) {
+            throw new IllegalArgumentException("reqData and signature are required");
+        }
+        SecssUtil secss = secssUtil.get();
+
+        Map<String, String> verifyMap = new HashMap<>();
+        verifyMap.put("reqData", sha512Hex(reqData));
+        verifyMap.put("signature", signature);
+        secss.verify(verifyMap);
+        if (!"00".equals(secss.getErrCode())) {
+            throw new IllegalArgumentException("signature verification failed");
+        }
+
+        Map<String, Object> request = objectMapper.readValue(Base64.getDecoder().decode(reqData),
+                objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, Object.class));
+        String sensData = null;
+        if (request.get("sensData") != null) {
+            secss.decryptData((String) request.get("sensData"));
+            if (!"00".equals(secss.getErrCode())) {
+                throw new IllegalArgumentException("failed to decrypt sensData");
+            }
+            secss.encryptData(secss.getDecValue());
+            sensData = secss.getEncValue();
+        }
+
+        boolean failed = random.nextDouble() < config.failureRate;
+        if (failed) {
+            failureCount.increment();
+        } else {
+            successCount.increment();
+        }
+
+        // 字段与 success.json 保持一致，请求中的订单和企业信息原样返回
+        Map<String, Object> respData = new LinkedHashMap<>();
+        respData.put("accountCity", "北京");
+        respData.put("subBank", "测试支行|123456789123");
+        respData.put("orderId", request.get("orderId"));
+        if (sensData != null) {
+            respData.put("sensData", sensData);
+        }
+        respData.put("accountProv", "北京");
+        respData.put("orderStatus", failed ? "0001" : "0000");
+        respData.put("randomNum", String.format("%06d", random.nextInt(1000000)));
+        respData.put("accountBank", request.get("accountBank"));
+        respData.put("merNo", request.get("merNo"));
+        respData.put("transAmt", "1");
+        respData.put("respMsg", failed ? "认证不通过（模拟）" : "认证/查询成功");
+        respData.put("busiType", request.get("busiType"));
+        respData.put("keyType", request.get("keyType"));
+        respData.put("orderDate", request.get("orderDate"));
+        respData.put("key", request.get("key"));
+        respData.put("respCode", failed ? config.failureCode : SUCCESS_CODE);
+
+        String respDataBase64 = Base64.getEncoder().encodeToString(objectMapper.writeValueAsBytes(respData));
+        Map<String, Object> signMap = new HashMap<>();
+        signMap.put("respData", sha512Hex(respDataBase64));
+        secss.sign(signMap);
+        String responseSignature = secss.getSign();
+        if (random.nextDouble() < config.badSignatureRate) {
+            badSignatureCount.increment();
+            responseSignature = corrupt(responseSignature);
+        }
+        // 与银联一致，响应不做 URL 编码
+        return "respData=" + respDataBase64 + "&signature=" + responseSignature;
+    }
+
+    private static String sha512Hex(String value) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-512");
+        return StringUtils.bytesToHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String corrupt(String signature) {
+        byte[] bytes = Base64.getDecoder().decode(signature);
+        bytes[bytes.length / 2] ^= 0x01;
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requestCount.sum());
+        stats.put("success", successCount.sum());
+        stats.put("failure", failureCount.sum());
+        stats.put("error", errorCount.sum());
+        stats.put("timeout", timeoutCount.sum());
+        stats.put("badSignature", badSignatureCount.sum());
+        stats.put("throttled", throttledCount.sum());
+        stats.put("rejected", rejectedCount.sum());
+        stats.put("inFlight", inFlight.get());
+        return stats;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Unionpay3060Simulator simulator = new Unionpay3060Simulator(Config.fromEnv()).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::stop));
+    }
+}
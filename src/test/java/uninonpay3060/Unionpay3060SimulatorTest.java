@@ -0,0 +1,180 @@
+package uninonpay3060;
+
+import com.chinapay.secss.SecssUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sealos.enterprise.auth.utils.StringUtils;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Unionpay3060SimulatorTest {
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Unionpay3060Simulator start(Unionpay3060Simulator.Config config) throws Exception {
+        return new Unionpay3060Simulator(config.port(0)
+                .keyDir(Files.createTempDirectory("simulator-keys"))
+                .latency(Unionpay3060Simulator.LatencyDistribution.parse("fixed:0"))).start();
+    }
+
+    private static String sha512Hex(String value) throws Exception {
+        return StringUtils.bytesToHex(MessageDigest.getInstance("SHA-512")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 按 EnterpriseAuthService 的方式构造并签名请求
+    private static HttpResponse<String> post(Unionpay3060Simulator simulator, SecssUtil secssUtil,
+            boolean tamper) throws Exception {
+        Map<String, String> sensData = new HashMap<>();
+        sensData.put("accountNo", "6221501111111113900");
+        sensData.put("keyName", "银联商务股份有限公司");
+        sensData.put("usrName", "田林");
+        secssUtil.encryptData(objectMapper.writeValueAsString(sensData));
+
+        Map<String, String> data = new HashMap<>();
+        data.put("merNo", "000000000000001");
+        data.put("busiType", "3060");
+        data.put("keyType", "1");
+        data.put("orderDate", "20241223");
+        data.put("orderId", "202412230000000000000001");
+        data.put("key", "91310000734572833M");
+        data.put("accountBank", "中国工商银行");
+        data.put("sensData", secssUtil.getEncValue());
+        String reqData = Base64.getEncoder().encodeToString(objectMapper.writeValueAsBytes(data));
+
+        Map<String, Object> signMap = new HashMap<>();
+        signMap.put("reqData", sha512Hex(reqData));
+        secssUtil.sign(signMap);
+
+        Map<String, Object> form = new HashMap<>();
+        form.put("reqData", tamper ? reqData.substring(1) : reqData);
+        form.put("merNo", "000000000000001");
+        form.put("signature", secssUtil.getSign());
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(simulator.getApiUrl()))
+                .header("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(StringUtils.mapToUrlParams(form)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean verify(SecssUtil secssUtil, Map<String, String> result) throws Exception {
+        Map<String, String> verifyMap = new HashMap<>();
+        verifyMap.put("respData", sha512Hex(result.get("respData")));
+        verifyMap.put("signature", result.get("signature"));
+        secssUtil.verify(verifyMap);
+        return "00".equals(secssUtil.getErrCode());
+    }
+
+    private static Map<String, Object> decode(Map<String, String> result) throws Exception {
+        return objectMapper.readValue(Base64.getDecoder().decode(result.get("respData")),
+                objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, Object.class));
+    }
+
+    private static void testSuccessRoundTrip() throws Exception {
+        // Given
+        Unionpay3060Simulator simulator = start(new Unionpay3060Simulator.Config());
+        SecssUtil secssUtil = simulator.getKeys().newSecssUtil();
+        try {
+            // When
+            HttpResponse<String> response = post(simulator, secssUtil, false);
+
+            // Then
+            assert response.statusCode() == 200 : "Status should be 200";
+            Map<String, String> result = StringUtils.parseUrlParamsToMap(response.body());
+            assert verify(secssUtil, result) : "Response signature should verify";
+            Map<String, Object> respData = decode(result);
+            assert "00000000".equals(respData.get("respCode")) : "respCode mismatch";
+            assert "202412230000000000000001".equals(respData.get("orderId")) : "orderId should be echoed";
+            assert "91310000734572833M".equals(respData.get("key")) : "key should be echoed";
+
+            secssUtil.decryptData((String) respData.get("sensData"));
+            assert "00".equals(secssUtil.getErrCode()) : "sensData should decrypt";
+            assert secssUtil.getDecValue().contains("6221501111111113900") : "sensData should be echoed";
+        } finally {
+            simulator.stop();
+        }
+        System.out.println("Success round trip test passed");
+    }
+
+    private static void testInjectedFailures() throws Exception {
+        Unionpay3060Simulator failing = start(new Unionpay3060Simulator.Config().failure(1, "10010001"));
+        Unionpay3060Simulator erroring = start(new Unionpay3060Simulator.Config().errorRate(1));
+        Unionpay3060Simulator badSignature = start(new Unionpay3060Simulator.Config().badSignatureRate(1));
+        SecssUtil secssUtil = failing.getKeys().newSecssUtil();
+        try {
+            Map<String, String> result = StringUtils.parseUrlParamsToMap(post(failing, secssUtil, false).body());
+            assert "10010001".equals(decode(result).get("respCode")) : "Should return business failure";
+
+            assert post(erroring, erroring.getKeys().newSecssUtil(), false).statusCode() == 500
+                    : "Should return HTTP 500";
+
+            SecssUtil badSecssUtil = badSignature.getKeys().newSecssUtil();
+            result = StringUtils.parseUrlParamsToMap(post(badSignature, badSecssUtil, false).body());
+            assert !verify(badSecssUtil, result) : "Corrupted signature should not verify";
+
+            assert post(failing, secssUtil, true).statusCode() == 400 : "Tampered request should be rejected";
+            assert (long) failing.getStats().get("rejected") == 1 : "Rejected request should be counted";
+        } finally {
+            failing.stop();
+            erroring.stop();
+            badSignature.stop();
+        }
+        System.out.println("Injected failures test passed");
+    }
+
+    private static void testThrottling() throws Exception {
+        Unionpay3060Simulator simulator = start(new Unionpay3060Simulator.Config().rateLimit(1).throttleStatus(429));
+        SecssUtil secssUtil = simulator.getKeys().newSecssUtil();
+        try {
+            assert post(simulator, secssUtil, false).statusCode() == 200 : "First request should pass";
+            assert post(simulator, secssUtil, false).statusCode() == 429 : "Second request should be throttled";
+            assert (long) simulator.getStats().get("throttled") == 1 : "Throttled request should be counted";
+        } finally {
+            simulator.stop();
+        }
+        System.out.println("Throttling test passed");
+    }
+
+    private static void testLatencyDistribution() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Unionpay3060Simulator.LatencyDistribution lognormal =
+                Unionpay3060Simulator.LatencyDistribution.parse("lognormal:50,500");
+        long[] samples = new long[10000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = lognormal.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+        assert samples[5000] > 35 && samples[5000] < 65 : "p50 should be about 50ms, was " + samples[5000];
+        assert samples[9900] > 300 && samples[9900] < 800 : "p99 should be about 500ms, was " + samples[9900];
+
+        long uniform = Unionpay3060Simulator.LatencyDistribution.parse("uniform:20,30").sampleMillis(random);
+        assert uniform >= 20 && uniform <= 30 : "Uniform sample out of range";
+
+        System.out.println("Latency distribution test passed");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            System.out.println("Starting Unionpay3060Simulator tests...\n");
+            testSuccessRoundTrip();
+            testInjectedFailures();
+            testThrottling();
+            testLatencyDistribution();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
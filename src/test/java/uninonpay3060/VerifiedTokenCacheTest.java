@@ -0,0 +1,78 @@
+package uninonpay3060;
+
+import io.sealos.enterprise.auth.cache.VerifiedTokenCache;
+import io.sealos.enterprise.auth.model.AppTokenPayload;
+import io.sealos.enterprise.auth.model.dto.UserDTO;
+import io.sealos.enterprise.auth.utils.JwtUtilsHmacSHA256;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class VerifiedTokenCacheTest {
+    private static final UserDTO USER = new UserDTO("user", "workspace", "region");
+
+    private static void testVerifyTokenExpiration() {
+        // Given
+        AppTokenPayload payload = new AppTokenPayload();
+        payload.setUserId("user");
+        long before = System.currentTimeMillis();
+        String token = JwtUtilsHmacSHA256.createToken(payload, 3600);
+
+        // When
+        Optional<JwtUtilsHmacSHA256.VerifiedToken<AppTokenPayload>> verified = JwtUtilsHmacSHA256
+                .verifyToken("Bearer " + token, AppTokenPayload.class);
+
+        // Then
+        assert verified.isPresent() : "Token should verify";
+        assert "user".equals(verified.get().getPayload().getUserId()) : "User ID mismatch";
+        long expiresAt = verified.get().getExpiresAtMillis();
+        assert expiresAt >= before + 3599_000 && expiresAt <= before + 3610_000 : "Expiration mismatch";
+
+        // Tampered and malformed tokens are rejected
+        assert JwtUtilsHmacSHA256.verifyToken(token + "x", AppTokenPayload.class).isEmpty() : "Bad signature";
+        assert JwtUtilsHmacSHA256.verifyToken(token + ".extra", AppTokenPayload.class).isEmpty() : "Four parts";
+        assert JwtUtilsHmacSHA256.verifyToken("abc", AppTokenPayload.class).isEmpty() : "One part";
+
+        System.out.println("Verify token expiration test passed");
+    }
+
+    private static void testCacheHitAndExpiry() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);
+        String hash = VerifiedTokenCache.hash("token");
+        assert hash.equals(VerifiedTokenCache.hash("token")) : "Hash should be stable";
+
+        assert cache.get(hash) == null : "Should miss before put";
+        cache.put(hash, USER, System.currentTimeMillis() + 50);
+        assert cache.get(hash) == USER : "Should hit after put";
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        assert cache.get(hash) == null : "Should miss after exp";
+        assert cache.getStats().getHitCount() == 1 : "Hit count mismatch";
+        assert cache.getStats().getMissCount() == 2 : "Miss count mismatch";
+
+        System.out.println("Cache hit and expiry test passed");
+    }
+
+    private static void testBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(VerifiedTokenCache.hash("token-" + i), USER, System.currentTimeMillis() + 60000);
+        }
+        assert cache.getStats().getSize() <= 100 : "Cache should stay bounded";
+        System.out.println("Bounded test passed");
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Starting VerifiedTokenCache tests...\n");
+            testVerifyTokenExpiration();
+            testCacheHitAndExpiry();
+            testBounded();
+            System.out.println("\nAll tests passed successfully!");
+        } catch (AssertionError e) {
+            System.err.println("\nTest failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            System.err.println("Test interrupted: " + e.getMessage());
+        }
+    }
+}